@@ -0,0 +1,164 @@
+package com.game;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Renders a frame in horizontal bands on a fork-join pool.
+ *
+ * Each band draws the whole scene into its own slice (a getSubimage view sharing the
+ * frame's pixels) with a band-local clip, so workers never touch the same rows and need
+ * no locking. When all bands are done the frame is presented once by the caller.
+ * Draw methods must therefore be free of side effects: anything that changes state
+ * belongs in update().
+ */
+public class BandedRenderer {
+
+    private final ForkJoinPool pool;
+    private final int bandCount;
+
+    private BufferedImage frame;
+    private BandTask[] bands;
+
+    // Per-frame inputs shared by all bands (written before invoke, read by workers after)
+    private Rectangle frameClip;
+    private Consumer<Graphics2D> painter;
+
+    /**
+     * @param bandCount Number of horizontal bands (usually the number of cores).
+     */
+    public BandedRenderer(int bandCount) {
+        this.bandCount = Math.max(1, bandCount);
+        this.pool = new ForkJoinPool(Math.min(this.bandCount, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public BufferedImage getFrame() {
+        return frame;
+    }
+
+    /**
+     * True if the frame has to be (re)created for this size; its old contents are gone.
+     */
+    public boolean needsResize(int width, int height) {
+        return frame == null || frame.getWidth() != width || frame.getHeight() != height;
+    }
+
+    /**
+     * Draws one frame. Only bands that intersect the clip are scheduled.
+     * @param clip Region to redraw in frame coordinates, or null for everything.
+     * @param painter Draws the scene; called once per band, concurrently.
+     */
+    public void render(int width, int height, Rectangle clip, Consumer<Graphics2D> painter) {
+        if (needsResize(width, height)) allocate(width, height);
+
+        this.frameClip = clip;
+        this.painter = painter;
+
+        int active = 0;
+        BandTask single = null;
+        for (BandTask band : bands) {
+            band.reinitialize();
+            band.scheduled = clip == null || (band.y < clip.y + clip.height && band.y + band.height > clip.y);
+            if (band.scheduled) {
+                active++;
+                single = band;
+            }
+        }
+
+        if (active == 1) {
+            // Small dirty region: not worth a hand-off to the pool
+            single.compute();
+        } else if (active > 1) {
+            pool.invoke(new FrameTask());
+        }
+
+        this.painter = null;
+    }
+
+    private void allocate(int width, int height) {
+        frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        int count = Math.min(bandCount, height);
+        int bandHeight = (height + count - 1) / count;
+        bands = new BandTask[count];
+        for (int i = 0; i < count; i++) {
+            int y = i * bandHeight;
+            int h = Math.min(bandHeight, height - y);
+            bands[i] = new BandTask(frame.getSubimage(0, y, width, h), y, h);
+        }
+    }
+
+    private final class FrameTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            int n = 0;
+            for (BandTask band : bands) if (band.scheduled) n++;
+            BandTask[] work = new BandTask[n];
+            n = 0;
+            for (BandTask band : bands) if (band.scheduled) work[n++] = band;
+            invokeAll(work);
+        }
+    }
+
+    private final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient BufferedImage slice;
+        private final int y;
+        private final int height;
+        private boolean scheduled;
+
+        BandTask(BufferedImage slice, int y, int height) {
+            this.slice = slice;
+            this.y = y;
+            this.height = height;
+        }
+
+        @Override
+        protected void compute() {
+            Graphics2D g2 = slice.createGraphics();
+            // Slice-local origin -> frame coordinates, so game code draws at its usual positions
+            g2.translate(0, -y);
+            g2.clipRect(0, y, slice.getWidth(), height);
+            if (frameClip != null) {
+                g2.clipRect(frameClip.x, frameClip.y, frameClip.width, frameClip.height);
+            }
+            painter.accept(g2);
+            g2.dispose();
+        }
+    }
+
+    // --- Benchmark ---
+
+    /**
+     * Times the pipeline probe scene with 1, 2, 4 ... bands up to the core count.
+     * Run with: java -cp bin com.game.BandedRenderer
+     */
+    public static void main(String[] args) {
+        RenderPipelineProbe.ProbeScene scene = new RenderPipelineProbe.ProbeScene();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int bands = 1; bands <= cores; bands *= 2) {
+            BandedRenderer renderer = new BandedRenderer(bands);
+            int[] frameNo = {0};
+            Consumer<Graphics2D> painter = g2 -> scene.render(g2, frameNo[0]);
+
+            for (frameNo[0] = 0; frameNo[0] < 60; frameNo[0]++) {
+                renderer.render(GamePanel.GAME_AREA_WIDTH, GamePanel.GAME_AREA_HEIGHT, null, painter);
+            }
+            long start = System.nanoTime();
+            for (frameNo[0] = 0; frameNo[0] < 300; frameNo[0]++) {
+                renderer.render(GamePanel.GAME_AREA_WIDTH, GamePanel.GAME_AREA_HEIGHT, null, painter);
+            }
+            double ms = (System.nanoTime() - start) / 1_000_000.0 / 300;
+            System.out.println(String.format("📊 %d band(s): %.3f ms/frame", bands, ms));
+            renderer.pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Endless climb mode (-Dfelix.endless=true): an unbounded building generated section by
+ * section from a seed, instead of the same two layouts by level parity.
+ *
+ * The building art is a single strip, so a section keeps the floor/window geometry of the
+ * strip slice it is drawn on (LivelloCompletato's even/odd templates). What the seeded rules
+ * generate is the section itself: which windows start broken, how many, and where.
+ *
+ * Only a fixed ring of sections exists at any time (the current one and a few ahead); a
+ * section scrolled past is recycled for the next one. A section is a template reference
+ * plus a 64-bit window mask, so memory and cost are the same at level 500 as at level 5.
+ */
+public class BuildingStream {
+
+    private static final GameLog.Channel log = GameLog.channel("building");
+
+    private static final int LOOKAHEAD = 4; // Sections kept generated (current + 3 ahead)
+    private static final int MIN_BROKEN = 4;
+    private static final int LEVELS_PER_EXTRA_WINDOW = 2;
+
+    /**
+     * One generated building section. Recycled in place when the climb moves past it.
+     */
+    public static final class Section {
+        private int level = -1;
+        private StageLayout layout;
+        private long repairedMask; // Bit i set: window i starts repaired
+        private int brokenCount;
+
+        public int getLevel() { return level; }
+        public StageLayout getLayout() { return layout; }
+        public long getRepairedMask() { return repairedMask; }
+        public int getBrokenCount() { return brokenCount; }
+    }
+
+    private final long seed;
+    private final Section[] ring = new Section[LOOKAHEAD];
+    private final int[] shuffle = new int[64]; // Scratch for picking windows
+
+    public BuildingStream(long seed) {
+        this.seed = seed;
+        for (int i = 0; i < LOOKAHEAD; i++) ring[i] = new Section();
+        log.info("🏢 Endless building, seed {}", seed);
+    }
+
+    /**
+     * Creates the stream configured by endless.seed, or null when endless mode is off.
+     */
+    public static BuildingStream fromConfig() {
+        if (!GameConfig.getBoolean("endless", false)) return null;
+        long seed = GameConfig.getLong("endless.seed", 0);
+        return new BuildingStream(seed != 0 ? seed : System.nanoTime());
+    }
+
+    /**
+     * Returns the section for a level, generating it (and the ones after it) if needed.
+     * Sections behind the requested level are recycled. Called from the game thread and
+     * from LevelPipeline's worker.
+     */
+    public synchronized Section get(int level) {
+        for (int ahead = 0; ahead < LOOKAHEAD; ahead++) {
+            Section slot = ring[(level + ahead) % LOOKAHEAD];
+            if (slot.level != level + ahead) generate(slot, level + ahead);
+        }
+        return ring[level % LOOKAHEAD];
+    }
+
+    /**
+     * Fills a section from the seeded rules. Depends only on (seed, level), so a section
+     * is the same no matter when or in what order it is generated.
+     */
+    private void generate(Section s, int level) {
+        SplittableRandom rng = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + level);
+        StageLayout layout = LivelloCompletato.layoutFor(level);
+        int windows = layout.getWindowCount();
+
+        // More windows broken the higher the climb, up to the whole section
+        int broken = Math.min(windows, MIN_BROKEN + level / LEVELS_PER_EXTRA_WINDOW);
+
+        // Partial Fisher-Yates: the first 'broken' entries are the broken windows
+        for (int i = 0; i < windows; i++) shuffle[i] = i;
+        long brokenMask = 0;
+        for (int i = 0; i < broken; i++) {
+            int j = i + rng.nextInt(windows - i);
+            int w = shuffle[j];
+            shuffle[j] = shuffle[i];
+            shuffle[i] = w;
+            brokenMask |= 1L << w;
+        }
+        long all = windows == 64 ? -1L : (1L << windows) - 1;
+
+        s.level = level;
+        s.layout = layout;
+        s.repairedMask = all & ~brokenMask;
+        s.brokenCount = broken;
+    }
+}
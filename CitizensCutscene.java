@@ -6,13 +6,22 @@ import java.awt.image.BufferedImage;
 /**
  * Manages the cutscene where citizens appear in windows to thank Felix.
  * Refactored to use ResourceManager and optimizing render loops.
+ * Timing (appearance, voice line, end) is the 'citizens' timeline in cutscenes.properties.
  */
 public class CitizensCutscene {
     
+    private static final GameLog.Channel log = GameLog.channel("citizens");
+    
     private final GamePanel gp;
+
+    // Images used by this cutscene, for AssetPrefetcher
+    static final String[] ASSETS = {
+        "/abitanti/AbitanteA.png", "/abitanti/AbitanteB.png", "/abitanti/Abitante_t_2.png",
+        "/abitanti/Abitante_t1_2.png", "/abitanti/speech_bubble.png"
+    };
     
-    // Citizen Sprites
-    private BufferedImage citizen1, citizen2, citizen3, citizen4;
+    // Citizen Sprites (indexed by the store's SPRITE column)
+    private final BufferedImage[] citizenSprites = new BufferedImage[4];
     private BufferedImage speechBubble;
     
     // Window Coordinates (Matched to TileManager layout)
@@ -34,30 +43,36 @@ public class CitizensCutscene {
     private static final int BUBBLE_WIDTH = 400;
     private static final int BUBBLE_HEIGHT = 84;
     
-    // Timing (Frames @ 30FPS)
-    private static final int CITIZENS_APPEAR_FRAME = 30; // 1 second
-    private static final int CUTSCENE_END_FRAME = 120;   // 4 seconds
+    // Timeline
+    private final CutsceneTimeline.Cursor timeline;
+    private final CutsceneTimeline.Track visibleTrack;
     
     // State
-    private int frameCounter = 0;
     private boolean finished = false;
-    private boolean citizensVisible = false;
-    private boolean speechVisible = false;
     
     // Window Selection
     private final int[] selectedWindows = {0, 2, 4, 1}; // Indices of windows to use
 
+    // One citizen per selected window: packed position / sprite, see EntityStore
+    private final EntityStore.Archetype citizens =
+        new EntityStore.Archetype("citizens", EntityStore.SPRITE, 4);
+
     public CitizensCutscene(GamePanel gp) {
         this.gp = gp;
         loadSprites();
+        placeCitizens();
+
+        CutsceneTimeline data = CutsceneTimeline.get("citizens");
+        timeline = new CutsceneTimeline.Cursor(data, null);
+        visibleTrack = data.track("visible");
     }
     
     private void loadSprites() {
         // Optimization: Use ResourceManager to cache images
-        citizen1 = ResourceManager.get().getImage("/abitanti/AbitanteA.png");
-        citizen2 = ResourceManager.get().getImage("/abitanti/AbitanteB.png");
-        citizen3 = ResourceManager.get().getImage("/abitanti/Abitante_t_2.png");
-        citizen4 = ResourceManager.get().getImage("/abitanti/Abitante_t1_2.png");
+        citizenSprites[0] = ResourceManager.get().getImage("/abitanti/AbitanteA.png");
+        citizenSprites[1] = ResourceManager.get().getImage("/abitanti/AbitanteB.png");
+        citizenSprites[2] = ResourceManager.get().getImage("/abitanti/Abitante_t_2.png");
+        citizenSprites[3] = ResourceManager.get().getImage("/abitanti/Abitante_t1_2.png");
         
         // Load speech bubble
         speechBubble = ResourceManager.get().getImage("/abitanti/speech_bubble.png");
@@ -66,67 +81,60 @@ public class CitizensCutscene {
         SoundEffects.loadSound("voice1", "snd/voice1.wav");
     }
     
+    /**
+     * Puts a citizen in each selected window, offset to the window's inner area.
+     */
+    private void placeCitizens() {
+        for (int n = 0; n < selectedWindows.length; n++) {
+            int windowIndex = selectedWindows[n];
+            if (windowIndex >= WINDOW_POSITIONS.length) continue;
+            int i = citizens.add(WINDOW_POSITIONS[windowIndex][0] + 6, WINDOW_POSITIONS[windowIndex][1] + 23);
+            citizens.sprite[i] = n % citizenSprites.length;
+        }
+    }
+    
     /**
      * Resets and starts the cutscene.
      */
     public void start() {
         reset();
-        System.out.println("🎬 CitizensCutscene started");
+        log.info("🎬 CitizensCutscene started");
     }
     
     public void reset() {
-        frameCounter = 0;
+        timeline.restart();
         finished = false;
-        citizensVisible = false;
-        speechVisible = false;
     }
     
     public void update() {
         if (finished) return;
         
-        frameCounter++;
-        
-        // Trigger appearance
-        if (frameCounter == CITIZENS_APPEAR_FRAME) {
-            citizensVisible = true;
-            speechVisible = true;
-            SoundEffects.playSound("voice1");
-        }
+        timeline.advance();
         
         // End cutscene
-        if (frameCounter >= CUTSCENE_END_FRAME) {
+        if (timeline.isFinished()) {
             finished = true;
-            System.out.println("✅ CitizensCutscene completed");
+            log.info("✅ CitizensCutscene completed");
         }
     }
     
     public void draw(Graphics2D g2) {
-        if (!citizensVisible) return;
-        
-        BufferedImage[] citizens = {citizen1, citizen2, citizen3, citizen4};
+        if (timeline.get(visibleTrack) == 0) return;
         
         // Draw citizens in their respective windows
-        for (int i = 0; i < selectedWindows.length; i++) {
-            int windowIndex = selectedWindows[i];
-            
-            // Bounds check
-            if (windowIndex >= WINDOW_POSITIONS.length) continue;
-
-            int x = WINDOW_POSITIONS[windowIndex][0];
-            int y = WINDOW_POSITIONS[windowIndex][1];
-            
-            BufferedImage currentSprite = citizens[i % citizens.length];
+        for (int i = 0; i < citizens.size(); i++) {
+            BufferedImage currentSprite = citizenSprites[citizens.sprite[i]];
             
             if (currentSprite != null) {
-                // Apply offsets and scaling to match window inner size
+                // Scaled to match window inner size
                 int width = currentSprite.getWidth() * SPRITE_SCALE;
                 int height = currentSprite.getHeight() * SPRITE_SCALE;
-                g2.drawImage(currentSprite, x + 6, y + 23, width, height, null);
+                g2.drawImage(currentSprite, citizens.x[i], citizens.y[i], width, height, null);
             }
         }
         
         // Draw Speech Bubble
-        if (speechVisible && speechBubble != null) {
+        if (speechBubble != null) {
             // Center the bubble between the top central windows (Index 0 and 1)
             int centerX = (WINDOW_POSITIONS[0][0] + WINDOW_POSITIONS[1][0]) / 2;
             int bubbleX = centerX - BUBBLE_WIDTH / 2 + 20;
@@ -29,6 +29,7 @@ public class CraneManager {
     private int currentFrameRight = 0;
     private int waitCounter = 0;
     private boolean moving = false;
+    private int animationSlowdown = 1; // Frame delay multiplier set by CutsceneManager
 
     public CraneManager() {
         loadCraneImages();
@@ -47,6 +48,13 @@ public class CraneManager {
         SoundEffects.playSound("costruzioneTorre");
     }
 
+    /**
+     * Swaps frames this many times less often (movement speed is unchanged).
+     */
+    public void setAnimationSlowdown(int slowdown) {
+        this.animationSlowdown = Math.max(1, slowdown);
+    }
+
     /**
      * Updates crane position and animation frames.
      */
@@ -65,12 +73,12 @@ public class CraneManager {
         frameCounterLeft++;
         frameCounterRight++;
 
-        if (frameCounterLeft >= FRAME_DELAY) {
+        if (frameCounterLeft >= FRAME_DELAY * animationSlowdown) {
             frameCounterLeft = 0;
             currentFrameLeft = (currentFrameLeft + 1) % 2;
         }
 
-        if (frameCounterRight >= FRAME_DELAY) {
+        if (frameCounterRight >= FRAME_DELAY * animationSlowdown) {
             frameCounterRight = 0;
             currentFrameRight = (currentFrameRight + 1) % 2;
         }
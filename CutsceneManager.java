@@ -5,31 +5,57 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
-import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.Future;
 
 /**
  * Central controller for all game cutscenes.
  * Manages transitions between Intro, Citizens, Felix, and Victory sequences.
  * Coordinates rendering and logic updates for cutscenes so GamePanel doesn't get cluttered.
+ *
+ * Only the intro is built up front (it plays right away). The other cutscenes are constructed
+ * on first use; their images are prefetched in the background shortly before they are needed
+ * and released once they have played.
  */
 public class CutsceneManager {
 
+    private static final GameLog.Channel log = GameLog.channel("cutscene");
+
     private final GamePanel gp;
     
     // --- Resources ---
-    private final Image[] backgrounds;
+    private Image[] backgrounds;
     private Image nuvola1, nuvola2;
+
+    // Intro-only images, released once the intro chain (intro, citizens, Felix) is over
+    private static final String[] INTRO_ASSETS = {
+        "/map/Palazzo0.png", "/map/Palazzo1.png", "/map/Palazzo2.png", "/map/Palazzo4.png",
+        "/map/Nuvola1.png", "/map/Nuvola2.png",
+        "/map/gruSx.png", "/map/gruSx1.png", "/map/gruDx.png", "/map/gruDx1.png",
+        "/ralph/RalphUp0.png", "/ralph/RalphUp1.png", "/ralph/RalphUp2.png", "/ralph/Move10.png", "/ralph/MessageRalph0.png",
+        "/map/rotta1.png", "/map/rotta2.png", "/map/rotta3.png", "/map/rotta4.png"
+    };
     
     // --- Scene Objects ---
     private Cloud[] clouds, clouds1, clouds2, clouds3, clouds4, clouds5, clouds6;
-    private final CraneManager craneManager;
+    private CraneManager craneManager;
     
-    // Sub-Cutscenes (Delegates specific cutscene logic to these classes)
-    private final RalphCutscene ralphCutscene;
-    private final RalphCutscene2 ralphCutscene2;
-    private final VictoryCutscene victoryCutscene;
-    private final FelixIntroCutscene felixIntroCutscene;
-    private final CitizensCutscene citizensCutscene;
+    // Sub-Cutscenes (Delegates specific cutscene logic to these classes).
+    // All but the intro's RalphCutscene are null until first use.
+    private RalphCutscene ralphCutscene;
+    private RalphCutscene2 ralphCutscene2;
+    private VictoryCutscene victoryCutscene;
+    private FelixIntroCutscene felixIntroCutscene;
+    private CitizensCutscene citizensCutscene;
+
+    // --- Asset Prefetch ---
+    // Seconds of estimated play left on an even level at which the victory assets start loading
+    private static final double PREFETCH_LEAD_SECONDS = GameConfig.getDouble("cutscene.prefetch.lead", 10.0);
+    private Future<?> introChainPrefetch, victoryPrefetch, climbPrefetch;
+    private int prefetchLevel = -1;       // Level the estimate below belongs to
+    private int lastRemainingWindows = -1;
+    private int firstRepairWindows = -1;  // Windows left right after the first repair
+    private long firstRepairTime = -1;
 
     // --- State Enum ---
     public enum CutsceneType {
@@ -53,6 +79,7 @@ public class CutsceneManager {
     private int craneTimer = 0;
     private static final int BACKGROUND_CHANGE_DELAY = 30; // Frames to wait before changing intro background
     private static final int CRANE_UPDATE_DELAY = 1;
+    private int cloudTick = 0; // Counts updates, used to slow cloud animation under load
 
     // "YOU FIXED IT" State
     private boolean finalCutsceneActive = false;
@@ -69,14 +96,8 @@ public class CutsceneManager {
     public CutsceneManager(GamePanel gp) {
         this.gp = gp;
         
-        // Initialize Sub-Managers
+        // Initialize the intro (plays immediately)
         this.craneManager = new CraneManager();
-        this.victoryCutscene = new VictoryCutscene();
-        this.citizensCutscene = new CitizensCutscene(gp);
-        this.felixIntroCutscene = new FelixIntroCutscene(gp.player, gp);
-        
-        // Initialize Complex Cutscenes with specific coordinates
-        this.ralphCutscene2 = new RalphCutscene2(655, 135, -50, 4, gp);
         this.ralphCutscene = new RalphCutscene(430, 692, 10, 10, 910, 453, 385, 140, 648);
         
         this.backgrounds = new Image[8];
@@ -158,6 +179,22 @@ public class CutsceneManager {
         backgroundTimer = 0;
         craneTimer = 0;
         loadAllSounds();
+        scheduleIntroSounds();
+
+        // Citizens and Felix follow the intro: load them while it plays
+        introChainPrefetch = AssetPrefetcher.prefetch("intro cutscenes",
+                concat(CitizensCutscene.ASSETS, FelixIntroCutscene.ASSETS));
+    }
+
+    /**
+     * Voice lines and effects timed against the start of the intro.
+     */
+    private void scheduleIntroSounds() {
+        gp.timers.scheduleMillis(5000, () -> SoundEffects.stopSound("costruzioneTorre"));
+        gp.timers.scheduleMillis(5300, () -> SoundEffects.playSound("ralph_angry"));
+        gp.timers.scheduleMillis(6000, () -> SoundEffects.playSound("voice4"));
+        gp.timers.scheduleMillis(22000, () -> SoundEffects.playSound("piccone"));
+        gp.timers.scheduleMillis(25000, () -> SoundEffects.playSound("voice0"));
     }
 
     private void loadAllSounds() {
@@ -181,28 +218,31 @@ public class CutsceneManager {
                 break;
 
             case CITIZENS:
-                citizensCutscene.update();
-                if (citizensCutscene.isFinished()) {
+                citizens().update();
+                if (citizens().isFinished()) {
                     startFelixIntroCutscene();
                 }
                 break;
 
             case FELIX_INTRO:
-                felixIntroCutscene.update();
-                if (felixIntroCutscene.isFinished()) {
+                felixIntro().update();
+                if (felixIntro().isFinished()) {
                     // Cutscene chain finished -> Start Gameplay
                     activeCutscene = CutsceneType.NONE;
                     gp.ralph.setActive(true);
                     gp.player.setActive(true);
+                    releaseIntroChain();
                 }
                 break;
 
             case RALPH_CLIMB:
-                ralphCutscene2.update();
-                if (ralphCutscene2.isFinished()) {
+                ralphClimb().update();
+                if (ralphClimb().isFinished()) {
                     activeCutscene = CutsceneType.NONE;
                     gp.ralph.setActive(true);
-                    ralphCutscene2.reset();
+                    ralphCutscene2 = null;
+                    climbPrefetch = null;
+                    AssetPrefetcher.release("Ralph climb", RalphCutscene2.ASSETS);
                 }
                 break;
 
@@ -211,9 +251,12 @@ public class CutsceneManager {
                 break;
 
             case VICTORY:
-                victoryCutscene.update();
-                if (victoryCutscene.isCompleted()) {
+                victory().update();
+                if (victory().isCompleted()) {
                     activeCutscene = CutsceneType.NONE;
+                    victoryCutscene = null;
+                    victoryPrefetch = null;
+                    AssetPrefetcher.release("victory", VictoryCutscene.ASSETS);
                 }
                 break;
 
@@ -225,6 +268,11 @@ public class CutsceneManager {
     }
     
     private void updateCloudAnimations() {
+        // Under load the quality governor halves how often clouds swap frames
+        cloudTick++;
+        if (cloudTick % QualityGovernor.getAnimationSlowdown() != 0) return;
+        
+        if (clouds == null) return; // Released with the intro
         Cloud[][] allClouds = {clouds, clouds1, clouds2, clouds3, clouds4, clouds5, clouds6};
         for (Cloud[] group : allClouds) {
             for (Cloud cloud : group) {
@@ -233,6 +281,112 @@ public class CutsceneManager {
         }
     }
 
+    // --- Lazy construction ---
+
+    private CitizensCutscene citizens() {
+        if (citizensCutscene == null) {
+            AssetPrefetcher.await(introChainPrefetch);
+            citizensCutscene = new CitizensCutscene(gp);
+        }
+        return citizensCutscene;
+    }
+
+    private FelixIntroCutscene felixIntro() {
+        if (felixIntroCutscene == null) {
+            AssetPrefetcher.await(introChainPrefetch);
+            felixIntroCutscene = new FelixIntroCutscene(gp.player, gp);
+        }
+        return felixIntroCutscene;
+    }
+
+    private RalphCutscene2 ralphClimb() {
+        if (ralphCutscene2 == null) {
+            prefetchClimb();
+            AssetPrefetcher.await(climbPrefetch);
+            ralphCutscene2 = new RalphCutscene2(gp);
+        }
+        return ralphCutscene2;
+    }
+
+    private VictoryCutscene victory() {
+        if (victoryCutscene == null) {
+            if (victoryPrefetch == null) prefetchVictory();
+            AssetPrefetcher.await(victoryPrefetch);
+            victoryCutscene = new VictoryCutscene();
+        }
+        return victoryCutscene;
+    }
+
+    // --- Asset prefetch & release ---
+
+    /**
+     * Called every gameplay tick. Even levels end with YOU FIXED IT and the victory
+     * sequence: once the estimated time left on the level (windows left at the repair rate
+     * so far) drops under cutscene.prefetch.lead seconds, its images start loading.
+     */
+    public void updatePrefetch(int level, int remainingWindows) {
+        if (level % 2 != 0 || victoryPrefetch != null || PREFETCH_LEAD_SECONDS <= 0) return;
+
+        if (level != prefetchLevel) {
+            prefetchLevel = level;
+            lastRemainingWindows = remainingWindows;
+            firstRepairTime = -1;
+            return;
+        }
+        if (remainingWindows == lastRemainingWindows) return;
+        lastRemainingWindows = remainingWindows;
+
+        long now = GameClock.now();
+        if (firstRepairTime < 0) {
+            firstRepairTime = now;
+            firstRepairWindows = remainingWindows;
+            return;
+        }
+
+        int repairs = firstRepairWindows - remainingWindows;
+        if (repairs <= 0) return;
+        double secondsLeft = remainingWindows * (now - firstRepairTime) / (repairs * 1000.0);
+        if (secondsLeft <= PREFETCH_LEAD_SECONDS) {
+            prefetchVictory();
+        }
+    }
+
+    private void prefetchVictory() {
+        if (victoryPrefetch == null) {
+            victoryPrefetch = AssetPrefetcher.prefetch("victory", VictoryCutscene.ASSETS);
+        }
+    }
+
+    /**
+     * Ralph climbs back up after the victory sequence: load him while the victory plays.
+     */
+    private void prefetchClimb() {
+        if (climbPrefetch == null) {
+            climbPrefetch = AssetPrefetcher.prefetch("Ralph climb", RalphCutscene2.ASSETS);
+        }
+    }
+
+    /**
+     * Drops the intro, citizens and Felix cutscenes and their images. The intro does not
+     * play again: a restarted game goes straight to gameplay.
+     */
+    private void releaseIntroChain() {
+        backgrounds = null;
+        nuvola1 = nuvola2 = null;
+        clouds = clouds1 = clouds2 = clouds3 = clouds4 = clouds5 = clouds6 = null;
+        craneManager = null;
+        ralphCutscene = null;
+        citizensCutscene = null;
+        felixIntroCutscene = null;
+        introChainPrefetch = null;
+        AssetPrefetcher.release("intro cutscenes",
+                concat(INTRO_ASSETS, CitizensCutscene.ASSETS, FelixIntroCutscene.ASSETS));
+    }
+
+    private static String[] concat(String[]... groups) {
+        return Arrays.stream(groups).flatMap(Arrays::stream).toArray(String[]::new);
+    }
+
     /**
      * Updates the intro sequence logic (scrolling background, Ralph breaking windows).
      */
@@ -271,6 +425,7 @@ public class CutsceneManager {
                 }
             }
 
+            craneManager.setAnimationSlowdown(QualityGovernor.getAnimationSlowdown());
             craneManager.update();
         }
     }
@@ -279,7 +434,7 @@ public class CutsceneManager {
      * Updates the "You Fixed It" blinking text screen.
      */
     private void updateYouFixedIt() {
-        long now = System.currentTimeMillis();
+        long now = GameClock.now();
         
         // Wait for text duration, then start victory sequence
         if (now - finalCutsceneStartTime >= FINAL_TEXT_DURATION) {
@@ -301,6 +456,8 @@ public class CutsceneManager {
      * Main draw loop for cutscenes. Delegates to specific drawers.
      */
     public void draw(Graphics2D g2) {
+        // Sub-cutscenes are read from their fields, never constructed here: the update
+        // thread creates them when they start and drops them when they are over.
         switch (activeCutscene) {
             case INTRO:
                 drawIntroCutscene(g2);
@@ -308,12 +465,14 @@ public class CutsceneManager {
 
             case CITIZENS:
                 drawCitizensBackground(g2);
-                citizensCutscene.draw(g2);
+                CitizensCutscene citizens = citizensCutscene;
+                if (citizens != null) citizens.draw(g2);
                 break;
 
             case FELIX_INTRO:
                 drawFelixIntroBackground(g2);
-                felixIntroCutscene.draw(g2);
+                FelixIntroCutscene felixIntro = felixIntroCutscene;
+                if (felixIntro != null) felixIntro.draw(g2);
                 break;
 
             case RALPH_CLIMB:
@@ -325,7 +484,8 @@ public class CutsceneManager {
                 break;
 
             case VICTORY:
-                victoryCutscene.draw(g2, gp.screenWidth, gp.screenHeight);
+                VictoryCutscene victory = victoryCutscene;
+                if (victory != null) victory.draw(g2, gp.screenWidth, gp.screenHeight);
                 break;
 
             case NONE:
@@ -359,27 +519,32 @@ public class CutsceneManager {
     }
 
     private void drawCitizensBackground(Graphics2D g2) {
-        if (backgrounds[7] != null) {
-            g2.drawImage(backgrounds[7], 401, 21, 651, 825, null);
+        Image[] bg = backgrounds;
+        if (bg != null && bg[7] != null) {
+            g2.drawImage(bg[7], 401, 21, 651, 825, null);
         }
-        if (ralphFinished && ralphCutscene != null) {
-            ralphCutscene.draw(g2);
+        RalphCutscene ralph = ralphCutscene;
+        if (ralphFinished && ralph != null) {
+            ralph.draw(g2);
         }
     }
 
     private void drawFelixIntroBackground(Graphics2D g2) {
-        if (backgrounds[7] != null) {
-            g2.drawImage(backgrounds[7], 401, 21, 651, 825, null);
+        Image[] bg = backgrounds;
+        if (bg != null && bg[7] != null) {
+            g2.drawImage(bg[7], 401, 21, 651, 825, null);
         }
-        if (ralphFinished && ralphCutscene != null) {
-            ralphCutscene.draw(g2);
+        RalphCutscene ralph = ralphCutscene;
+        if (ralphFinished && ralph != null) {
+            ralph.draw(g2);
         }
     }
 
     private void drawRalphClimbCutscene(Graphics2D g2) {
         g2.setColor(Color.BLACK);
         g2.fillRect(0, 0, gp.getWidth(), gp.getHeight());
-        ralphCutscene2.draw(g2);
+        RalphCutscene2 climb = ralphCutscene2;
+        if (climb != null) climb.draw(g2);
     }
 
     private void drawYouFixedItCutscene(Graphics2D g2) {
@@ -400,40 +565,44 @@ public class CutsceneManager {
     // Public methods to trigger specific cutscenes from GamePanel
 
     public void startCitizensCutscene() {
-        System.out.println("🎬 Cutscene: Citizens");
+        log.info("🎬 Cutscene: Citizens");
         activeCutscene = CutsceneType.CITIZENS;
         gp.player.setActive(false);
         gp.ralph.setActive(false);
-        citizensCutscene.start();
+        citizens().start();
     }
 
     public void startFelixIntroCutscene() {
-        System.out.println("🎬 Cutscene: Felix Intro");
+        log.info("🎬 Cutscene: Felix Intro");
         activeCutscene = CutsceneType.FELIX_INTRO;
         gp.player.setActive(false);
         gp.ralph.setActive(false);
-        felixIntroCutscene.start();
+        felixIntro().start();
     }
 
     public void startRalphClimbCutscene() {
-        System.out.println("🎬 Cutscene: Ralph Climb");
+        log.info("🎬 Cutscene: Ralph Climb");
         activeCutscene = CutsceneType.RALPH_CLIMB;
-        ralphCutscene2.reset();
+        ralphClimb().reset();
         gp.ralph.cleanup(); 
     }
 
     public void startYouFixedItCutscene() {
-        System.out.println("🎬 Cutscene: YOU FIXED IT");
+        log.info("🎬 Cutscene: YOU FIXED IT");
         activeCutscene = CutsceneType.YOU_FIXED_IT;
         finalCutsceneActive = true;
-        finalCutsceneStartTime = System.currentTimeMillis();
+        finalCutsceneStartTime = GameClock.now();
         lastColorChange = finalCutsceneStartTime;
+
+        // The victory sequence follows in FINAL_TEXT_DURATION: last chance to load it in the background
+        prefetchVictory();
     }
 
     public void startVictoryCutscene() {
-        System.out.println("🎬 Cutscene: Victory");
+        log.info("🎬 Cutscene: Victory");
         activeCutscene = CutsceneType.VICTORY;
-        victoryCutscene.start();
+        victory().start();
+        prefetchClimb();
     }
 
     public boolean isAnyCutsceneActive() {
@@ -454,5 +623,6 @@ public class CutsceneManager {
         currentBackground = 0;
         backgroundTimer = 0;
         craneTimer = 0;
+        prefetchLevel = -1;
     }
 }
\ No newline at end of file
@@ -0,0 +1,279 @@
+package com.game;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Data-driven cutscene timelines.
+ *
+ * A timeline is a set of parallel keyframed tracks (positions, sprite indices, flags) plus
+ * one-shot cues, all loaded from 'cutscenes.properties'. Tracks are baked into one value per
+ * tick when the timeline is loaded, so a cutscene's update is just Cursor.advance() and its
+ * draw reads the values of the current tick; there is no branching on phases and each cue
+ * (sound or event) fires exactly once.
+ *
+ * Syntax (times are game ticks, 30 per second):
+ * <pre>
+ * name.length = 880
+ * name.track  = linear 0:750 467:750 479:786      values are interpolated between keyframes
+ * name.track  = step 0:-1 183:0 345:1 563:-1      values hold until the next keyframe
+ * name.track  = step 522-615/6:2,3,4,5            cycles the values every 6 ticks in [522, 615)
+ * name.cues   = 165:play:jingle 375:loop:steps 437:stop:steps 47:myEvent
+ * </pre>
+ * Two keyframes on the same tick make a jump. Tokens apply in order, later ones overwrite.
+ * play/loop/stop cues go to SoundEffects, any other cue is handed to the cutscene.
+ */
+public class CutsceneTimeline {
+
+    private static final GameLog.Channel log = GameLog.channel("timeline");
+
+    private static final String FILE_PATH = "cutscenes.properties";
+    private static Properties data;
+    private static final Map<String, CutsceneTimeline> timelines = new HashMap<>();
+
+    public final String name;
+    private final int length;
+    private final Map<String, Track> tracks = new HashMap<>();
+    private final String[][] cuesAtTick;
+
+    private CutsceneTimeline(String name, int length) {
+        this.name = name;
+        this.length = length;
+        this.cuesAtTick = new String[length + 1][];
+    }
+
+    /**
+     * Returns the named timeline, loading and baking it on first use.
+     */
+    public static synchronized CutsceneTimeline get(String name) {
+        CutsceneTimeline timeline = timelines.get(name);
+        if (timeline == null) {
+            timeline = parse(name, loadData());
+            timelines.put(name, timeline);
+        }
+        return timeline;
+    }
+
+    private static Properties loadData() {
+        if (data != null) return data;
+
+        data = new Properties();
+        try {
+            InputStream in = null;
+            File file = new File(FILE_PATH);
+            if (file.exists()) in = new FileInputStream(file);
+            if (in == null) in = CutsceneTimeline.class.getResourceAsStream("/" + FILE_PATH);
+            if (in == null) {
+                log.error("❌ " + FILE_PATH + " not found: cutscenes will end immediately");
+                return data;
+            }
+            try (InputStream stream = in) {
+                data.load(stream);
+            }
+        } catch (IOException e) {
+            log.error("❌ Could not read " + FILE_PATH + ": {}", e.getMessage());
+        }
+        return data;
+    }
+
+    // --- Parsing & baking ---
+
+    private static CutsceneTimeline parse(String name, Properties props) {
+        String prefix = name + ".";
+        String lengthSpec = props.getProperty(prefix + "length");
+        if (lengthSpec == null) log.error("❌ Cutscene timeline not found: {}", name);
+        CutsceneTimeline timeline = new CutsceneTimeline(name, lengthSpec == null ? 0 : Integer.parseInt(lengthSpec.trim()));
+
+        for (String key : props.stringPropertyNames()) {
+            if (!key.startsWith(prefix)) continue;
+            String trackName = key.substring(prefix.length());
+            String spec = props.getProperty(key).trim();
+            try {
+                if (trackName.equals("length")) {
+                    continue;
+                } else if (trackName.equals("cues")) {
+                    timeline.parseCues(spec);
+                } else {
+                    timeline.tracks.put(trackName, timeline.bakeTrack(trackName, spec));
+                }
+            } catch (RuntimeException e) {
+                log.error("❌ Bad timeline entry {}: {}", key, e.getMessage());
+            }
+        }
+        return timeline;
+    }
+
+    private Track bakeTrack(String trackName, String spec) {
+        String[] tokens = spec.split("\\s+");
+        boolean linear = tokens[0].equals("linear");
+        if (!linear && !tokens[0].equals("step")) throw new IllegalArgumentException("expected linear or step");
+
+        int[] values = new int[length + 1];
+        List<int[]> keys = new ArrayList<>(); // {tick, value}
+        for (int i = 1; i < tokens.length; i++) {
+            String token = tokens[i];
+            int colon = token.indexOf(':');
+            String time = token.substring(0, colon);
+            int dash = time.indexOf('-', 1);
+
+            if (dash > 0) {
+                // Cycle: from-to/every:a,b,c
+                int slash = time.indexOf('/');
+                int from = clampTick(Integer.parseInt(time.substring(0, dash)));
+                int to = clampTick(Integer.parseInt(time.substring(dash + 1, slash)));
+                int every = Math.max(1, Integer.parseInt(time.substring(slash + 1)));
+                int[] cycle = Arrays.stream(token.substring(colon + 1).split(",")).mapToInt(Integer::parseInt).toArray();
+                for (int t = from; t < to; t++) values[t] = cycle[((t - from) / every) % cycle.length];
+            } else if (linear) {
+                keys.add(new int[] {clampTick(Integer.parseInt(time)), Integer.parseInt(token.substring(colon + 1))});
+            } else {
+                Arrays.fill(values, clampTick(Integer.parseInt(time)), values.length, Integer.parseInt(token.substring(colon + 1)));
+            }
+        }
+
+        if (linear && !keys.isEmpty()) {
+            int[] first = keys.get(0);
+            int[] last = keys.get(keys.size() - 1);
+            Arrays.fill(values, 0, first[0], first[1]);
+            for (int k = 0; k + 1 < keys.size(); k++) {
+                int[] a = keys.get(k);
+                int[] b = keys.get(k + 1);
+                for (int t = a[0]; t < b[0]; t++) {
+                    values[t] = a[1] + Math.round((b[1] - a[1]) * (float) (t - a[0]) / (b[0] - a[0]));
+                }
+            }
+            Arrays.fill(values, last[0], values.length, last[1]);
+        }
+        return new Track(trackName, values);
+    }
+
+    private void parseCues(String spec) {
+        for (String token : spec.split("\\s+")) {
+            int colon = token.indexOf(':');
+            int t = clampTick(Integer.parseInt(token.substring(0, colon)));
+            String cue = token.substring(colon + 1);
+            String[] existing = cuesAtTick[t];
+            if (existing == null) {
+                cuesAtTick[t] = new String[] {cue};
+            } else {
+                cuesAtTick[t] = Arrays.copyOf(existing, existing.length + 1);
+                cuesAtTick[t][existing.length] = cue;
+            }
+        }
+    }
+
+    private int clampTick(int t) {
+        return Math.max(0, Math.min(length, t));
+    }
+
+    // --- Queries ---
+
+    /**
+     * Timeline length in ticks.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Looks up a track once; sample it with Cursor.get(track) every frame.
+     * Missing tracks read as 0.
+     */
+    public Track track(String trackName) {
+        Track track = tracks.get(trackName);
+        if (track == null) {
+            log.error("❌ Timeline {} has no track {}", name, trackName);
+            track = new Track(trackName, new int[length + 1]);
+            tracks.put(trackName, track);
+        }
+        return track;
+    }
+
+    /**
+     * One baked track: its value on every tick of the timeline.
+     */
+    public static final class Track {
+        public final String name;
+        private final int[] values;
+
+        Track(String name, int[] values) {
+            this.name = name;
+            this.values = values;
+        }
+
+        public int at(int tick) {
+            return values[Math.max(0, Math.min(tick, values.length - 1))];
+        }
+    }
+
+    /**
+     * Playback position in a timeline, advanced once per tick by the cutscene.
+     */
+    public static final class Cursor {
+        private final CutsceneTimeline timeline;
+        private final Consumer<String> events;
+        private int tick = -1;
+
+        /**
+         * @param events Receives the cues that are not sound cues (may be null).
+         */
+        public Cursor(CutsceneTimeline timeline, Consumer<String> events) {
+            this.timeline = timeline;
+            this.events = events;
+        }
+
+        /**
+         * Rewinds to before the first tick; the next advance() enters tick 0.
+         */
+        public void restart() {
+            tick = -1;
+        }
+
+        /**
+         * Moves to the next tick and fires its cues.
+         */
+        public void advance() {
+            if (isFinished()) return;
+            tick++;
+            String[] cues = timeline.cuesAtTick[tick];
+            if (cues == null) return;
+            for (String cue : cues) fire(cue);
+        }
+
+        private void fire(String cue) {
+            if (cue.startsWith("play:")) {
+                SoundEffects.playSound(cue.substring(5));
+            } else if (cue.startsWith("loop:")) {
+                SoundEffects.playSoundLoop(cue.substring(5));
+            } else if (cue.startsWith("stop:")) {
+                SoundEffects.stopSound(cue.substring(5));
+            } else if (events != null) {
+                events.accept(cue);
+            }
+        }
+
+        public boolean isFinished() {
+            return tick >= timeline.length;
+        }
+
+        public int getTick() {
+            return tick;
+        }
+
+        /**
+         * Value of the track on the current tick.
+         */
+        public int get(Track track) {
+            return track.at(tick);
+        }
+    }
+}
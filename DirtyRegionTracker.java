@@ -0,0 +1,99 @@
+package com.game;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import javax.swing.JComponent;
+
+/**
+ * Collects the screen areas that changed during the current game tick.
+ * During steady gameplay GamePanel repaints only the union of these areas over the
+ * cached background instead of clearing and redrawing the whole screen.
+ * The previous tick's union is always repainted too, so positions an actor just left
+ * get cleaned up without every actor having to remember where it was.
+ */
+public class DirtyRegionTracker {
+
+    // Union of everything marked during this tick
+    private final Rectangle frameUnion = new Rectangle();
+    private boolean frameEmpty = true;
+
+    // Union marked during the previous tick (vacated positions)
+    private final Rectangle lastUnion = new Rectangle();
+    private boolean lastEmpty = true;
+
+    // Reused to avoid allocating a Rectangle per flush
+    private final Rectangle repaintArea = new Rectangle();
+
+    // When true the next flush repaints the whole component
+    private boolean fullRepaint = true;
+
+    /**
+     * Forces the next flush to repaint everything (state changes, cutscenes, scrolling).
+     */
+    public void markFullRepaint() {
+        fullRepaint = true;
+    }
+
+    /**
+     * Adds an area that changed during this tick.
+     */
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+
+        if (frameEmpty) {
+            frameUnion.setBounds(x, y, width, height);
+            frameEmpty = false;
+        } else {
+            // Rectangle.add(x, y) grows the bounds to include the point without allocating
+            frameUnion.add(x, y);
+            frameUnion.add(x + width, y + height);
+        }
+    }
+
+    public void add(Rectangle area) {
+        if (area != null) add(area.x, area.y, area.width, area.height);
+    }
+
+    /**
+     * Sends the collected areas to Swing and starts a new tick.
+     * Swing's RepaintManager clips paintComponent to the requested region.
+     * @param target The component to repaint.
+     */
+    public void flush(JComponent target) {
+        if (fullRepaint) {
+            target.repaint();
+            fullRepaint = false;
+        } else if (!frameEmpty || !lastEmpty) {
+            if (frameEmpty) {
+                repaintArea.setBounds(lastUnion);
+            } else {
+                repaintArea.setBounds(frameUnion);
+                if (!lastEmpty) {
+                    repaintArea.add(lastUnion.x, lastUnion.y);
+                    repaintArea.add(lastUnion.x + lastUnion.width, lastUnion.y + lastUnion.height);
+                }
+            }
+            target.repaint(repaintArea.x, repaintArea.y, repaintArea.width, repaintArea.height);
+        }
+
+        // This tick becomes "last tick"
+        lastEmpty = frameEmpty;
+        if (!frameEmpty) lastUnion.setBounds(frameUnion);
+        frameEmpty = true;
+    }
+
+    /**
+     * Helper for actors: the largest on-screen size among their sprites at a given scale.
+     * Used as a conservative dirty box so sprite swaps of different sizes are always covered.
+     * @return {width, height}
+     */
+    public static int[] maxScaledSize(double scale, Image... images) {
+        int w = 0, h = 0;
+        for (Image img : images) {
+            if (img == null) continue;
+            w = Math.max(w, (int) Math.ceil(img.getWidth(null) * scale));
+            h = Math.max(h, (int) Math.ceil(img.getHeight(null) * scale));
+        }
+        return new int[] { w, h };
+    }
+}
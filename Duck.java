@@ -4,9 +4,6 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -14,53 +11,14 @@ import java.util.concurrent.ThreadLocalRandom;
  * Handles spawning, movement, and collision detection for all active ducks.
  */
 public class Duck {
+
+    private static final GameLog.Channel log = GameLog.channel("duck");
     
-    // --- Inner Class: Represents a single active duck ---
-    private static class FlyingDuck {
-        int x, y;
-        int speed;
-        boolean movingRight;
-        int animationFrame;
-        int animationCounter;
-        Rectangle hitbox;
-        static final int HITBOX_OFFSET_Y = 20; 
-        static final int HITBOX_WIDTH = 40;
-        static final int HITBOX_HEIGHT = 20;
-        
-        FlyingDuck(int x, int y, int speed, boolean movingRight) {
-            this.x = x;
-            this.y = y;
-            this.speed = speed;
-            this.movingRight = movingRight;
-            this.animationFrame = 0;
-            this.animationCounter = 0;
-            this.hitbox = new Rectangle(x, y + HITBOX_OFFSET_Y, HITBOX_WIDTH, HITBOX_HEIGHT);
-        }
-        
-        void update() {
-            // Horizontal Movement
-            if (movingRight) {
-                x += speed;
-            } else {
-                x -= speed;
-            }
-            
-            // Update Hitbox
-            hitbox.x = x;
-            hitbox.y = y + HITBOX_OFFSET_Y;
-            
-            // Animation (Toggle between 2 frames)
-            animationCounter++;
-            if (animationCounter >= 8) {
-                animationCounter = 0;
-                animationFrame = (animationFrame + 1) % 2;
-            }
-        }
-        
-        boolean isOffScreen(int screenWidth) {
-            return (movingRight && x > screenWidth + 100) || (!movingRight && x < -100);
-        }
-    }
+    // --- Duck archetype: one packed entry per active duck ---
+    private static final int HITBOX_OFFSET_Y = 20;
+    private static final int HITBOX_WIDTH = 40;
+    private static final int HITBOX_HEIGHT = 20;
+    private static final int ANIMATION_TICKS = 8; // Toggle between 2 frames every 8 ticks
     
     // --- Duck Manager Fields ---
     
@@ -73,7 +31,8 @@ public class Duck {
     private BufferedImage duckLeft1, duckLeft2;
     
     // Active Ducks
-    private final List<FlyingDuck> ducks;
+    private final EntityStore.Archetype ducks = new EntityStore.Archetype("duck",
+            EntityStore.VELOCITY | EntityStore.HITBOX | EntityStore.ANIMATION | EntityStore.FACING, 4);
     
     // Spawning Logic
     private long lastSpawnTime;
@@ -92,7 +51,6 @@ public class Duck {
         this.gp = gp;
         this.player = player;
         this.livelloN = livelloN;
-        this.ducks = new ArrayList<>();
         this.isActive = false;
         this.currentLevel = 1;
         
@@ -108,48 +66,76 @@ public class Duck {
         duckLeft2 = ResourceManager.get().getImage("/Duck/DuckL2.png");
     }
     
+    /**
+     * Difficulty values for one level. Pure data, so LevelPipeline can compute them
+     * off the game thread while the building scrolls.
+     */
+    public static final class Difficulty {
+        public final int level;
+        public final boolean active; // Ducks only appear from level 5 onwards
+        public final int maxDucks;
+        public final int duckSpeed; // -1 = variable speed
+        public final int spawnInterval;
+
+        public Difficulty(int level) {
+            this.level = level;
+            this.active = level >= 5;
+            
+            if (level < 5) {
+                maxDucks = 0;
+                duckSpeed = 3;
+                spawnInterval = 6000;
+            } else if (level <= 6) {
+                maxDucks = 1;
+                duckSpeed = 3;
+                spawnInterval = 6000;
+            } else if (level <= 9) {
+                maxDucks = 2;
+                duckSpeed = 4;
+                spawnInterval = 4500;
+            } else if (level <= 12) {
+                maxDucks = 3;
+                duckSpeed = 5;
+                spawnInterval = 3000;
+            } else if (level <= 15) {
+                maxDucks = 3;
+                duckSpeed = -1; // Variable speed 4-6
+                spawnInterval = 2500;
+            } else {
+                maxDucks = 4;
+                duckSpeed = -1; // Variable speed 5-7
+                spawnInterval = 2000;
+            }
+        }
+    }
+    
     /**
      * Adjusts difficulty parameters based on the current level.
      * @param level The current game level.
      */
     private void updateDifficultyForLevel(int level) {
-        this.currentLevel = level;
-        
-        // Ducks only appear from level 5 onwards
-        if (level < 5) {
-            isActive = false;
-            return;
-        }
-        
-        isActive = true;
-        
-        if (level <= 6) {
-            maxDucks = 1;
-            duckSpeed = 3;
-            spawnInterval = 6000;
-        } else if (level <= 9) {
-            maxDucks = 2;
-            duckSpeed = 4;
-            spawnInterval = 4500;
-        } else if (level <= 12) {
-            maxDucks = 3;
-            duckSpeed = 5;
-            spawnInterval = 3000;
-        } else if (level <= 15) {
-            maxDucks = 3;
-            duckSpeed = -1; // Variable speed 4-6
-            spawnInterval = 2500;
-        } else {
-            maxDucks = 4;
-            duckSpeed = -1; // Variable speed 5-7
-            spawnInterval = 2000;
-        }
+        applyDifficulty(new Difficulty(level));
+    }
+    
+    private void applyDifficulty(Difficulty difficulty) {
+        this.currentLevel = difficulty.level;
+        this.isActive = difficulty.active;
+        this.maxDucks = difficulty.maxDucks;
+        this.duckSpeed = difficulty.duckSpeed;
+        this.spawnInterval = difficulty.spawnInterval;
     }
     
     public void setLevel(int level) {
-        updateDifficultyForLevel(level);
+        setLevel(new Difficulty(level));
+    }
+    
+    /**
+     * Switches to a level whose difficulty was computed in advance (see LevelPipeline).
+     */
+    public void setLevel(Difficulty difficulty) {
+        applyDifficulty(difficulty);
         ducks.clear(); // Clear existing ducks on level change
-        lastSpawnTime = System.currentTimeMillis();
+        lastSpawnTime = GameClock.now();
     }
     
     public void update() {
@@ -160,7 +146,7 @@ public class Duck {
             setLevel(livelloN.getNumeroLivello());
         }
         
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.now();
         
         // Spawn logic
         if (ducks.size() < maxDucks && currentTime - lastSpawnTime >= spawnInterval) {
@@ -168,32 +154,36 @@ public class Duck {
             lastSpawnTime = currentTime;
         }
         
-        // Update ducks
-        Iterator<FlyingDuck> iterator = ducks.iterator();
-        while (iterator.hasNext()) {
-            FlyingDuck duck = iterator.next();
-            duck.update();
-            
+        // Update ducks: movement and animation systems, then removal and collision
+        ducks.move();
+        ducks.animate();
+        
+        Rectangle felixHitbox = player.getHitbox();
+        for (int i = ducks.size() - 1; i >= 0; i--) {
             // Remove if off-screen
-            if (duck.isOffScreen(gp.screenWidth)) {
-                iterator.remove();
+            if (isOffScreen(i)) {
+                ducks.remove(i);
                 continue;
             }
             
             // Check collision with player
-            if (checkCollision(duck)) {
+            if (ducks.hitboxIntersects(i, felixHitbox)) {
+                EventLog.record(EventLog.DUCK_HIT, 0, player.getX(), player.getY(), player.isPoweredUp() ? 0 : 1);
                 if (!player.isPoweredUp()) {
-                    // Passing null as brick since it's a duck collision, 
-                    // handleCollisionWithBrick handles generic damage.
-                    player.handleCollisionWithBrick(null);
-                    System.out.println("🦆 Felix hit by a duck!");
+                    player.handleCollision(EventLog.CAUSE_DUCK);
+                    log.info("🦆 Felix hit by a duck!");
                 }
                 // Remove duck after collision
-                iterator.remove();
+                ducks.remove(i);
             }
         }
     }
     
+    private boolean isOffScreen(int i) {
+        boolean movingRight = ducks.facing[i] == EntityStore.FACING_RIGHT;
+        return (movingRight && ducks.x[i] > gp.screenWidth + 100) || (!movingRight && ducks.x[i] < -100);
+    }
+    
     private void spawnDuck() {
         boolean movingRight = ThreadLocalRandom.current().nextBoolean();
         
@@ -213,37 +203,51 @@ public class Duck {
             speed = duckSpeed;
         }
         
-        ducks.add(new FlyingDuck(x, y, speed, movingRight));
-    }
-    
-    private boolean checkCollision(FlyingDuck duck) {
-        return duck.hitbox.intersects(player.getHitbox());
+        int i = ducks.add(x, y);
+        ducks.setVelocity(i, movingRight ? speed : -speed, 0);
+        ducks.setHitbox(i, 0, HITBOX_OFFSET_Y, HITBOX_WIDTH, HITBOX_HEIGHT);
+        ducks.setAnimation(i, 2, ANIMATION_TICKS);
+        ducks.facing[i] = movingRight ? EntityStore.FACING_RIGHT : EntityStore.FACING_LEFT;
     }
     
     public void draw(Graphics2D g2) {
         if (!isActive) return;
         
-        for (FlyingDuck duck : ducks) {
+        for (int i = 0; i < ducks.size(); i++) {
             BufferedImage sprite;
             
-            if (duck.movingRight) {
-                sprite = (duck.animationFrame == 0) ? duckRight1 : duckRight2;
+            if (ducks.facing[i] == EntityStore.FACING_RIGHT) {
+                sprite = (ducks.frame[i] == 0) ? duckRight1 : duckRight2;
             } else {
-                sprite = (duck.animationFrame == 0) ? duckLeft1 : duckLeft2;
+                sprite = (ducks.frame[i] == 0) ? duckLeft1 : duckLeft2;
             }
             
             if (sprite != null) {
                 // Draw 2x scaled sprite
-                g2.drawImage(sprite, duck.x, duck.y, 
+                g2.drawImage(sprite, ducks.x[i], ducks.y[i], 
                            sprite.getWidth() * 2, sprite.getHeight() * 2, null);
             }
             
             // Debug Hitbox
             // g2.setColor(Color.RED);
-            // g2.draw(duck.hitbox);
+            // g2.drawRect(ducks.x[i], ducks.y[i] + HITBOX_OFFSET_Y, HITBOX_WIDTH, HITBOX_HEIGHT);
         }
     }
     
+    /**
+     * Reports every visible duck's sprite box to the dirty-region tracker.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        if (!isActive) return;
+
+        for (int i = 0; i < ducks.size(); i++) {
+            BufferedImage sprite = ducks.facing[i] == EntityStore.FACING_RIGHT ? duckRight1 : duckLeft1;
+            if (sprite != null) {
+                tracker.add(ducks.x[i], ducks.y[i], sprite.getWidth() * 2, sprite.getHeight() * 2);
+            }
+        }
+    }
+
     public void setActive(boolean active) {
         this.isActive = active;
         if (!active) {
@@ -262,7 +266,7 @@ public class Duck {
     
     public void reset() {
         ducks.clear();
-        lastSpawnTime = System.currentTimeMillis();
+        lastSpawnTime = GameClock.now();
         updateDifficultyForLevel(1);
     }
 }
\ No newline at end of file
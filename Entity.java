@@ -10,20 +10,16 @@ import java.awt.Graphics2D;
  */
 public abstract class Entity {
 
-    // World Position
-    public int x, y;
-    public int speed;
+    // World Position (other classes go through getX/getY and setPosition/moveBy)
+    protected int x, y;
+    protected int speed;
 
-    // Movement State
-    public String direction = "left"; // Default direction to prevent null errors
-
-    // Animation State
-    public int spriteCounter = 0;
-    public int spriteNum = 1;
+    // Movement State: EntityStore.FACING_LEFT or FACING_RIGHT
+    protected byte facing = EntityStore.FACING_LEFT;
 
     // Collision Detection
-    public Rectangle solidArea;
-    public boolean collisionOn = false;
+    protected Rectangle solidArea;
+    protected boolean collisionOn = false;
 
     /**
      * Updates the entity's logic (movement, AI, animation frames).
@@ -45,4 +41,23 @@ public abstract class Entity {
     public Rectangle getHitbox() {
         return solidArea;
     }
+
+    public int getX() { return x; }
+    public int getY() { return y; }
+
+    public void setPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public void moveBy(int dx, int dy) {
+        x += dx;
+        y += dy;
+    }
+
+    public byte getFacing() { return facing; }
+
+    public boolean isFacingLeft() {
+        return facing == EntityStore.FACING_LEFT;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.game;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Entity-component store for the actors that come in numbers (ducks, debris ...).
+ *
+ * Entities with the same set of components share an Archetype, which keeps each
+ * component in its own packed primitive array (x[], y[], vx[] ...), so the systems below
+ * are plain linear loops over ints with no per-entity objects. Removal swaps the last
+ * entity into the hole, so indices are only stable until the next removal and iteration
+ * order is not meaningful.
+ */
+public class EntityStore {
+
+    // --- Component bits ---
+    public static final int POSITION = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int HITBOX = 1 << 2;    // Offset and size relative to the position
+    public static final int ANIMATION = 1 << 3; // Looping frame counter
+    public static final int FACING = 1 << 4;
+    public static final int SPRITE = 1 << 5;    // Index into a sprite table owned by the caller
+    public static final int OFFSET = 1 << 6;    // Per-frame draw offset (shake, bob)
+
+    public static final byte FACING_LEFT = 0;
+    public static final byte FACING_RIGHT = 1;
+
+    // Private constructor to prevent instantiation of utility class
+    private EntityStore() {}
+
+    /**
+     * Packed storage for one combination of components.
+     * Columns for components the archetype does not have stay null.
+     */
+    public static final class Archetype {
+        public final String name;
+        public final int components;
+        private int count = 0;
+
+        // POSITION
+        public int[] x, y;
+        // VELOCITY
+        public int[] vx, vy;
+        // HITBOX
+        public int[] hitOffsetX, hitOffsetY, hitWidth, hitHeight;
+        // ANIMATION
+        public int[] frame, frameTicks, frameCount, frameDuration;
+        // FACING
+        public byte[] facing;
+        // SPRITE
+        public int[] sprite;
+        // OFFSET
+        public int[] offsetX, offsetY;
+
+        /**
+         * @param components Bitwise OR of the component constants (POSITION is always included).
+         */
+        public Archetype(String name, int components, int initialCapacity) {
+            this.name = name;
+            this.components = components | POSITION;
+            allocate(Math.max(1, initialCapacity));
+        }
+
+        public boolean has(int component) {
+            return (components & component) != 0;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Adds an entity at the given position; every other component starts at zero.
+         * @return Its index.
+         */
+        public int add(int px, int py) {
+            if (count == x.length) allocate(count * 2);
+            int i = count++;
+            x[i] = px;
+            y[i] = py;
+            if (vx != null) { vx[i] = 0; vy[i] = 0; }
+            if (hitWidth != null) { hitOffsetX[i] = 0; hitOffsetY[i] = 0; hitWidth[i] = 0; hitHeight[i] = 0; }
+            if (frame != null) { frame[i] = 0; frameTicks[i] = 0; frameCount[i] = 1; frameDuration[i] = 1; }
+            if (facing != null) facing[i] = FACING_LEFT;
+            if (sprite != null) sprite[i] = 0;
+            if (offsetX != null) { offsetX[i] = 0; offsetY[i] = 0; }
+            return i;
+        }
+
+        /**
+         * Removes the entity by moving the last one into its slot.
+         */
+        public void remove(int i) {
+            int last = --count;
+            if (i == last) return;
+            x[i] = x[last];
+            y[i] = y[last];
+            if (vx != null) { vx[i] = vx[last]; vy[i] = vy[last]; }
+            if (hitWidth != null) {
+                hitOffsetX[i] = hitOffsetX[last];
+                hitOffsetY[i] = hitOffsetY[last];
+                hitWidth[i] = hitWidth[last];
+                hitHeight[i] = hitHeight[last];
+            }
+            if (frame != null) {
+                frame[i] = frame[last];
+                frameTicks[i] = frameTicks[last];
+                frameCount[i] = frameCount[last];
+                frameDuration[i] = frameDuration[last];
+            }
+            if (facing != null) facing[i] = facing[last];
+            if (sprite != null) sprite[i] = sprite[last];
+            if (offsetX != null) { offsetX[i] = offsetX[last]; offsetY[i] = offsetY[last]; }
+        }
+
+        public void clear() {
+            count = 0;
+        }
+
+        // --- Component setters ---
+
+        public void setVelocity(int i, int dx, int dy) {
+            vx[i] = dx;
+            vy[i] = dy;
+        }
+
+        public void setHitbox(int i, int offX, int offY, int width, int height) {
+            hitOffsetX[i] = offX;
+            hitOffsetY[i] = offY;
+            hitWidth[i] = width;
+            hitHeight[i] = height;
+        }
+
+        public void setAnimation(int i, int frames, int ticksPerFrame) {
+            frame[i] = 0;
+            frameTicks[i] = 0;
+            frameCount[i] = Math.max(1, frames);
+            frameDuration[i] = Math.max(1, ticksPerFrame);
+        }
+
+        // --- Systems ---
+
+        /**
+         * Movement system: position += velocity for every entity.
+         */
+        public void move() {
+            for (int i = 0; i < count; i++) {
+                x[i] += vx[i];
+                y[i] += vy[i];
+            }
+        }
+
+        /**
+         * Animation system: advances every looping frame counter by one tick.
+         */
+        public void animate() {
+            for (int i = 0; i < count; i++) {
+                if (++frameTicks[i] >= frameDuration[i]) {
+                    frameTicks[i] = 0;
+                    frame[i] = (frame[i] + 1) % frameCount[i];
+                }
+            }
+        }
+
+        /**
+         * Collision system: true if the entity's hitbox overlaps the rectangle.
+         */
+        public boolean hitboxIntersects(int i, Rectangle r) {
+            if (r == null) return false;
+            int hx = x[i] + hitOffsetX[i];
+            int hy = y[i] + hitOffsetY[i];
+            return hx < r.x + r.width && r.x < hx + hitWidth[i]
+                && hy < r.y + r.height && r.y < hy + hitHeight[i];
+        }
+
+        /**
+         * Removes every entity below the given y (swap-remove, scanning from the end).
+         */
+        public void removeBelow(int maxY) {
+            for (int i = count - 1; i >= 0; i--) {
+                if (y[i] > maxY) remove(i);
+            }
+        }
+
+        private void allocate(int capacity) {
+            x = grow(x, capacity);
+            y = grow(y, capacity);
+            if (has(VELOCITY)) {
+                vx = grow(vx, capacity);
+                vy = grow(vy, capacity);
+            }
+            if (has(HITBOX)) {
+                hitOffsetX = grow(hitOffsetX, capacity);
+                hitOffsetY = grow(hitOffsetY, capacity);
+                hitWidth = grow(hitWidth, capacity);
+                hitHeight = grow(hitHeight, capacity);
+            }
+            if (has(ANIMATION)) {
+                frame = grow(frame, capacity);
+                frameTicks = grow(frameTicks, capacity);
+                frameCount = grow(frameCount, capacity);
+                frameDuration = grow(frameDuration, capacity);
+            }
+            if (has(FACING)) {
+                facing = facing == null ? new byte[capacity] : Arrays.copyOf(facing, capacity);
+            }
+            if (has(SPRITE)) {
+                sprite = grow(sprite, capacity);
+            }
+            if (has(OFFSET)) {
+                offsetX = grow(offsetX, capacity);
+                offsetY = grow(offsetY, capacity);
+            }
+        }
+
+        private static int[] grow(int[] column, int capacity) {
+            return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.game;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Binary log of gameplay events for offline analysis (events.enabled=true).
+ *
+ * The game thread writes fixed 16-byte records straight into a memory-mapped file, so an
+ * event costs a few stores and no system call; the OS writes the pages back. Files are
+ * created and mapped on a background thread: the next one is requested when the current
+ * one is three quarters full (events.file.mb), so the game thread only swaps it in. The
+ * header keeps the record count, so a reader knows where the valid records end even if
+ * the game was killed.
+ *
+ * Record: tick (int), type (byte), entity (byte), level (short), x (short), y (short), value (int).
+ *   GAME_START        - (when level 1 becomes playable, followed by LEVEL_START 1)
+ *   LEVEL_START       value = level
+ *   WINDOW_REPAIRED   entity = window, x/y = hammer, value = windows left
+ *   LIFE_LOST         entity = CAUSE_BRICK/CAUSE_DUCK, x/y = Felix, value = lives left (0 = game over)
+ *   DUCK_HIT          x/y = Felix, value = 1 if it could hurt Felix
+ *   PIE_EATEN         x/y = Felix, value = points
+ *   LEVEL_CLEAR       value = clear time in ms (level timer)
+ *   GAME_OVER         value = final score
+ *
+ * Aggregate: java -cp bin com.game.EventLog [files or folders...]
+ * Benchmark: java -cp bin com.game.EventLog -bench [records, default 50,000,000]
+ */
+public class EventLog {
+
+    private static final GameLog.Channel log = GameLog.channel("events");
+
+    public static final int GAME_START = 1;
+    public static final int LEVEL_START = 2;
+    public static final int WINDOW_REPAIRED = 3;
+    public static final int LIFE_LOST = 4;
+    public static final int DUCK_HIT = 5;
+    public static final int PIE_EATEN = 6;
+    public static final int LEVEL_CLEAR = 7;
+    public static final int GAME_OVER = 8;
+    private static final String[] TYPE_NAMES = {"?", "game start", "level start", "window repaired", "life lost",
+            "duck hit", "pie eaten", "level clear", "game over"};
+
+    public static final int CAUSE_BRICK = 1;
+    public static final int CAUSE_DUCK = 2;
+
+    // File layout
+    private static final int MAGIC = 0x46584556; // "FXEV"
+    private static final int VERSION = 1;
+    private static final int HEADER = 64;
+    private static final int RECORD = 16;
+    private static final int H_MAGIC = 0, H_VERSION = 4, H_RECORD = 8, H_TICKS_PER_SECOND = 12,
+            H_STARTED = 16, H_COUNT = 24, H_SEQUENCE = 28, H_CABINET = 32, CABINET_BYTES = 32;
+
+    private static final boolean ENABLED = GameConfig.getBoolean("events.enabled", false);
+    private static final File DIR = new File(GameConfig.get("events.dir", "events"));
+    private static final long FILE_BYTES = Math.max(1, GameConfig.getInt("events.file.mb", 16)) * (1L << 20);
+    private static final int CAPACITY = (int) ((FILE_BYTES - HEADER) / RECORD);
+    private static final int MAP_NEXT_AT = CAPACITY - CAPACITY / 4;
+
+    private static final ExecutorService mapper = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "event-log");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1); // Below the game thread
+        return t;
+    });
+
+    // Current file (game thread only)
+    private static MappedByteBuffer map;
+    private static int count;
+    private static Future<MappedByteBuffer> next; // File being mapped for when this one is full
+    private static int level = 1;
+    private static boolean failed = false;
+
+    // Mapper thread only
+    private static int sequence = 0;
+    private static String fileStamp;
+
+    static {
+        if (ENABLED) {
+            next = mapper.submit(EventLog::mapNext); // The first file is ready before the first event
+            Runtime.getRuntime().addShutdownHook(new Thread(EventLog::force, "event-log-shutdown"));
+        }
+    }
+
+    // Private constructor to prevent instantiation of utility class
+    private EventLog() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // --- Game thread ---
+
+    /**
+     * Level 1 has become playable: starts a game and its first level.
+     */
+    public static void gameStarted() {
+        level = 1;
+        record(GAME_START, 0, 0, 0, 0);
+        record(LEVEL_START, 0, 0, 0, 1);
+    }
+
+    public static void levelStarted(int newLevel) {
+        level = newLevel;
+        record(LEVEL_START, 0, 0, 0, newLevel);
+    }
+
+    /**
+     * Appends one event, stamped with the current tick and level.
+     */
+    public static void record(int type, int entity, int x, int y, int value) {
+        if (!ENABLED || failed) return;
+        if (map == null || count == CAPACITY) {
+            roll();
+            if (map == null) return;
+        }
+        int off = HEADER + count * RECORD;
+        map.putInt(off, (int) GameClock.getTickCount());
+        map.put(off + 4, (byte) type);
+        map.put(off + 5, (byte) entity);
+        map.putShort(off + 6, (short) level);
+        map.putShort(off + 8, (short) x);
+        map.putShort(off + 10, (short) y);
+        map.putInt(off + 12, value);
+        count++;
+        map.putInt(H_COUNT, count);
+        if (count == MAP_NEXT_AT) next = mapper.submit(EventLog::mapNext);
+    }
+
+    /**
+     * Swaps in the file mapped in the background. Only waits if the events came faster
+     * than the mapper could create it.
+     */
+    private static void roll() {
+        map = null;
+        if (next == null) next = mapper.submit(EventLog::mapNext);
+        try {
+            MappedByteBuffer ready = next.get();
+            next = null;
+            ready.putLong(H_STARTED, System.currentTimeMillis());
+            count = 0;
+            map = ready;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Event dropped, the next one tries again
+        } catch (ExecutionException e) {
+            log.warn("⚠️ Event log disabled: {}", e.getCause().getMessage());
+            failed = true;
+        }
+    }
+
+    /**
+     * Creates and maps the next file, events-<cabinet>-<start time>-<n>.fxev, with its header.
+     */
+    private static MappedByteBuffer mapNext() throws IOException {
+        if (fileStamp == null) {
+            fileStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            DIR.mkdirs();
+        }
+        String cabinet = InputLatency.getCabinetId();
+        File file = new File(DIR, "events-" + cabinet + "-" + fileStamp + "-" + sequence + ".fxev");
+        MappedByteBuffer b;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            b = ch.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES); // Stays valid after close
+        }
+
+        b.putInt(H_MAGIC, MAGIC);
+        b.putInt(H_VERSION, VERSION);
+        b.putInt(H_RECORD, RECORD);
+        b.putInt(H_TICKS_PER_SECOND, GameClock.TICKS_PER_SECOND);
+        b.putLong(H_STARTED, System.currentTimeMillis());
+        b.putInt(H_SEQUENCE, sequence);
+        byte[] name = cabinet.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < Math.min(name.length, CABINET_BYTES); i++) b.put(H_CABINET + i, name[i]);
+        sequence++;
+        log.info("📼 Event log: {}", file);
+        return b;
+    }
+
+    private static void force() {
+        MappedByteBuffer current = map;
+        if (current != null) current.force();
+    }
+
+    // --- Offline aggregation ---
+
+    private static final int MAX_LEVELS = 64;  // Higher levels are counted in the last slot
+    private static final int CELL = 100;       // Death map cell, in pixels
+    private static final int GRID = 32;
+
+    /**
+     * Totals over any number of files. One per worker, merged at the end.
+     */
+    private static final class Summary {
+        long files, records;
+        final long[] byType = new long[TYPE_NAMES.length];
+        final long[] deathsByCause = new long[3];
+        final long[] deathCells = new long[GRID * GRID];
+        final long[] clears = new long[MAX_LEVELS + 1];
+        final long[] clearMillis = new long[MAX_LEVELS + 1];
+        final long[] fastestClear = new long[MAX_LEVELS + 1];
+        final long[] deathsAtLevel = new long[MAX_LEVELS + 1];
+        long duckHitsHarmful, piePoints;
+        long gameTicks, gamesTimed;
+
+        Summary() {
+            Arrays.fill(fastestClear, Long.MAX_VALUE);
+        }
+
+        void add(Summary o) {
+            files += o.files;
+            records += o.records;
+            for (int i = 0; i < byType.length; i++) byType[i] += o.byType[i];
+            for (int i = 0; i < deathsByCause.length; i++) deathsByCause[i] += o.deathsByCause[i];
+            for (int i = 0; i < deathCells.length; i++) deathCells[i] += o.deathCells[i];
+            for (int i = 0; i <= MAX_LEVELS; i++) {
+                clears[i] += o.clears[i];
+                clearMillis[i] += o.clearMillis[i];
+                fastestClear[i] = Math.min(fastestClear[i], o.fastestClear[i]);
+                deathsAtLevel[i] += o.deathsAtLevel[i];
+            }
+            duckHitsHarmful += o.duckHitsHarmful;
+            piePoints += o.piePoints;
+            gameTicks += o.gameTicks;
+            gamesTimed += o.gamesTimed;
+        }
+    }
+
+    /**
+     * Reads one file through a read-only mapping.
+     */
+    private static Summary scan(File file) {
+        Summary s = new Summary();
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (b.getInt(H_MAGIC) != MAGIC || b.getInt(H_VERSION) != VERSION) throw new IOException("not an event log");
+            int n = (int) Math.min(b.getInt(H_COUNT), (ch.size() - HEADER) / RECORD);
+            s.files = 1;
+            s.records = n;
+
+            int gameStart = 0;
+            boolean inGame = false;
+            for (int i = 0, off = HEADER; i < n; i++, off += RECORD) {
+                int tick = b.getInt(off);
+                int type = b.get(off + 4);
+                int entity = b.get(off + 5);
+                int lvl = Math.min(MAX_LEVELS, Math.max(0, b.getShort(off + 6)));
+                int value = b.getInt(off + 12);
+                if (type <= 0 || type >= TYPE_NAMES.length) continue;
+                s.byType[type]++;
+
+                switch (type) {
+                    case GAME_START:
+                        gameStart = tick;
+                        inGame = true;
+                        break;
+                    case LIFE_LOST:
+                        if (entity == CAUSE_BRICK || entity == CAUSE_DUCK) s.deathsByCause[entity]++;
+                        int cx = Math.min(GRID - 1, Math.max(0, b.getShort(off + 8) / CELL));
+                        int cy = Math.min(GRID - 1, Math.max(0, b.getShort(off + 10) / CELL));
+                        s.deathCells[cy * GRID + cx]++;
+                        s.deathsAtLevel[lvl]++;
+                        break;
+                    case DUCK_HIT:
+                        if (value != 0) s.duckHitsHarmful++;
+                        break;
+                    case PIE_EATEN:
+                        s.piePoints += value;
+                        break;
+                    case LEVEL_CLEAR:
+                        s.clears[lvl]++;
+                        s.clearMillis[lvl] += value;
+                        s.fastestClear[lvl] = Math.min(s.fastestClear[lvl], value);
+                        break;
+                    case GAME_OVER:
+                        if (inGame) {
+                            s.gameTicks += tick - gameStart; // Wraps correctly past Integer.MAX_VALUE ticks
+                            s.gamesTimed++;
+                        }
+                        inGame = false;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Skipping " + file + ": " + e.getMessage());
+            return new Summary();
+        }
+        return s;
+    }
+
+    private static void collect(File f, List<File> out) {
+        if (f.isDirectory()) {
+            File[] children = f.listFiles();
+            if (children != null) for (File c : children) collect(c, out);
+        } else if (f.getName().endsWith(".fxev")) {
+            out.add(f);
+        }
+    }
+
+    private static Summary aggregate(List<File> inputs) {
+        List<File> files = new ArrayList<>();
+        for (File f : inputs) collect(f, files);
+        // Files are independent: scan them in parallel and merge the totals
+        return files.parallelStream().map(EventLog::scan).reduce(new Summary(), (a, b) -> {
+            Summary sum = new Summary();
+            sum.add(a);
+            sum.add(b);
+            return sum;
+        });
+    }
+
+    private static void report(Summary s) {
+        System.out.println(String.format("📊 %,d records in %,d files", s.records, s.files));
+        for (int t = 1; t < TYPE_NAMES.length; t++) {
+            System.out.println(String.format("   %-16s %,12d", TYPE_NAMES[t], s.byType[t]));
+        }
+        long games = Math.max(1, s.byType[GAME_START]);
+        System.out.println(String.format("📊 Lives lost: %,d by bricks, %,d by ducks; %,d of %,d duck hits could hurt",
+                s.deathsByCause[CAUSE_BRICK], s.deathsByCause[CAUSE_DUCK], s.duckHitsHarmful, s.byType[DUCK_HIT]));
+        System.out.println(String.format("📊 Pies: %.2f per game, %,d points", (double) s.byType[PIE_EATEN] / games, s.piePoints));
+        if (s.gamesTimed > 0) {
+            System.out.println(String.format("📊 Average game: %.1f s", (double) s.gameTicks / s.gamesTimed / GameClock.TICKS_PER_SECOND));
+        }
+
+        System.out.println("📊 Level   clears   avg s   best s   lives lost");
+        for (int l = 1; l <= MAX_LEVELS; l++) {
+            if (s.clears[l] == 0 && s.deathsAtLevel[l] == 0) continue;
+            String best = s.clears[l] == 0 ? "-" : String.format("%.1f", s.fastestClear[l] / 1000.0);
+            String avg = s.clears[l] == 0 ? "-" : String.format("%.1f", s.clearMillis[l] / 1000.0 / s.clears[l]);
+            System.out.println(String.format("   %3s%s %9d %7s %8s %12d", l, l == MAX_LEVELS ? "+" : " ",
+                    s.clears[l], avg, best, s.deathsAtLevel[l]));
+        }
+
+        // Where Felix dies: the busiest cells of the death map
+        Integer[] cells = new Integer[GRID * GRID];
+        for (int i = 0; i < cells.length; i++) cells[i] = i;
+        Arrays.sort(cells, (a, b) -> Long.compare(s.deathCells[b], s.deathCells[a]));
+        System.out.println("📊 Deadliest spots (" + CELL + " px cells)");
+        for (int i = 0; i < 5 && s.deathCells[cells[i]] > 0; i++) {
+            int c = cells[i];
+            System.out.println(String.format("   x %4d-%-4d y %4d-%-4d %,10d", (c % GRID) * CELL, (c % GRID) * CELL + CELL - 1,
+                    (c / GRID) * CELL, (c / GRID) * CELL + CELL - 1, s.deathCells[c]));
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("-bench")) {
+            benchmark(args.length > 1 ? Long.parseLong(args[1]) : 50_000_000L);
+            return;
+        }
+        List<File> inputs = new ArrayList<>();
+        for (String a : args) inputs.add(new File(a));
+        if (inputs.isEmpty()) inputs.add(DIR);
+
+        long start = System.nanoTime();
+        Summary s = aggregate(inputs);
+        double sec = (System.nanoTime() - start) / 1e9;
+        report(s);
+        System.out.println(String.format("📊 Aggregated in %.2f s (%,.0f records/s)", sec, s.records / sec));
+    }
+
+    /**
+     * Writes synthetic games through record() (timing the game-thread cost), then
+     * aggregates the files and deletes them.
+     */
+    private static void benchmark(long records) {
+        if (!ENABLED) {
+            System.err.println("Run with -Dfelix.events.enabled=true (and optionally -Dfelix.events.dir=...)");
+            return;
+        }
+        SplittableRandom rng = new SplittableRandom(1);
+        long start = System.nanoTime();
+        long written = 0;
+        while (written < records) {
+            gameStarted();
+            written += 2;
+            for (int lvl = 1; written < records; lvl++) {
+                if (lvl > 1) {
+                    levelStarted(lvl); // Level 1's comes with gameStarted
+                    written++;
+                }
+                for (int w = 0; w < 20; w++) {
+                    GameClock.tick();
+                    record(WINDOW_REPAIRED, w, rng.nextInt(600), rng.nextInt(800), 19 - w);
+                }
+                if (rng.nextInt(3) == 0) {
+                    record(PIE_EATEN, 0, rng.nextInt(600), rng.nextInt(800), 50);
+                    written++;
+                }
+                record(DUCK_HIT, 0, rng.nextInt(600), rng.nextInt(800), rng.nextInt(2));
+                written += 21;
+                if (rng.nextInt(4) == 0) {
+                    record(LIFE_LOST, 1 + rng.nextInt(2), rng.nextInt(600), rng.nextInt(800), 0);
+                    record(GAME_OVER, 0, 0, 0, rng.nextInt(100_000));
+                    written += 2;
+                    break;
+                }
+                record(LEVEL_CLEAR, 0, 0, 0, 20_000 + rng.nextInt(60_000));
+                written++;
+            }
+        }
+        double writeSec = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("📊 Wrote %,d records in %.2f s (%.1f ns/record on the game thread)",
+                written, writeSec, writeSec * 1e9 / written));
+        force();
+        map = null;
+        try {
+            if (next != null) next.get(); // Let the mapper finish before the files are read and deleted
+        } catch (InterruptedException | ExecutionException e) {
+            // Nothing to wait for
+        }
+
+        start = System.nanoTime();
+        Summary s = aggregate(List.of(DIR));
+        double sec = (System.nanoTime() - start) / 1e9;
+        report(s);
+        System.out.println(String.format("📊 Aggregated in %.2f s (%,.0f records/s)", sec, s.records / sec));
+
+        File[] files = DIR.listFiles();
+        if (files != null) for (File f : files) if (f.getName().endsWith(".fxev")) f.delete();
+    }
+}
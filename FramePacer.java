@@ -0,0 +1,114 @@
+package com.game;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+
+/**
+ * Paces presents to the display's refresh rate.
+ *
+ * The present interval is the whole number of refresh periods closest to the game's
+ * tick length (2 periods at 60 Hz, 4 at 120 Hz ...), so every game frame stays on screen
+ * for the same number of refreshes and scrolling does not judder. Java cannot see the
+ * vblank itself, so alignment means a steady cadence at that interval; the toolkit is
+ * flushed after every present so frames do not pile up in the X11 pipe.
+ * Present-to-present jitter is published through GameMetrics once per second.
+ */
+public class FramePacer {
+
+    private static final int FALLBACK_REFRESH_HZ = 60;
+    private static final GameLog.Channel log = GameLog.channel("pacing");
+    private static final long SPIN_THRESHOLD_NANOS = 1_500_000; // Sleep until 1.5 ms before, then spin
+
+    private final int refreshHz;
+    private final long presentInterval;
+
+    // Next scheduled present (game thread)
+    private long nextPresent;
+
+    // Jitter statistics (EDT)
+    private long lastPresent = 0;
+    private long jitterSum = 0;
+    private long jitterMax = 0;
+    private int jitterSamples = 0;
+    private long lastReport = 0;
+
+    /**
+     * @param tickNanos Length of one game tick.
+     */
+    public FramePacer(double tickNanos) {
+        this.refreshHz = detectRefreshRate();
+        double period = 1_000_000_000.0 / refreshHz;
+        long periodsPerPresent = Math.max(1, Math.round(tickNanos / period));
+        this.presentInterval = (long) (period * periodsPerPresent);
+        this.nextPresent = System.nanoTime() + presentInterval;
+
+        GameMetrics.set("pacing.refresh.hz", refreshHz);
+        GameMetrics.set("pacing.interval.us", presentInterval / 1000);
+        log.info("🖥️ Frame pacing: {} Hz, present every {} refresh(es)", refreshHz, periodsPerPresent);
+    }
+
+    private static int detectRefreshRate() {
+        int configured = GameConfig.getInt("pacing.refresh", 0);
+        if (configured > 0) return configured;
+        if (GraphicsEnvironment.isHeadless()) return FALLBACK_REFRESH_HZ;
+
+        GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        DisplayMode mode = gd.getDisplayMode();
+        int hz = mode == null ? DisplayMode.REFRESH_RATE_UNKNOWN : mode.getRefreshRate();
+        return hz == DisplayMode.REFRESH_RATE_UNKNOWN || hz <= 0 ? FALLBACK_REFRESH_HZ : hz;
+    }
+
+    public long getPresentInterval() {
+        return presentInterval;
+    }
+
+    /**
+     * Blocks the game thread until the next present slot.
+     * If the game fell behind by more than one interval the schedule restarts from now
+     * instead of rushing through the missed slots.
+     */
+    public void waitForNextPresent() {
+        long now = System.nanoTime();
+        if (now - nextPresent > presentInterval) {
+            nextPresent = now;
+        }
+
+        long remaining = nextPresent - now;
+        if (remaining > SPIN_THRESHOLD_NANOS) {
+            try {
+                Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / 1_000_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while (System.nanoTime() < nextPresent) {
+            Thread.onSpinWait();
+        }
+        nextPresent += presentInterval;
+    }
+
+    /**
+     * Records a finished present. Called on the EDT right after painting and Toolkit.sync().
+     */
+    public void recordPresent() {
+        long now = System.nanoTime();
+        if (lastPresent != 0) {
+            long jitter = Math.abs((now - lastPresent) - presentInterval);
+            jitterSum += jitter;
+            jitterMax = Math.max(jitterMax, jitter);
+            jitterSamples++;
+        }
+        lastPresent = now;
+
+        if (now - lastReport >= 1_000_000_000L && jitterSamples > 0) {
+            GameMetrics.set("pacing.jitter.avg.us", jitterSum / jitterSamples / 1000);
+            GameMetrics.set("pacing.jitter.max.us", jitterMax / 1000);
+            jitterSum = 0;
+            jitterMax = 0;
+            jitterSamples = 0;
+            lastReport = now;
+        }
+    }
+}
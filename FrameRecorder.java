@@ -0,0 +1,418 @@
+package com.game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Built-in gameplay recorder.
+ *
+ * The video has one frame per game tick. Each captured frame is stamped with the tick it
+ * shows and copied into one of a small pool of reusable buffers for a background encoder
+ * thread. Ticks that were never painted (coalesced repaints, catch-up ticks) repeat the
+ * previous frame; if no buffer is free the frame is dropped and counted. The render thread
+ * never waits for the encoder.
+ * Output is a PNG sequence, an uncompressed AVI or an MJPEG AVI. Repeated frames are
+ * written to AVIs as empty chunks and to PNG sequences as copies, so the video keeps
+ * game time.
+ * AVI 1.0 stores sizes and index offsets in 32 bits, so an AVI recording continues in a
+ * new numbered file (felix-<stamp>-001.avi, ...) before a file reaches SEGMENT_BYTES.
+ */
+public class FrameRecorder {
+
+    public enum Format { PNG, AVI, MJPEG }
+
+    private static final GameLog.Channel log = GameLog.channel("recorder");
+
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final long SEGMENT_BYTES = 1L << 30; // Well below the 2 GB an AVI 1.0 file can address
+
+    // A pooled buffer plus the number of the frame it holds
+    private static final class Frame {
+        final BufferedImage image;
+        long number;
+
+        Frame(BufferedImage image) { this.image = image; }
+    }
+
+    private final Format format;
+    private final File output;
+    private final int width;
+    private final int height;
+    private final int fps;
+
+    private final BlockingQueue<Frame> free;
+    private final BlockingQueue<Frame> pending;
+    private final Thread encoderThread;
+    private volatile boolean running = true;
+
+    // Render thread counters
+    private long firstTick = -1;
+    private long lastNumber = -1;
+    private long dropped = 0;
+
+    // Encoder state
+    private AviWriter avi;
+    private int segment = 0;
+    private long lastWritten = -1;
+
+    /**
+     * Starts a recorder if 'record.format' is set (png, avi or mjpeg), otherwise returns null.
+     */
+    public static FrameRecorder fromConfig(int width, int height, int fps) {
+        String name = GameConfig.get("record.format", "off").trim().toUpperCase();
+        if (name.equals("OFF")) return null;
+
+        try {
+            Format format = Format.valueOf(name);
+            File dir = new File(GameConfig.get("record.dir", "recordings"));
+            int buffers = GameConfig.getInt("record.buffers", 4);
+            return new FrameRecorder(format, dir, width, height, fps, buffers);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Unknown record.format: {}", name);
+        } catch (IOException e) {
+            log.error("❌ Could not start recording: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    public FrameRecorder(Format format, File dir, int width, int height, int fps, int buffers) throws IOException {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.fps = fps;
+
+        if (format == Format.AVI && (long) dibRowSize() * height * fps > SEGMENT_BYTES / 2) {
+            // A segment would hold under two seconds, and the disk could not keep up anyway
+            throw new IOException("uncompressed " + width + "x" + height + " at " + fps
+                    + " fps is too large for AVI files, use record.format=mjpeg");
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        if (format == Format.PNG) {
+            output = new File(dir, "felix-" + stamp);
+            if (!output.mkdirs()) throw new IOException("Cannot create " + output);
+        } else {
+            output = new File(dir, "felix-" + stamp + ".avi");
+            avi = new AviWriter(output, width, height, fps, format == Format.MJPEG);
+        }
+
+        free = new ArrayBlockingQueue<>(buffers);
+        pending = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            free.add(new Frame(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)));
+        }
+
+        encoderThread = new Thread(this::encodeLoop, "FrameRecorder");
+        encoderThread.setDaemon(true);
+        encoderThread.start();
+        log.info("🎥 Recording {} to {}", format, output.getPath());
+    }
+
+    /**
+     * Captures the frame showing a game tick. Never blocks: without a free buffer the frame
+     * is dropped. A tick already captured (a repaint without a new tick) is ignored.
+     * @param tick GameClock tick the frame shows.
+     * @param drawer Draws the frame into the buffer's graphics (usually a single blit).
+     */
+    public void capture(long tick, Consumer<Graphics2D> drawer) {
+        if (firstTick < 0) firstTick = tick;
+        long number = tick - firstTick;
+        if (number <= lastNumber) return;
+        lastNumber = number;
+
+        Frame frame = free.poll();
+        if (frame == null) {
+            dropped++;
+            GameMetrics.set("record.dropped", dropped);
+            return;
+        }
+
+        Graphics2D g2 = frame.image.createGraphics();
+        drawer.accept(g2);
+        g2.dispose();
+
+        frame.number = number;
+        pending.offer(frame); // Cannot fail: pending has room for every pooled buffer
+        GameMetrics.set("record.frames", number + 1);
+    }
+
+    /**
+     * Stops the encoder after it has written every queued frame, and closes the file.
+     */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        try {
+            encoderThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        GameMetrics.event("Recording stopped: " + (lastNumber + 1) + " frames, " + dropped + " dropped (" + output.getPath()
+                + (segment > 0 ? " + " + segment + " more files" : "") + ")");
+        GameLog.flush(); // Runs as a shutdown hook
+    }
+
+    private void encodeLoop() {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream(256 * 1024);
+        byte[] dib = format == Format.AVI ? new byte[dibRowSize() * height] : null;
+
+        try {
+            while (running || !pending.isEmpty()) {
+                Frame frame = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (frame == null) continue;
+
+                try {
+                    write(frame, jpeg, dib);
+                } finally {
+                    free.offer(frame);
+                }
+            }
+            if (avi != null) avi.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("❌ Recording failed: {}", e.getMessage());
+            running = false;
+        }
+    }
+
+    private void write(Frame frame, ByteArrayOutputStream jpeg, byte[] dib) throws IOException {
+        switch (format) {
+            case PNG:
+                File file = pngFile(frame.number);
+                ImageIO.write(frame.image, "png", file);
+                if (lastWritten >= 0) {
+                    for (long n = lastWritten + 1; n < frame.number; n++) {
+                        Files.copy(pngFile(lastWritten).toPath(), pngFile(n).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+                break;
+
+            case AVI:
+                writeRepeatChunks(frame.number);
+                toBottomUpBgr(frame.image, dib);
+                writeChunk(dib, dib.length);
+                break;
+
+            case MJPEG:
+                writeRepeatChunks(frame.number);
+                jpeg.reset();
+                encodeJpeg(frame.image, jpeg);
+                writeChunk(jpeg.toByteArray(), jpeg.size());
+                break;
+        }
+        lastWritten = frame.number;
+    }
+
+    private File pngFile(long number) {
+        return new File(output, String.format("frame_%06d.png", number));
+    }
+
+    // Empty chunks tell players to hold the previous frame, keeping audio/game-clock sync
+    private void writeRepeatChunks(long number) throws IOException {
+        for (long n = lastWritten + 1; n < number; n++) {
+            writeChunk(null, 0);
+        }
+    }
+
+    /**
+     * Writes one frame chunk, first moving to the next file if it would not fit in this one.
+     */
+    private void writeChunk(byte[] data, int length) throws IOException {
+        if (!avi.fits(length)) {
+            avi.close();
+            segment++;
+            File next = new File(output.getParentFile(),
+                    output.getName().replace(".avi", String.format("-%03d.avi", segment)));
+            avi = new AviWriter(next, width, height, fps, format == Format.MJPEG);
+            log.info("🎥 Recording continues in {}", next.getPath());
+        }
+        avi.writeFrame(data, length);
+    }
+
+    private int dibRowSize() {
+        return (width * 3 + 3) & ~3;
+    }
+
+    private void toBottomUpBgr(BufferedImage image, byte[] out) {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int rowSize = dibRowSize();
+        for (int y = 0; y < height; y++) {
+            int src = y * width;
+            int dst = (height - 1 - y) * rowSize;
+            for (int x = 0; x < width; x++) {
+                int p = pixels[src + x];
+                out[dst++] = (byte) p;
+                out[dst++] = (byte) (p >> 8);
+                out[dst++] = (byte) (p >> 16);
+            }
+        }
+    }
+
+    private static void encodeJpeg(BufferedImage image, ByteArrayOutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Minimal single-stream AVI (RIFF) writer. Header sizes and frame counts are
+     * patched in place when the file is closed.
+     */
+    private static final class AviWriter {
+        private static final int MOVI_START = 220;     // Offset of the 'movi' fourcc
+        private static final int AVIF_HASINDEX = 0x10;
+        private static final int AVIIF_KEYFRAME = 0x10;
+
+        private final RandomAccessFile file;
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        private int frames = 0;
+        private int maxChunk = 0;
+
+        AviWriter(File path, int width, int height, int fps, boolean mjpeg) throws IOException {
+            file = new RandomAccessFile(path, "rw");
+            file.setLength(0);
+
+            int imageSize = mjpeg ? 0 : ((width * 3 + 3) & ~3) * height;
+
+            fourcc("RIFF"); int32(0); fourcc("AVI ");
+            fourcc("LIST"); int32(192); fourcc("hdrl");
+
+            fourcc("avih"); int32(56);
+            int32(1_000_000 / fps);   // dwMicroSecPerFrame
+            int32(0);                 // dwMaxBytesPerSec
+            int32(0);                 // dwPaddingGranularity
+            int32(AVIF_HASINDEX);     // dwFlags
+            int32(0);                 // dwTotalFrames (patched)
+            int32(0);                 // dwInitialFrames
+            int32(1);                 // dwStreams
+            int32(imageSize);         // dwSuggestedBufferSize
+            int32(width);
+            int32(height);
+            int32(0); int32(0); int32(0); int32(0);
+
+            fourcc("LIST"); int32(116); fourcc("strl");
+
+            fourcc("strh"); int32(56);
+            fourcc("vids");
+            fourcc(mjpeg ? "MJPG" : "DIB ");
+            int32(0);                 // dwFlags
+            int32(0);                 // wPriority + wLanguage
+            int32(0);                 // dwInitialFrames
+            int32(1);                 // dwScale
+            int32(fps);               // dwRate
+            int32(0);                 // dwStart
+            int32(0);                 // dwLength (patched)
+            int32(imageSize);         // dwSuggestedBufferSize
+            int32(-1);                // dwQuality
+            int32(0);                 // dwSampleSize
+            int16(0); int16(0); int16(width); int16(height);
+
+            fourcc("strf"); int32(40);
+            int32(40);                // biSize
+            int32(width);
+            int32(height);            // Positive: bottom-up rows
+            int16(1);                 // biPlanes
+            int16(24);                // biBitCount
+            if (mjpeg) fourcc("MJPG"); else int32(0);
+            int32(imageSize);
+            int32(0); int32(0); int32(0); int32(0);
+
+            fourcc("LIST"); int32(0); fourcc("movi");
+        }
+
+        /**
+         * Whether a chunk of this length, its index entry and the closing index header
+         * still fit within SEGMENT_BYTES.
+         */
+        boolean fits(int length) throws IOException {
+            long chunk = 8 + length + (length & 1);
+            return file.getFilePointer() + chunk + index.size() + 16 + 8 <= SEGMENT_BYTES;
+        }
+
+        void writeFrame(byte[] data, int length) throws IOException {
+            long offset = file.getFilePointer() - MOVI_START;
+            fourcc("00dc");
+            int32(length);
+            if (length > 0) file.write(data, 0, length);
+            if ((length & 1) != 0) file.write(0); // Chunks are word aligned
+
+            writeIndexInt(0x63643030);            // '00dc'
+            writeIndexInt(length > 0 ? AVIIF_KEYFRAME : 0);
+            writeIndexInt((int) offset);
+            writeIndexInt(length);
+
+            frames++;
+            maxChunk = Math.max(maxChunk, length);
+        }
+
+        void close() throws IOException {
+            long moviEnd = file.getFilePointer();
+            fourcc("idx1");
+            int32(index.size());
+            file.write(index.toByteArray());
+            long end = file.getFilePointer();
+
+            patch(4, (int) (end - 8));                    // RIFF size
+            patch(48, frames);                            // avih.dwTotalFrames
+            patch(60, maxChunk);                          // avih.dwSuggestedBufferSize
+            patch(140, frames);                           // strh.dwLength
+            patch(144, maxChunk);                         // strh.dwSuggestedBufferSize
+            patch(MOVI_START - 4, (int) (moviEnd - MOVI_START)); // movi LIST size
+            file.close();
+        }
+
+        private void patch(long position, int value) throws IOException {
+            file.seek(position);
+            int32(value);
+        }
+
+        private void fourcc(String code) throws IOException {
+            file.writeBytes(code);
+        }
+
+        private void int32(int v) throws IOException {
+            file.write(v & 0xFF);
+            file.write((v >> 8) & 0xFF);
+            file.write((v >> 16) & 0xFF);
+            file.write((v >> 24) & 0xFF);
+        }
+
+        private void int16(int v) throws IOException {
+            file.write(v & 0xFF);
+            file.write((v >> 8) & 0xFF);
+        }
+
+        private void writeIndexInt(int v) {
+            index.write(v & 0xFF);
+            index.write((v >> 8) & 0xFF);
+            index.write((v >> 16) & 0xFF);
+            index.write((v >> 24) & 0xFF);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.game;
+
+/**
+ * The single source of time for gameplay.
+ *
+ * Game time only moves when GamePanel runs a tick, by exactly one tick length, so
+ * tick-counted and millisecond-based logic always agree. It is monotonic and ignores
+ * wall-clock jumps. Pausing stops it; the time scale changes how many ticks the game
+ * loop runs per real second (slow motion / fast forward); in virtual mode the loop does
+ * not wait for real time at all, for headless simulation runs.
+ */
+public class GameClock {
+
+    public static final int TICKS_PER_SECOND = 30;
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    // Starts far from zero: several classes use 0 as "never happened", and timers
+    // compared against it must read as long expired on the first tick
+    private static final long START_NANOS = 1_000_000_000_000L;
+
+    private static volatile long nowNanos = START_NANOS;
+    private static volatile long tickCount = 0;
+    private static volatile boolean paused = false;
+    private static volatile double timeScale = clampScale(GameConfig.getDouble("clock.scale", 1.0));
+    private static volatile boolean virtual = GameConfig.getBoolean("clock.virtual", false);
+
+    // Private constructor to prevent instantiation of utility class
+    private GameClock() {}
+
+    /**
+     * Advances game time by one tick (unless paused). Called once at the start of every update.
+     */
+    public static void tick() {
+        if (paused) return;
+        nowNanos += TICK_NANOS;
+        tickCount++;
+    }
+
+    /**
+     * Current game time in milliseconds. Only differences are meaningful.
+     */
+    public static long now() {
+        return nowNanos / 1_000_000;
+    }
+
+    /**
+     * Number of ticks run since startup (excluding paused ones).
+     */
+    public static long getTickCount() {
+        return tickCount;
+    }
+
+    // --- Pause ---
+
+    public static boolean isPaused() {
+        return paused;
+    }
+
+    public static void setPaused(boolean value) {
+        if (paused != value) GameMetrics.event(value ? "Game paused" : "Game resumed");
+        paused = value;
+    }
+
+    public static void togglePause() {
+        setPaused(!paused);
+    }
+
+    // --- Time scale ---
+
+    /**
+     * Real-time speed factor: 0.5 = slow motion, 2 = fast forward.
+     */
+    public static double getTimeScale() {
+        return timeScale;
+    }
+
+    public static void setTimeScale(double scale) {
+        timeScale = clampScale(scale);
+    }
+
+    private static double clampScale(double scale) {
+        return Math.max(0.1, Math.min(8.0, scale));
+    }
+
+    // --- Virtual mode ---
+
+    /**
+     * In virtual mode the game loop runs ticks back to back without waiting for real time.
+     */
+    public static boolean isVirtual() {
+        return virtual;
+    }
+
+    public static void setVirtual(boolean value) {
+        virtual = value;
+    }
+}
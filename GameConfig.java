@@ -0,0 +1,103 @@
+package com.game;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Local per-cabinet settings stored in 'game.properties' next to the high score file.
+ * Any key can be overridden from the command line with -Dfelix.&lt;key&gt;=value,
+ * which always wins over the file.
+ */
+public class GameConfig {
+
+    private static final String FILE_PATH = "game.properties";
+    private static final String SYSTEM_PREFIX = "felix.";
+    private static Properties props;
+
+    // Private constructor to prevent instantiation of utility class
+    private GameConfig() {}
+
+    private static synchronized Properties load() {
+        if (props != null) return props;
+
+        props = new Properties();
+        File file = new File(FILE_PATH);
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("⚠️ GameConfig: Could not read " + FILE_PATH + ": " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Reads a setting. System property 'felix.key' overrides the file.
+     */
+    public static String get(String key, String defaultValue) {
+        String override = System.getProperty(SYSTEM_PREFIX + key);
+        if (override != null) return override;
+        return load().getProperty(key, defaultValue);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * True if the key is set in the file or on the command line.
+     */
+    public static boolean has(String key) {
+        return get(key, null) != null;
+    }
+
+    /**
+     * Stores a setting and writes the file immediately.
+     */
+    public static synchronized void set(String key, String value) {
+        Properties p = load();
+        p.setProperty(key, value);
+        try (OutputStream out = new FileOutputStream(FILE_PATH)) {
+            p.store(out, "Fix-It Felix Jr. local settings");
+        } catch (IOException e) {
+            System.err.println("❌ GameConfig: Could not save " + FILE_PATH + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.game;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous log for the gameplay paths: the calling thread only copies the record into
+ * a preallocated ring buffer; a background thread formats it and writes it out. A slow
+ * stdout (a journald pipe, a terminal being scrolled) then stalls the writer, never the
+ * game thread. When the ring is full records are dropped and counted instead.
+ *
+ * Each subsystem logs through a Channel:
+ *   private static final GameLog.Channel log = GameLog.channel("duck");
+ *   log.info("🦆 Felix hit by a duck!");
+ *   log.info("🎮 Ralph Level {} | Speed: {}", level, speed);
+ * Arguments are stored as they are and only turned into text on the writer thread
+ * ({} placeholders, doubles with two decimals), so pass values, not mutable objects.
+ *
+ * Config: log.level (debug, info, warn, error; default info) and log.<subsystem> to raise,
+ * lower or turn off (off) one subsystem. WARN and ERROR go to stderr, the rest to stdout.
+ * The writer prints through System.out and System.err, so its lines keep their order
+ * with anything else printed there.
+ */
+public class GameLog {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, GameConfig.getInt("log.buffer", 4096)));
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    // Argument kinds, 2 bits per argument
+    private static final int NONE = 0, LONG = 1, DOUBLE = 2, OBJECT = 3;
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // --- Ring buffer (bounded multi-producer, single consumer) ---
+    // sequences[i] == pos: slot free for the producer claiming pos
+    // sequences[i] == pos + 1: record pos published, ready for the writer
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final Level[] levels = new Level[CAPACITY];
+    private static final Channel[] channels = new Channel[CAPACITY];
+    private static final long[] times = new long[CAPACITY];
+    private static final String[] templates = new String[CAPACITY];
+    private static final byte[] kinds = new byte[CAPACITY];
+    private static final long[] args0 = new long[CAPACITY];
+    private static final long[] args1 = new long[CAPACITY];
+    private static final Object[] objects0 = new Object[CAPACITY];
+    private static final Object[] objects1 = new Object[CAPACITY];
+
+    private static final AtomicLong tail = new AtomicLong();
+    private static long head = 0; // Writer thread only
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile boolean writerIdle = false;
+    private static final Thread writer;
+
+    // Private constructor to prevent instantiation of utility class
+    private GameLog() {}
+
+    /**
+     * Logger of one subsystem. Its level is fixed when it is created.
+     */
+    public static final class Channel {
+        private final String name;
+        private final Level minLevel;
+
+        private Channel(String name, Level minLevel) {
+            this.name = name;
+            this.minLevel = minLevel;
+        }
+
+        public boolean isEnabled(Level level) {
+            return level.compareTo(minLevel) >= 0;
+        }
+
+        public void debug(String message) { log(Level.DEBUG, message, NONE, 0, 0, null, null); }
+        public void debug(String template, long a) { log(Level.DEBUG, template, LONG, a, 0, null, null); }
+        public void debug(String template, Object a) { log(Level.DEBUG, template, OBJECT, 0, 0, a, null); }
+
+        public void info(String message) { log(Level.INFO, message, NONE, 0, 0, null, null); }
+        public void info(String template, long a) { log(Level.INFO, template, LONG, a, 0, null, null); }
+        public void info(String template, Object a) { log(Level.INFO, template, OBJECT, 0, 0, a, null); }
+        public void info(String template, long a, long b) { log(Level.INFO, template, LONG | LONG << 2, a, b, null, null); }
+        public void info(String template, Object a, long b) { log(Level.INFO, template, OBJECT | LONG << 2, 0, b, a, null); }
+        public void info(String template, Object a, Object b) {
+            log(Level.INFO, template, OBJECT | OBJECT << 2, 0, 0, a, b);
+        }
+        public void info(String template, long a, double b) {
+            log(Level.INFO, template, LONG | DOUBLE << 2, a, Double.doubleToRawLongBits(b), null, null);
+        }
+
+        public void warn(String message) { log(Level.WARN, message, NONE, 0, 0, null, null); }
+        public void warn(String template, long a) { log(Level.WARN, template, LONG, a, 0, null, null); }
+        public void warn(String template, Object a) { log(Level.WARN, template, OBJECT, 0, 0, a, null); }
+
+        public void error(String message) { log(Level.ERROR, message, NONE, 0, 0, null, null); }
+        public void error(String template, Object a) { log(Level.ERROR, template, OBJECT, 0, 0, a, null); }
+        public void error(String template, Object a, Object b) {
+            log(Level.ERROR, template, OBJECT | OBJECT << 2, 0, 0, a, b);
+        }
+
+        private void log(Level level, String template, int argKinds, long a, long b, Object oa, Object ob) {
+            if (isEnabled(level)) enqueue(this, level, template, argKinds, a, b, oa, ob);
+        }
+    }
+
+    /**
+     * Creates the channel of a subsystem (log.&lt;name&gt; overrides log.level).
+     */
+    public static Channel channel(String name) {
+        Level global = parse(GameConfig.get("log.level", "info"), Level.INFO);
+        return new Channel(name, parse(GameConfig.get("log." + name, ""), global));
+    }
+
+    /**
+     * Writes everything logged so far on the calling thread. For shutdown hooks, which may
+     * run after the writer's own final drain.
+     */
+    public static void flush() {
+        drainAndFlush();
+    }
+
+    /**
+     * Records dropped so far because the ring was full.
+     */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    private static Level parse(String text, Level fallback) {
+        try {
+            return text.isEmpty() ? fallback : Level.valueOf(text.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // --- Producer side ---
+
+    private static void enqueue(Channel channel, Level level, String template, int argKinds,
+                                long a, long b, Object oa, Object ob) {
+        long pos = tail.get();
+        while (true) {
+            long diff = sequences.get((int) pos & MASK) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) break;
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.incrementAndGet(); // Full: the writer is behind
+                return;
+            } else {
+                pos = tail.get(); // Another producer took this slot
+            }
+        }
+
+        int i = (int) pos & MASK;
+        levels[i] = level;
+        channels[i] = channel;
+        times[i] = System.currentTimeMillis();
+        templates[i] = template;
+        kinds[i] = (byte) argKinds;
+        args0[i] = a;
+        args1[i] = b;
+        objects0[i] = oa;
+        objects1[i] = ob;
+        sequences.set(i, pos + 1); // Publish
+
+        if (writerIdle) LockSupport.unpark(writer);
+    }
+
+    // --- Writer thread ---
+
+    // Lines of one drain, printed with a single call per stream
+    private static final StringBuilder out = new StringBuilder(1 << 12);
+    private static final StringBuilder err = new StringBuilder(1 << 12);
+    private static final StringBuilder line = new StringBuilder(256);
+    private static long reportedDrops = 0;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) sequences.set(i, i);
+        writer = new Thread(GameLog::run, "game-log");
+        writer.setDaemon(true);
+        writer.setPriority(Thread.NORM_PRIORITY - 1); // Below the game thread
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameLog::drainAndFlush, "game-log-shutdown"));
+    }
+
+    private static void run() {
+        while (true) {
+            if (drainAndFlush()) continue;
+
+            writerIdle = true;
+            if (!hasPending()) LockSupport.parkNanos(IDLE_PARK_NANOS);
+            writerIdle = false;
+        }
+    }
+
+    private static boolean hasPending() {
+        return sequences.get((int) head & MASK) == head + 1;
+    }
+
+    /**
+     * Writes everything published so far.
+     * @return true if there was anything to write.
+     */
+    private static synchronized boolean drainAndFlush() {
+        boolean wrote = false;
+        while (hasPending()) {
+            int i = (int) head & MASK;
+            Level level = levels[i];
+            format(i);
+            channels[i] = null;
+            templates[i] = null;
+            objects0[i] = null;
+            objects1[i] = null;
+            sequences.set(i, head + CAPACITY); // Free the slot
+            head++;
+
+            (level.compareTo(Level.WARN) >= 0 ? err : out).append(line);
+            wrote = true;
+        }
+
+        long drops = dropped.get();
+        if (drops != reportedDrops) {
+            err.append("⚠️ ").append(drops - reportedDrops).append(" log records dropped\n");
+            reportedDrops = drops;
+            GameMetrics.set("log.dropped", drops);
+        }
+
+        print(System.out, out);
+        print(System.err, err);
+        return wrote;
+    }
+
+    private static void print(PrintStream stream, StringBuilder text) {
+        if (text.length() == 0) return;
+        stream.print(text);
+        stream.flush();
+        text.setLength(0);
+    }
+
+    /**
+     * "12:34:56.789 INFO  duck      message" into the line buffer, placeholders filled in.
+     */
+    private static void format(int i) {
+        line.setLength(0);
+        TIME.formatTo(Instant.ofEpochMilli(times[i]), line);
+        line.append(' ').append(levels[i].name());
+        for (int pad = levels[i].name().length(); pad < 6; pad++) line.append(' ');
+        String name = channels[i].name;
+        line.append(name);
+        for (int pad = name.length(); pad < 10; pad++) line.append(' ');
+
+        String template = templates[i];
+        int arg = 0;
+        int from = 0;
+        int at;
+        while (arg < 2 && (at = template.indexOf("{}", from)) >= 0) {
+            line.append(template, from, at);
+            appendArg(i, arg++);
+            from = at + 2;
+        }
+        line.append(template, from, template.length()).append('\n');
+    }
+
+    private static void appendArg(int i, int arg) {
+        int kind = (kinds[i] >> (arg * 2)) & 3;
+        long raw = arg == 0 ? args0[i] : args1[i];
+        switch (kind) {
+            case LONG:
+                line.append(raw);
+                break;
+            case DOUBLE:
+                line.append(String.format(Locale.ROOT, "%.2f", Double.longBitsToDouble(raw)));
+                break;
+            case OBJECT:
+                line.append(arg == 0 ? objects0[i] : objects1[i]);
+                break;
+            default:
+                line.append("{}");
+        }
+    }
+}
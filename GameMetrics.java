@@ -0,0 +1,68 @@
+package com.game;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central place where subsystems report runtime numbers and notable events
+ * (quality tier changes, frame pacing, dropped frames, latency, ...).
+ * Gauges are plain named longs; events are logged once and kept in a short history.
+ */
+public class GameMetrics {
+
+    private static final int MAX_EVENTS = 100;
+    private static final GameLog.Channel log = GameLog.channel("metrics");
+
+    private static final Map<String, Long> gauges = new ConcurrentHashMap<>();
+    private static final Deque<String> events = new ArrayDeque<>();
+
+    // Private constructor to prevent instantiation of utility class
+    private GameMetrics() {}
+
+    /**
+     * Sets a gauge to an absolute value.
+     */
+    public static void set(String name, long value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Adds to a counter (creating it at 0).
+     */
+    public static void add(String name, long delta) {
+        gauges.merge(name, delta, Long::sum);
+    }
+
+    public static long get(String name) {
+        Long value = gauges.get(name);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Records a notable event and logs it.
+     */
+    public static void event(String message) {
+        log.info("📈 {}", message);
+        synchronized (events) {
+            if (events.size() == MAX_EVENTS) events.removeFirst();
+            events.addLast(System.currentTimeMillis() + " " + message);
+        }
+    }
+
+    /**
+     * All gauges (sorted by name) followed by the recent events, one per line.
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> e : new TreeMap<>(gauges).entrySet()) {
+            sb.append(e.getKey()).append(" = ").append(e.getValue()).append('\n');
+        }
+        synchronized (events) {
+            for (String event : events) sb.append(event).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -19,6 +19,7 @@ public class GameOverScreen {
     
     private final GamePanel gp;
     private final int finalScore;
+    private final long endedAt; // Timestamp of this game in the table and the all-time index
     
     // --- Screen States ---
     // STATE_HIGH_SCORE_DISPLAY: Shows the list of top scores.
@@ -38,6 +39,9 @@ public class GameOverScreen {
     private boolean isNewHighScore = false;
     private int newScorePosition = -1;
     
+    // --- All-time Leaderboard ---
+    private volatile HighScoreManager.GlobalRank globalRank; // Set once the score is ranked (maybe by another thread)
+    
     // --- Initials Entry Logic ---
     private final char[] initials = {'A', 'A', 'A'};
     private int currentInitialIndex = 0;
@@ -61,6 +65,7 @@ public class GameOverScreen {
     public GameOverScreen(GamePanel gp, int finalScore) {
         this.gp = gp;
         this.finalScore = finalScore;
+        this.endedAt = System.currentTimeMillis();
         
         loadResources();
         
@@ -70,21 +75,22 @@ public class GameOverScreen {
             newScorePosition = HighScoreManager.getScoreRank(finalScore);
         }
         
-        // Load current list to display
+        // Load current list to display (draw only reads it: bands may paint in parallel)
         highScores = HighScoreManager.loadHighScores();
         
+        // Scores that don't make the table have no initials to wait for: post them now
+        if (!isNewHighScore) {
+            postGlobalScore("???");
+        }
+        
         // Auto-transition to name entry if it's a high score
         if (isNewHighScore) {
-            new Thread(() -> {
-                try {
-                    Thread.sleep(2000); // Wait 2 seconds before allowing entry
-                    if (currentState == STATE_HIGH_SCORE_DISPLAY) {
-                        currentState = STATE_ENTER_INITIALS;
-                    }
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+            // Wait 2 seconds before allowing entry
+            gp.timers.scheduleMillis(2000, () -> {
+                if (currentState == STATE_HIGH_SCORE_DISPLAY) {
+                    currentState = STATE_ENTER_INITIALS;
                 }
-            }).start();
+            });
         }
     }
     
@@ -115,7 +121,7 @@ public class GameOverScreen {
      * Updates blinking cursors or menu items.
      */
     public void update() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.now();
 
         if (currentState == STATE_ENTER_INITIALS) {
             // Blink cursor for initials entry
@@ -214,9 +220,6 @@ public class GameOverScreen {
         g2.setFont(arcadeFont.deriveFont(20f));
         int lineHeight = 50;
         
-        // Refresh list if needed (though usually loaded in constructor)
-        if (highScores == null) highScores = HighScoreManager.loadHighScores();
-        
         for (int i = 0; i < Math.min(highScores.size(), 6); i++) {
             HighScoreEntry entry = highScores.get(i);
             int y = startY + i * lineHeight;
@@ -247,7 +250,7 @@ public class GameOverScreen {
         String prompt = "ENTER YOUR INITIALS";
         int width = g2.getFontMetrics().stringWidth(prompt);
         
-        if ((System.currentTimeMillis() / 300) % 2 == 0) {
+        if ((GameClock.now() / 300) % 2 == 0) {
             g2.setColor(Color.YELLOW);
             g2.drawString(prompt, centerX - width / 2, y);
         }
@@ -266,7 +269,7 @@ public class GameOverScreen {
     private void drawContinuePrompt(Graphics2D g2, int centerX, int y) {
         g2.setFont(arcadeFont.deriveFont(16f));
         String msg = "PRESS ENTER TO CONTINUE";
-        if ((System.currentTimeMillis() / 500) % 2 == 0) {
+        if ((GameClock.now() / 500) % 2 == 0) {
             g2.setColor(Color.GRAY);
             g2.drawString(msg, centerX - g2.getFontMetrics().stringWidth(msg) / 2, y);
         }
@@ -290,7 +293,7 @@ public class GameOverScreen {
         String restartText = "RESTART GAME";
         int w = g2.getFontMetrics().stringWidth(restartText);
         if (menuSelection == 0) {
-            if ((System.currentTimeMillis() / 300) % 2 == 0) {
+            if ((GameClock.now() / 300) % 2 == 0) {
                 g2.setColor(Color.YELLOW);
                 g2.drawString("> " + restartText + " <", centerX - w / 2 - 40, startY);
             }
@@ -305,7 +308,7 @@ public class GameOverScreen {
         String quitText = "QUIT GAME";
         w = g2.getFontMetrics().stringWidth(quitText);
         if (menuSelection == 1) {
-            if ((System.currentTimeMillis() / 300) % 2 == 0) {
+            if ((GameClock.now() / 300) % 2 == 0) {
                 g2.setColor(Color.YELLOW);
                 g2.drawString("> " + quitText + " <", centerX - w / 2 - 40, startY);
             }
@@ -313,6 +316,39 @@ public class GameOverScreen {
             g2.setColor(Color.WHITE);
             g2.drawString(quitText, centerX - w / 2, startY);
         }
+        
+        drawGlobalRank(g2, centerX, startY + 100);
+    }
+    
+    /**
+     * Adds this game to the all-time leaderboard (fetching the neighbouring ranks) and, when
+     * initials were entered, to the player's lifetime statistics.
+     */
+    private void postGlobalScore(String name) {
+        PlayerStats.get().record(name, gp.session, endedAt);
+        HighScoreManager.postScore(name, finalScore, endedAt, ranked -> globalRank = ranked);
+    }
+    
+    /**
+     * Draws the global rank and the scores just above and below it.
+     */
+    private void drawGlobalRank(Graphics2D g2, int centerX, int y) {
+        HighScoreManager.GlobalRank ranked = globalRank;
+        if (ranked == null) return;
+        
+        g2.setFont(arcadeFont.deriveFont(18f));
+        g2.setColor(Color.YELLOW);
+        String rankText = String.format("GLOBAL RANK #%,d OF %,d", ranked.rank, ranked.count);
+        g2.drawString(rankText, centerX - g2.getFontMetrics().stringWidth(rankText) / 2, y);
+        
+        g2.setFont(arcadeFont.deriveFont(14f));
+        for (int i = 0; i < ranked.neighbours.size(); i++) {
+            long rank = ranked.fromRank + i;
+            HighScoreEntry entry = ranked.neighbours.get(i);
+            g2.setColor(rank == ranked.rank ? Color.GREEN : Color.GRAY);
+            String line = String.format("#%,d  %3s  %06d", rank, entry.getInitials(), entry.getScore());
+            g2.drawString(line, centerX - g2.getFontMetrics().stringWidth(line) / 2, y + 40 + i * 28);
+        }
     }
     
     // --- Input Handling ---
@@ -357,8 +393,9 @@ public class GameOverScreen {
                 break;
             case KeyEvent.VK_ENTER:
                 // Save Score and Transition
-                HighScoreManager.addHighScore(new String(initials), finalScore);
+                HighScoreManager.addHighScore(new String(initials), finalScore, endedAt);
                 highScores = HighScoreManager.loadHighScores(); // Refresh list
+                postGlobalScore(new String(initials));
                 currentState = STATE_FINAL_MENU;
                 SoundEffects.playSound("hammer");
                 break;
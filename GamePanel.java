@@ -1,8 +1,13 @@
 package com.game;
 
 import java.awt.*;
+import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.function.Consumer;
 import javax.swing.JPanel;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
 
 /**
  * The main game container.
@@ -11,6 +16,8 @@ import javax.swing.JPanel;
  */
 public class GamePanel extends JPanel implements Runnable {
 
+    private static final GameLog.Channel log = GameLog.channel("game");
+
     // --- Screen Settings ---
     public final int screenWidth;
     public final int screenHeight;
@@ -23,6 +30,8 @@ public class GamePanel extends JPanel implements Runnable {
     public static final int GAME_AREA_HEIGHT = 848;
 
     private static final int FPS = 30; // Target Frames Per Second
+    private static final int MAX_CATCHUP_TICKS = 5; // Paced loop: most ticks run before one present
+    private static final double LOCKSTEP_TOLERANCE = 0.005; // Present interval vs tick length, 0.5%
     private Thread gameThread; // Thread for the main game loop
 
     // --- Managers & Entities ---
@@ -41,25 +50,68 @@ public class GamePanel extends JPanel implements Runnable {
     public CutsceneManager cutsceneManager;
     public ScoreManager scoreManager;
     public LevelTransitionManager transitionManager;
+    public final TimerWheel timers = new TimerWheel(); // Delayed actions, advanced once per tick
+    private final LevelPipeline levelPipeline = new LevelPipeline(); // Builds the next level during the transition
+    public PlayerStats.Session session = new PlayerStats.Session(); // This game's counters for PlayerStats
     
     // Utility for drawing debug hitboxes (development only)
     private DebugDrawer debugDrawer;
 
     // --- Game State ---
+    /**
+     * Top-level game states. Each one owns the subsystems it updates and draws;
+     * entering a state switches the actors on or off once (see enterState).
+     */
+    public enum GameState {
+        INTRO,       // Opening cutscene chain
+        PLAYING,     // Felix, Ralph and the ducks are live
+        LEVEL_CLEAR, // Last window fixed: points and jingle, waiting for the destruction to start
+        DESTRUCTION, // Ralph smashes the building under the "LEVEL CLEAR" text
+        SCROLL,      // Building scrolls up to the next level, then the windows are rebuilt
+        CUTSCENE,    // "You fixed it" / victory cutscenes between levels
+        DYING,       // Felix's final death animation
+        GAME_OVER    // High score / initials / restart screen
+    }
+
+    private GameState state = GameState.INTRO;
+    private boolean playStarted = false; // Set when this game first reaches PLAYING (after the intro)
     private GameOverScreen gameOverScreen;
-    private boolean isGameOver = false;
-    private boolean isPlayingDeathAnimation = false;
     private boolean levelThemePlaying = false;
-    
-    // Level Completion State
-    public boolean livelloClear = false; // Triggers "Level Clear" text display
-    private boolean levelLoaded = false; // Safety flag: prevents logic updates until level is built
-    private long tempoClearInizio = 0; // Timer for level clear logic
-    private static final int DURATA_CLEAR_MS = 2000; // Duration to show "Level Clear" text (2 seconds)
 
     // Graphics Resources
-    private BufferedImage backgroundImage; // Cached background image to optimize rendering
+    private BufferedImage backgroundImage; // Cached static layer: black frame, building, border
     private Font arcadeFont; // Custom pixel font
+    
+    // Dirty-rectangle rendering: in steady gameplay only changed areas are repainted
+    private final DirtyRegionTracker dirtyTracker = new DirtyRegionTracker();
+    private boolean wasSteady = false;
+    private static final int SCORE_X = 30;
+    private static final int SCORE_Y = 50;
+
+    // Frame time fed to the QualityGovernor (update on the game thread + paint on the EDT)
+    private volatile long lastUpdateNanos = 0;
+
+    // Pure-Java renderer into an int[] frame (off by default, -Dfelix.render.software=true)
+    private final boolean useSoftwareRenderer = GameConfig.getBoolean("render.software", false);
+    private SoftwareRasterizer softwareRaster;
+
+    // Parallel banded renderer (off by default, -Dfelix.render.bands=N with N > 1)
+    private final int renderBands = useSoftwareRenderer ? 0 : GameConfig.getInt("render.bands", 0);
+    private BandedRenderer bandedRenderer;
+
+    // Accelerated back buffer (on by default, -Dfelix.render.volatile=false to use Swing's own buffer)
+    private final boolean useVolatileBuffer = !useSoftwareRenderer && renderBands <= 1
+            && GameConfig.getBoolean("render.volatile", true);
+    private VolatileImage backBuffer;
+
+    // Built-in gameplay recorder (off unless record.format is set)
+    private final FrameRecorder recorder;
+    private long paintedTick;               // Tick shown by the last paint (EDT)
+    private boolean captureQueued = false;  // A capture of the last paint is queued on the EDT
+    
+    // Paced loop (opt-in, pacing.display=true) presents after Toolkit.sync(); otherwise a frame
+    // counts as presented when paint ends
+    private final boolean displayPaced = !GameClock.isVirtual() && GameConfig.getBoolean("pacing.display", false);
 
     /**
      * Constructor: Initializes the panel, screen size, and game systems.
@@ -72,8 +124,22 @@ public class GamePanel extends JPanel implements Runnable {
         this.setPreferredSize(new Dimension(screenWidth, screenHeight));
         this.setBackground(Color.BLACK);
         this.setDoubleBuffered(true); // Enable double buffering to prevent flickering
+        if (useVolatileBuffer || useSoftwareRenderer || renderBands > 1) {
+            // We present our own buffer; a second Swing buffer would only add a copy
+            this.setDoubleBuffered(false);
+            RepaintManager.currentManager(this).setDoubleBufferingEnabled(false);
+        }
         this.setFocusable(true); // Allow panel to receive key events
         
+        this.recorder = FrameRecorder.fromConfig(screenWidth, screenHeight, FPS);
+        if (recorder != null) {
+            // ESC exits through System.exit: finish the file on the way out
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::stop));
+        }
+        if (InputLatency.isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(InputLatency::export));
+        }
+        
         this.keyH = new KeyHandler();
         this.addKeyListener(keyH);
 
@@ -110,22 +176,46 @@ public class GamePanel extends JPanel implements Runnable {
         // Pre-render static background elements
         generateBackgroundImage();
         
-        // Level 1 is ready immediately
-        this.levelLoaded = true;
+        // The intro cutscene starts with the CutsceneManager
+        enterState(GameState.INTRO);
         
-        System.out.println("🎮 GamePanel initialized.");
+        log.info("🎮 GamePanel initialized.");
     }
 
     /**
-     * Renders static tile elements onto a buffered image to avoid redrawing them every frame.
+     * Renders the static layer (black frame, building strip, game area border) onto a
+     * buffered image. During steady gameplay this is blitted 1:1 under the dirty region
+     * instead of clearing the screen and rescaling the building every frame.
      */
     public void generateBackgroundImage() {
-        if (screenWidth == 0 || screenHeight == 0) return;
+        BufferedImage image = renderBackgroundLayer(tileM::drawBackground);
+        if (image == null) return;
+        
+        backgroundImage = image;
+        dirtyTracker.markFullRepaint();
+    }
+
+    /**
+     * Renders a static layer around the given building strip. Touches no game state,
+     * so LevelPipeline also calls it from its worker thread.
+     * @return The layer, or null while the screen has no size.
+     */
+    private BufferedImage renderBackgroundLayer(Consumer<Graphics2D> building) {
+        if (screenWidth == 0 || screenHeight == 0) return null;
 
-        backgroundImage = new BufferedImage(screenWidth, screenHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = backgroundImage.createGraphics();
-        tileM.draw(g2); 
+        // Opaque: no alpha blending needed when blitting it back
+        BufferedImage image = new BufferedImage(screenWidth, screenHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, screenWidth, screenHeight);
+        
+        g2.clipRect(GAME_AREA_X, GAME_AREA_Y, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
+        building.accept(g2);
+        g2.setClip(null);
+        
+        drawBorder(g2);
         g2.dispose();
+        return image;
     }
 
     /**
@@ -134,6 +224,7 @@ public class GamePanel extends JPanel implements Runnable {
     public void startGameThread() {
         gameThread = new Thread(this);
         gameThread.start();
+        InputLatency.startProbeIfConfigured(this);
     }
 
     /**
@@ -141,6 +232,15 @@ public class GamePanel extends JPanel implements Runnable {
      */
     @Override
     public void run() {
+        if (GameClock.isVirtual()) {
+            runVirtual();
+            return;
+        }
+        if (displayPaced) {
+            runPaced();
+            return;
+        }
+        
         double drawInterval = 1000000000.0 / FPS;
         double delta = 0;
         long lastTime = System.nanoTime();
@@ -148,142 +248,337 @@ public class GamePanel extends JPanel implements Runnable {
 
         while (gameThread != null) {
             currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
+            delta += (currentTime - lastTime) / drawInterval * GameClock.getTimeScale();
             lastTime = currentTime;
 
             if (delta >= 1) {
-                update();
-                repaint();
+                runTick();
                 delta--;
             }
         }
     }
 
     /**
-     * Main logic update method. 
-     * Controls game states: Game Over, Death Animation, Cutscenes, and Gameplay.
+     * Game loop paced to the display: sleeps until the next present slot, runs the ticks
+     * that are due, then paints and flushes synchronously so the present lands on the slot.
+     * When the present interval matches the tick length (60 Hz, 120 Hz ...) one tick runs
+     * per present, so scrolling moves the same distance every frame. Real time still
+     * accumulates: once it is a whole tick ahead (a missed present, or the small rate
+     * difference adding up) an extra tick runs, and a present is skipped when it is a
+     * whole tick behind, so game time never drifts from wall time.
      */
-    public void update() {
-        // 1. Game Over Logic
-        if (isGameOver) {
-            if (gameOverScreen != null) {
-                gameOverScreen.update();
-                handleGameOverInput();
+    private void runPaced() {
+        double tickNanos = 1000000000.0 / FPS;
+        FramePacer pacer = new FramePacer(tickNanos);
+        boolean lockstep = Math.abs(pacer.getPresentInterval() - tickNanos) / tickNanos < LOCKSTEP_TOLERANCE;
+        Runnable present = () -> {
+            RepaintManager.currentManager(this).paintDirtyRegions();
+            Toolkit.getDefaultToolkit().sync();
+            pacer.recordPresent();
+            InputLatency.presented();
+        };
+        
+        double logicTime = System.nanoTime();
+        while (gameThread != null) {
+            pacer.waitForNextPresent();
+            
+            int ticks = 0;
+            long now = System.nanoTime();
+            double scaledTick = tickNanos / GameClock.getTimeScale();
+            if (lockstep && GameClock.getTimeScale() == 1.0) {
+                // One tick per present; the lag is only corrected once it reaches a whole tick
+                logicTime += tickNanos;
+                ticks = 1;
+                if (logicTime - now >= tickNanos) {
+                    logicTime -= tickNanos;
+                    ticks = 0;
+                }
             }
-            return;
-        }
-
-        // 2. Final Death Animation (Player loses last life)
-        if (isPlayingDeathAnimation) {
-            player.update();
-            duck.setActive(false);
-
-            if (player.isFinalDeathAnimationComplete()) {
-                isPlayingDeathAnimation = false;
-                isGameOver = true;
-                gameOverScreen = new GameOverScreen(this, scoreManager.getScore());
-                ralph.setActive(false);
+            while (now - logicTime >= scaledTick && ticks < MAX_CATCHUP_TICKS) {
+                logicTime += scaledTick;
+                ticks++;
             }
-            return;
-        }
-
-        // 3. Check if Player Died
-        if (player.finalDeath && !isPlayingDeathAnimation && !isGameOver) {
-            isPlayingDeathAnimation = true;
-            player.setActive(true);
-            ralph.setActive(false);
-            duck.setActive(false);
-            return;
-        }
-
-        // 4. Handle Main Cutscenes (Intro, Victory, You Fixed It)
-        if (cutsceneManager.isAnyCutsceneActive()) {
-            cutsceneManager.update();
-            player.setActive(false);
-            ralph.setActive(false);
-            duck.setActive(false);
-            return;
-        } 
-        
-        // 5. Handle Gameplay Transitions (Destruction / Scrolling)
-        else if (tileM.isCutsceneActive() || tileM.livelloInTransizione) {
-            player.setActive(false);
+            // Far behind (debugger, system hiccup): skip the backlog instead of fast-forwarding
+            if (ticks == MAX_CATCHUP_TICKS) logicTime = now;
+            if (ticks == 0) continue; // Nothing new to show: don't burn a frame
             
-            // Clear bricks instantly to prevent unfair hits during transitions
-            if (ralph != null) ralph.cleanup(); 
-            ralph.setActive(false);
+            for (int i = 0; i < ticks; i++) {
+                runTick();
+            }
             
-            duck.setActive(false);
-        }
-        else {
-            // Normal Gameplay: Active
-            if (!player.isEating()) player.setActive(true);
-            if (player.isEating()){
-                 player.update();
-                 tileM.pie.update();
-                 duck.setActive(false);
-                 return;
+            try {
+                SwingUtilities.invokeAndWait(present);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (java.lang.reflect.InvocationTargetException e) {
+                log.error("❌ Frame present failed: {}", e.getCause());
             }
-            ralph.setActive(true);
-            if (!isPlayingDeathAnimation) duck.setActive(true);
         }
+    }
 
-        // 6. Music Management
-        if (!levelThemePlaying && !livelloClear) { 
-            SoundEffects.playSoundLoop("level_theme"); 
-            levelThemePlaying = true; 
+    /**
+     * Virtual-clock loop for headless runs: ticks back to back without waiting for real time.
+     */
+    private void runVirtual() {
+        while (gameThread != null) {
+            runTick();
+            Thread.yield();
         }
+    }
 
-        // 7. Core Updates (Map, Player, Enemies)
-        tileM.update();
+    /**
+     * One game tick: update (timed for the quality governor), then queue the repaint.
+     */
+    private void runTick() {
+        long updateStart = System.nanoTime();
+        update();
+        lastUpdateNanos = System.nanoTime() - updateStart;
+        InputLatency.tickFinished();
+        requestRepaint();
+    }
+
+    /**
+     * Asks Swing to repaint what changed this tick.
+     * Steady gameplay repaints only the union of dirty regions; everything else
+     * (cutscenes, scrolling, level clear, game over) repaints the full screen.
+     */
+    private void requestRepaint() {
+        boolean steady = isSteadyGameplay();
         
-        // Only update entities if NOT in a transition state
-        if (!tileM.isCutsceneActive() && !tileM.livelloInTransizione) {
-            player.update();
-            ralph.update();
-            duck.update();
+        if (!steady || !wasSteady) {
+            // Entering steady gameplay needs one full frame to wipe whatever the previous state drew
+            dirtyTracker.markFullRepaint();
+        } else {
+            player.markDirty(dirtyTracker);
+            ralph.markDirty(dirtyTracker);
+            duck.markDirty(dirtyTracker);
+            tileM.markDirty(dirtyTracker);
+            scoreManager.markDirty(dirtyTracker, SCORE_X, SCORE_Y);
         }
+        
+        wasSteady = steady;
+        dirtyTracker.flush(this);
+    }
 
-        checkLevelState();
+    /**
+     * True while only actors move over an unchanged building (no cutscene, scroll or overlay text).
+     */
+    private boolean isSteadyGameplay() {
+        return state == GameState.PLAYING && !GameClock.isPaused();
     }
-    
+
+    public GameState getState() {
+        return state;
+    }
+
     /**
-     * Checks if the level is complete, rebuilding, or transitioning.
-     */
-    private void checkLevelState() {
-        // 1. Handle Rebuild (If scroll just finished)
-        // This generates the new windows for the next level
-        if (tileM.attivaRicostruzione) {
-            tileM.setAnimazioneFinestre(tileM.livelloCompletatoManager.rebuildStage());
-            tileM.attivaRicostruzione = false;
-            tileM.resetTimer();
-            generateBackgroundImage();
-            this.levelLoaded = true; // Mark level as fully loaded
-            livelloClear = false; // Hide "Level Clear" text
-            return; 
+     * Switches state and runs its entry actions (actors on/off, screens, sounds).
+     * Actors are switched here once per transition, not re-asserted every tick.
+     */
+    private void enterState(GameState next) {
+        state = next;
+        switch (next) {
+            case INTRO:
+            case CUTSCENE:
+                player.setActive(false);
+                ralph.setActive(false);
+                duck.setActive(false);
+                break;
+
+            case PLAYING:
+                player.setActive(true);
+                ralph.setActive(true);
+                duck.setActive(true);
+                if (!playStarted) {
+                    playStarted = true;
+                    EventLog.gameStarted(); // Game time starts here, not with the intro
+                }
+                break;
+
+            case LEVEL_CLEAR:
+                startLevelClearSequence();
+                prepareNextLevel();
+                stopActorsForTransition();
+                break;
+
+            case DESTRUCTION:
+            case SCROLL:
+                stopActorsForTransition();
+                break;
+
+            case DYING:
+                player.setActive(true);
+                ralph.setActive(false);
+                duck.setActive(false);
+                break;
+
+            case GAME_OVER:
+                gameOverScreen = new GameOverScreen(this, scoreManager.getScore());
+                EventLog.record(EventLog.GAME_OVER, 0, 0, 0, scoreManager.getScore());
+                ralph.setActive(false);
+                break;
         }
+    }
+
+    /**
+     * Stops every actor between levels.
+     */
+    private void stopActorsForTransition() {
+        player.setActive(false);
+        // Clear bricks instantly to prevent unfair hits during transitions
+        ralph.cleanup();
+        ralph.setActive(false);
+        duck.setActive(false);
+    }
+
+    /**
+     * Where play continues once a cutscene is over: a pending scroll, or gameplay.
+     */
+    private GameState resumeState() {
+        if (cutsceneManager.isAnyCutsceneActive()) return GameState.CUTSCENE;
+        if (tileM.livelloInTransizione) return GameState.SCROLL;
+        return GameState.PLAYING;
+    }
+
+    /**
+     * Main logic update method. 
+     * Runs the per-tick systems, then only the subsystems owned by the current state.
+     */
+    public void update() {
+        // Drain the input received since the last tick (also while paused)
+        keyH.poll();
+        if (keyH.wasPressed(KeyEvent.VK_P)) GameClock.togglePause();
         
-        // 2. DETECT WIN (Place this BEFORE the transition checks!)
-        // This ensures "livelloClear" becomes true so the text draws, 
-        // even if the cutscene starts immediately after.
-        int remaining = getRemainingWindows();
-        if (!livelloClear && remaining == 0 && tileM.getAnimazioneFinestre() != null && tileM.getAnimazioneFinestre().length > 0) {
-            startLevelClearSequence();
+        // Advance game time by one tick; while paused nothing else runs
+        GameClock.tick();
+        if (GameClock.isPaused()) return;
+        timers.advance();
+        
+        // Per-tick visual timers (kept out of draw so rendering has no side effects)
+        player.updateBlink();
+        scoreManager.update();
+
+        switch (state) {
+            case INTRO:
+            case CUTSCENE:
+                cutsceneManager.update();
+                if (!cutsceneManager.isAnyCutsceneActive()) enterState(resumeState());
+                break;
+
+            case PLAYING:
+                updatePlaying();
+                break;
+
+            case LEVEL_CLEAR:
+            case DESTRUCTION:
+                tileM.update();
+                if (state == GameState.LEVEL_CLEAR && tileM.isCutsceneActive()) {
+                    enterState(GameState.DESTRUCTION);
+                }
+                if (tileM.isDestructionFinished()) {
+                    tileM.resetTimer();
+                    advanceToNextLevel();
+                }
+                break;
+
+            case SCROLL:
+                tileM.update();
+                if (tileM.attivaRicostruzione) {
+                    rebuildLevel();
+                }
+                break;
+
+            case DYING:
+                player.update();
+                if (player.isFinalDeathAnimationComplete()) {
+                    enterState(GameState.GAME_OVER);
+                }
+                break;
+
+            case GAME_OVER:
+                if (gameOverScreen != null) {
+                    gameOverScreen.update();
+                    handleGameOverInput();
+                }
+                break;
         }
+    }
 
-        // 3. Handle Level Advance (After Destruction Animation finishes)
-        if (tileM.isDestructionFinished()) {
-            tileM.resetTimer(); 
-            advanceToNextLevel();
+    /**
+     * Normal gameplay tick: map, Felix, Ralph and the ducks, then the win check.
+     */
+    private void updatePlaying() {
+        if (player.finalDeath) {
+            enterState(GameState.DYING);
             return;
         }
 
-        // 4. Guard Clause (Prevents Infinite Loop)
-        // Now that we've checked the win condition above, we can safely return 
-        // if we are busy destroying or scrolling.
-        if (tileM.livelloInTransizione || tileM.isCutsceneActive()) {
+        // Felix eating a pie freezes everything else; the ducks fly off
+        if (player.isEating()) {
+            if (duck.isActive()) duck.setActive(false);
+            player.update();
+            tileM.pie.update();
             return;
         }
+        if (!duck.isActive()) duck.setActive(true);
+
+        // Music Management
+        if (!levelThemePlaying) {
+            SoundEffects.playSoundLoop("level_theme");
+            levelThemePlaying = true;
+        }
+
+        tileM.update();
+        player.update();
+        ralph.update();
+        duck.update();
+
+        // Fixing the last window starts TileManager's destruction cutscene
+        int remaining = getRemainingWindows();
+        cutsceneManager.updatePrefetch(livelloN.getNumeroLivello(), remaining);
+        if (remaining == 0 && tileM.getFinestre().size() > 0) {
+            enterState(GameState.LEVEL_CLEAR);
+        }
+    }
+
+    /**
+     * Starts building the next level in the background (layout, windows, static layer,
+     * difficulty) while the destruction cutscene and the scroll play.
+     */
+    private void prepareNextLevel() {
+        TileManager tiles = tileM;
+        int backgroundY = tiles.getNextLevelBackgroundY();
+        levelPipeline.prepare(livelloN.getNumeroLivello() + 1, tiles.livelloCompletatoManager,
+                tiles.getFinestreProssime(), backgroundY,
+                () -> renderBackgroundLayer(g2 -> tiles.drawBackground(g2, backgroundY)));
+    }
+
+    /**
+     * Scroll finished: swaps in the level prepared by the LevelPipeline and resumes play.
+     * Everything the new level needs is already built, so this tick only moves references.
+     */
+    private void rebuildLevel() {
+        TileManager tiles = tileM;
+        LevelPipeline.PreparedLevel next = levelPipeline.take(livelloN.getNumeroLivello(),
+                tiles.livelloCompletatoManager, tiles.getFinestreProssime(), tiles.getBackgroundY(),
+                () -> renderBackgroundLayer(tiles::drawBackground));
+        
+        tileM.swapStage(next.layout, next.windows);
+        tileM.attivaRicostruzione = false;
+        tileM.resetTimer();
+        ralph.applyDifficulty(next.ralphDifficulty);
+        duck.setLevel(next.duckDifficulty);
+        session.levelReached(next.level);
+        EventLog.levelStarted(next.level);
+        
+        if (next.background != null && next.backgroundY == tileM.getBackgroundY()) {
+            backgroundImage = next.background;
+            dirtyTracker.markFullRepaint();
+        } else {
+            generateBackgroundImage(); // Building ended somewhere else than predicted
+        }
+        enterState(GameState.PLAYING);
     }
     
     private int getRemainingWindows() {
@@ -297,7 +592,6 @@ public class GamePanel extends JPanel implements Runnable {
      * Triggers the "Level Clear" sequence (Text + Sound + Score).
      */
     private void startLevelClearSequence() {
-        livelloClear = true;
         // Note: TileManager starts the visual destruction immediately.
         // We play the sound and show the text here.
         scoreManager.addPoints(livelloN.getNumeroLivello() * 1000);
@@ -311,10 +605,6 @@ public class GamePanel extends JPanel implements Runnable {
      * Advances the game logic to the next level.
      */
     private void advanceToNextLevel() {
-        livelloClear = false;
-        // Win checks will be ignored until 'attivaRicostruzione' finishes (Step 1).
-        levelLoaded = false; 
-        
         SoundEffects.stopSound("level_completed");
         SoundEffects.playSound("next_level");
 
@@ -323,23 +613,20 @@ public class GamePanel extends JPanel implements Runnable {
         // Increment Level Number
         livelloN.prossimoLivello();
         
-        // Start Visual Scroll
+        // Start Visual Scroll (the new difficulty is applied with the level at the end of it)
         transitionManager.prepareTransition();
         tileM.startScroll();
-        
-        // Update Entity Difficulty
-        ralph.setLevel(livelloN.getNumeroLivello());
-        duck.setLevel(livelloN.getNumeroLivello());
 
-        // Logic: even numbers trigger the "You Fixed It" cutscene
+        SoundEffects.playSoundLoop("level_theme");
+        levelThemePlaying = true;
+
+        // Logic: even numbers trigger the "You Fixed It" cutscene, which plays before the scroll
         if (completedLevel % 2 == 0) {
-            SoundEffects.playSoundLoop("level_theme");
-            levelThemePlaying = true;
             cutsceneManager.startYouFixedItCutscene();
+            enterState(GameState.CUTSCENE);
         } else {
             // Odd Levels (1->2, 3->4): Start gameplay immediately after scroll
-            SoundEffects.playSoundLoop("level_theme");
-            levelThemePlaying = true;
+            enterState(GameState.SCROLL);
         }
     }
 
@@ -349,12 +636,13 @@ public class GamePanel extends JPanel implements Runnable {
     private void handleGameOverInput() {
         if (gameOverScreen == null) return;
         
-        if (keyH.upPressed) gameOverScreen.handleKeyPress(java.awt.event.KeyEvent.VK_UP);
-        if (keyH.downPressed) gameOverScreen.handleKeyPress(java.awt.event.KeyEvent.VK_DOWN);
-        if (keyH.leftPressed) gameOverScreen.handleKeyPress(java.awt.event.KeyEvent.VK_LEFT);
-        if (keyH.rightPressed) gameOverScreen.handleKeyPress(java.awt.event.KeyEvent.VK_RIGHT);
-        if (keyH.enterPressed) {
-            gameOverScreen.handleKeyPress(java.awt.event.KeyEvent.VK_ENTER);
+        // Menu navigation reacts to key presses, not to keys being held
+        if (keyH.wasPressed(KeyEvent.VK_UP)) gameOverScreen.handleKeyPress(KeyEvent.VK_UP);
+        if (keyH.wasPressed(KeyEvent.VK_DOWN)) gameOverScreen.handleKeyPress(KeyEvent.VK_DOWN);
+        if (keyH.wasPressed(KeyEvent.VK_LEFT)) gameOverScreen.handleKeyPress(KeyEvent.VK_LEFT);
+        if (keyH.wasPressed(KeyEvent.VK_RIGHT)) gameOverScreen.handleKeyPress(KeyEvent.VK_RIGHT);
+        if (keyH.wasPressed(KeyEvent.VK_ENTER)) {
+            gameOverScreen.handleKeyPress(KeyEvent.VK_ENTER);
             
             if (gameOverScreen.shouldRestartGame()) {
                 restartGame();
@@ -362,31 +650,24 @@ public class GamePanel extends JPanel implements Runnable {
                 System.exit(0);
             }
         }
-        
-        // Reset keys to prevent rapid firing
-        keyH.upPressed = false;
-        keyH.downPressed = false;
-        keyH.leftPressed = false;
-        keyH.rightPressed = false;
-        keyH.enterPressed = false;
     }
 
     /**
      * Resets the entire game state to start over.
      */
     private void restartGame() {
-        System.out.println("🔄 Restarting Game...");
+        log.info("🔄 Restarting Game...");
         SoundEffects.stopSound("level_theme");
         SoundEffects.stopSound("level_completed");
+        timers.cancelAll();
+        levelPipeline.cancel();
 
-        isGameOver = false;
-        isPlayingDeathAnimation = false;
         gameOverScreen = null;
         levelThemePlaying = false;
-        livelloClear = false;
 
         scoreManager.reset();
         livelloN = new LivelloN(1);
+        session = new PlayerStats.Session();
         
         // Cleanup entities
         if (ralph != null) ralph.cleanup();
@@ -407,64 +688,222 @@ public class GamePanel extends JPanel implements Runnable {
 
         generateBackgroundImage();
         
-        //Unlock Level 1 so it's playable
-        this.levelLoaded = true;
-        System.out.println("✅ Game Restarted.");
+        // Level 1 is playable right away
+        playStarted = false;
+        enterState(GameState.PLAYING);
+        log.info("✅ Game Restarted.");
     }
 
     /**
      * Standard Java Swing paint component.
-     * Draws all game elements to the screen.
+     * Draws all game elements to the screen, either directly or through the
+     * accelerated back buffer (see renderToBackBuffer).
      */
     @Override
     public void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        long paintStart = System.nanoTime();
+        InputLatency.renderStarted();
+        
+        // During steady gameplay the clip is usually just the dirty union;
+        // the cached layer restores black frame, building and border under it.
+        boolean useCachedLayer = backgroundImage != null && isSteadyGameplay();
+        
+        paintFrame(g, useCachedLayer);
+        if (recorder != null) scheduleCapture(useCachedLayer);
+        
+        QualityGovernor.recordFrame(lastUpdateNanos + System.nanoTime() - paintStart);
+        if (!displayPaced) InputLatency.presented();
+    }
+
+    private void paintFrame(Graphics g, boolean useCachedLayer) {
         Graphics2D g2 = (Graphics2D) g;
 
-        // Fill Background Black
-        g2.setColor(Color.BLACK);
-        g2.fillRect(0, 0, screenWidth, screenHeight);
+        if (useSoftwareRenderer) {
+            renderSoftware(g2, useCachedLayer);
+            return;
+        }
+        if (renderBands > 1) {
+            renderBanded(g2, useCachedLayer);
+            return;
+        }
+        if (useVolatileBuffer) {
+            renderToBackBuffer(g2, useCachedLayer);
+            return;
+        }
+
+        if (!useCachedLayer) super.paintComponent(g);
+        renderFrame(g2, useCachedLayer);
+    }
+
+    /**
+     * Hands the frame just painted to the recorder, stamped with the tick it shows.
+     * Our own buffer holds the whole frame even after a dirty-region paint, so it is copied
+     * in a later EDT event: the paced loop is no longer waiting on the present by then, and
+     * a newer paint in between simply replaces it. Painting straight to the screen needs a
+     * full extra render, which has to happen now, while the state matches the paint.
+     */
+    private void scheduleCapture(boolean useCachedLayer) {
+        paintedTick = GameClock.getTickCount();
+        if (presentedFrame() == null) {
+            recorder.capture(paintedTick, g2 -> renderFrame(g2, useCachedLayer));
+        } else if (!captureQueued) {
+            captureQueued = true;
+            SwingUtilities.invokeLater(this::captureFrame);
+        }
+    }
+
+    private void captureFrame() {
+        captureQueued = false;
+        Image presented = presentedFrame();
+        if (presented != null) recorder.capture(paintedTick, g2 -> g2.drawImage(presented, 0, 0, null));
+    }
+
+    /**
+     * Our own buffer holding the last painted frame, or null when painting straight to the screen.
+     */
+    private Image presentedFrame() {
+        if (useSoftwareRenderer && softwareRaster != null) return softwareRaster.getFrame();
+        if (renderBands > 1 && bandedRenderer != null) return bandedRenderer.getFrame();
+        if (useVolatileBuffer) return backBuffer;
+        return null;
+    }
+
+    /**
+     * Renders the frame into a VolatileImage and blits it once.
+     * The back buffer lives in video memory and can be lost at any time (mode switch,
+     * screen lock, driver reset): validate() before drawing and contentsLost() after,
+     * and repeat until a complete frame made it to the screen.
+     */
+    private void renderToBackBuffer(Graphics2D screen, boolean useCachedLayer) {
+        Rectangle clip = screen.getClipBounds();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            renderFrame(screen, useCachedLayer);
+            return;
+        }
+
+        do {
+            boolean fullRedraw = false;
+            int status = (backBuffer == null) ? VolatileImage.IMAGE_INCOMPATIBLE : backBuffer.validate(gc);
+
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE
+                    || backBuffer.getWidth() != getWidth() || backBuffer.getHeight() != getHeight()) {
+                if (backBuffer != null) backBuffer.flush();
+                backBuffer = gc.createCompatibleVolatileImage(Math.max(1, getWidth()), Math.max(1, getHeight()));
+                fullRedraw = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                // Surface came back empty: the dirty region alone is not enough
+                fullRedraw = true;
+            }
+
+            Graphics2D g2 = backBuffer.createGraphics();
+            if (!fullRedraw && clip != null) g2.clip(clip);
+            renderFrame(g2, useCachedLayer);
+            g2.dispose();
+
+            screen.drawImage(backBuffer, 0, 0, null);
+        } while (backBuffer.contentsLost());
+    }
+
+    /**
+     * Renders the frame with the software rasterizer and presents it with a single blit.
+     * The frame persists between paints, so only the dirty region is redrawn into it.
+     */
+    private void renderSoftware(Graphics2D screen, boolean useCachedLayer) {
+        Rectangle clip = screen.getClipBounds();
+        boolean fullRedraw = false;
+
+        if (softwareRaster == null || softwareRaster.getWidth() != getWidth() || softwareRaster.getHeight() != getHeight()) {
+            softwareRaster = new SoftwareRasterizer(Math.max(1, getWidth()), Math.max(1, getHeight()));
+            fullRedraw = true;
+        }
+
+        Graphics2D g2 = softwareRaster.createGraphics();
+        if (!fullRedraw && clip != null) g2.clip(clip);
+        renderFrame(g2, useCachedLayer);
+        g2.dispose();
+
+        screen.drawImage(softwareRaster.getFrame(), 0, 0, null);
+    }
+
+    /**
+     * Renders the frame in horizontal bands across cores, then presents it with a single blit.
+     * Only bands touching the dirty region are redrawn.
+     */
+    private void renderBanded(Graphics2D screen, boolean useCachedLayer) {
+        if (bandedRenderer == null) bandedRenderer = new BandedRenderer(renderBands);
+
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        Rectangle clip = bandedRenderer.needsResize(width, height) ? null : screen.getClipBounds();
+
+        bandedRenderer.render(width, height, clip, g2 -> renderFrame(g2, useCachedLayer));
+        screen.drawImage(bandedRenderer.getFrame(), 0, 0, null);
+    }
+
+    /**
+     * Draws one complete frame (respecting the current clip) onto the given graphics.
+     * Must not change game state: the banded renderer calls it from several threads at once.
+     */
+    private void renderFrame(Graphics2D g2, boolean useCachedLayer) {
+        if (useCachedLayer) {
+            g2.drawImage(backgroundImage, 0, 0, null);
+        } else {
+            // Fill Background Black
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, screenWidth, screenHeight);
+        }
 
         // Clip drawing to the specific game area
+        // (intersect, so a partial repaint region stays respected)
         Shape oldClip = g2.getClip();
-        g2.setClip(GAME_AREA_X, GAME_AREA_Y, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
-
-        if (isGameOver && gameOverScreen != null) {
-            gameOverScreen.draw(g2);
-        } 
-        else if (cutsceneManager.isAnyCutsceneActive()) {
-            cutsceneManager.draw(g2);
-        } 
-        else {
-            // Draw Map & Destruction Cutscene
-            tileM.draw(g2);
-            // Only draw gameplay Ralph if TileManager is NOT running the destruction cutscene
-            ralph.draw(g2);
-            
-            
-            duck.draw(g2);
-            player.draw(g2);
-            
-            //"Level Clear" text only if active and no cutscene blocks it
-            if (livelloClear && levelLoaded && !cutsceneManager.isAnyCutsceneActive() && !tileM.livelloInTransizione) {
-                drawLevelClear(g2);
-            }
+        g2.clipRect(GAME_AREA_X, GAME_AREA_Y, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
+
+        switch (state) {
+            case GAME_OVER:
+                if (gameOverScreen != null) gameOverScreen.draw(g2);
+                break;
+
+            case INTRO:
+            case CUTSCENE:
+                cutsceneManager.draw(g2);
+                break;
+
+            default:
+                // Draw Map & Destruction Cutscene
+                if (useCachedLayer) tileM.drawForeground(g2);
+                else tileM.draw(g2);
+                // Only draw gameplay Ralph if TileManager is NOT running the destruction cutscene
+                ralph.draw(g2);
+                duck.draw(g2);
+                player.draw(g2);
+                
+                if (state == GameState.LEVEL_CLEAR || state == GameState.DESTRUCTION) {
+                    drawLevelClear(g2);
+                }
+                break;
         }
 
         // Restore full screen drawing for UI
         g2.setClip(oldClip);
         
-        // Draw Borders
-        g2.setColor(new Color(40, 40, 40));
-        g2.setStroke(new BasicStroke(4));
-        g2.drawRect(GAME_AREA_X, GAME_AREA_Y, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
+        // Draw Borders (already part of the cached layer)
+        if (!useCachedLayer) drawBorder(g2);
 
         // Draw UI (Score, Timer, Level) if playing
-        if (!isGameOver && !cutsceneManager.isAnyCutsceneActive()) {
-            scoreManager.draw(g2, 30, 50);
+        if (state != GameState.GAME_OVER && state != GameState.INTRO && state != GameState.CUTSCENE) {
+            scoreManager.draw(g2, SCORE_X, SCORE_Y);
             tileM.drawTimer(g2);
             drawLevelIndicator(g2);
         }
+        
+        if (GameClock.isPaused()) drawPaused(g2);
+    }
+
+    private void drawBorder(Graphics2D g2) {
+        g2.setColor(new Color(40, 40, 40));
+        g2.setStroke(new BasicStroke(4));
+        g2.drawRect(GAME_AREA_X, GAME_AREA_Y, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
     }
 
     /**
@@ -508,6 +947,21 @@ public class GamePanel extends JPanel implements Runnable {
         return Color.MAGENTA;
     }
 
+    /**
+     * Draws "PAUSED" in the middle of the game area.
+     */
+    private void drawPaused(Graphics2D g2) {
+        g2.setFont(arcadeFont.deriveFont(36f));
+        String text = "PAUSED";
+        int x = GAME_AREA_X + (GAME_AREA_WIDTH - g2.getFontMetrics().stringWidth(text)) / 2;
+        int y = GAME_AREA_Y + GAME_AREA_HEIGHT / 2;
+        
+        g2.setColor(Color.BLACK);
+        g2.drawString(text, x + 3, y + 3);
+        g2.setColor(Color.WHITE);
+        g2.drawString(text, x, y);
+    }
+
     /**
      * Draws the "LEVEL X CLEAR" text in the center of the screen.
      */
@@ -519,12 +973,16 @@ public class GamePanel extends JPanel implements Runnable {
         int x = 480;
         int y = 400;
 
-        // Shadow effect
+        // Shadow effect (single drop shadow when the quality governor is saving time)
         g2.setColor(Color.BLACK);
-        for (int dx = -2; dx <= 2; dx++) {
-            for (int dy = -2; dy <= 2; dy++) {
-                if (dx != 0 || dy != 0) g2.drawString(text, x + dx, y + dy);
+        if (QualityGovernor.isShadowRingEnabled()) {
+            for (int dx = -2; dx <= 2; dx++) {
+                for (int dy = -2; dy <= 2; dy++) {
+                    if (dx != 0 || dy != 0) g2.drawString(text, x + dx, y + dy);
+                }
             }
+        } else {
+            g2.drawString(text, x + 2, y + 2);
         }
         // Main text
         g2.setColor(Color.YELLOW);
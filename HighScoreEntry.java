@@ -13,13 +13,24 @@ public class HighScoreEntry implements Serializable, Comparable<HighScoreEntry>
     
     private final String initials;
     private final int score;
+    private final long timestamp; // When the game ended (ms), 0 if unknown; absent in older files, read as 0
     
     /**
-     * Creates a new high score entry.
+     * Creates an undated high score entry (default table, legacy scores).
      * @param initials Player's initials (truncated to 3 chars).
      * @param score The score achieved.
      */
     public HighScoreEntry(String initials, int score) {
+        this(initials, score, 0L);
+    }
+    
+    /**
+     * Creates a new high score entry.
+     * @param initials Player's initials (truncated to 3 chars).
+     * @param score The score achieved.
+     * @param timestamp When the game ended (System.currentTimeMillis()).
+     */
+    public HighScoreEntry(String initials, int score, long timestamp) {
         // Ensure initials are max 3 characters
         if (initials != null && initials.length() > 3) {
             this.initials = initials.substring(0, 3);
@@ -27,6 +38,7 @@ public class HighScoreEntry implements Serializable, Comparable<HighScoreEntry>
             this.initials = initials;
         }
         this.score = score;
+        this.timestamp = timestamp;
     }
     
     public String getInitials() {
@@ -37,6 +49,10 @@ public class HighScoreEntry implements Serializable, Comparable<HighScoreEntry>
         return score;
     }
     
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
     /**
      * Compare by score in descending order (Highest first).
      */
@@ -1,19 +1,70 @@
 package com.game;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Manages the persistence of high scores.
  * Handles loading, saving, and migration from legacy file formats.
+ *
+ * With leaderboard.socket set, the cabinets on a host share one table through
+ * LeaderboardService: reads come from the LeaderboardClient's cached copy, submissions
+ * are queued to the service, and the local file is only used while it is unreachable.
  */
 public class HighScoreManager {
     
-    private static final String FILE_PATH = "highscores.dat";
+    static final String FILE_PATH = "highscores.dat";
     private static final String LEGACY_FILE_PATH = "highscore.dat";
-    private static final int MAX_SCORES = 6;
+    static final int MAX_SCORES = 6;
+    private static final GameLog.Channel log = GameLog.channel("highscore");
+    
+    // All-time index of every score posted on this cabinet (opened on first use)
+    private static final int INDEX_CACHE_PAGES = 256;
+    private static LeaderboardIndex globalIndex;
+    private static boolean globalIndexFailed = false;
+    
+    // Opens the index and posts to it: insert + flush + sync never run on the game thread
+    private static final ExecutorService indexWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "leaderboard-index");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1); // Below the game thread
+        return t;
+    });
+    
+    // Shared leaderboard service, null when not configured
+    private static final LeaderboardClient service = LeaderboardClient.fromConfig();
+    
+    /**
+     * Where a posted score landed in the all-time leaderboard.
+     */
+    public static final class GlobalRank {
+        public final long rank;     // 1 = best ever
+        public final long count;    // Scores ever posted
+        public final long fromRank; // Rank of neighbours.get(0)
+        public final List<HighScoreEntry> neighbours; // Scores just above, at and below 'rank'
+        
+        public GlobalRank(long rank, long count, long fromRank, List<HighScoreEntry> neighbours) {
+            this.rank = rank;
+            this.count = count;
+            this.fromRank = fromRank;
+            this.neighbours = neighbours;
+        }
+        
+        /**
+         * Reads the count and the neighbours of a rank from an index.
+         */
+        static GlobalRank of(LeaderboardIndex index, long rank) throws IOException {
+            long from = Math.max(1, rank - 1);
+            return new GlobalRank(rank, index.size(), from, index.range(from, 3));
+        }
+    }
     
     // Private constructor to prevent instantiation of utility class
     private HighScoreManager() {}
@@ -23,8 +74,19 @@ public class HighScoreManager {
      * Attempts to migrate from legacy format if the new format doesn't exist.
      * @return List of high score entries, sorted by score (highest first).
      */
-    @SuppressWarnings("unchecked")
     public static List<HighScoreEntry> loadHighScores() {
+        if (service != null) {
+            List<HighScoreEntry> cached = service.getTop();
+            if (cached != null) return new ArrayList<>(cached);
+        }
+        return loadHighScoresFile();
+    }
+    
+    /**
+     * Reads the table straight from the file (also used by LeaderboardService).
+     */
+    @SuppressWarnings("unchecked")
+    static List<HighScoreEntry> loadHighScoresFile() {
         List<HighScoreEntry> scores = new ArrayList<>();
         
         File file = new File(FILE_PATH);
@@ -60,13 +122,22 @@ public class HighScoreManager {
     /**
      * Saves the high scores to the file.
      * @param scores List of high score entries to save.
+     * @return false if the file could not be written.
      */
-    public static void saveHighScores(List<HighScoreEntry> scores) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(scores);
+    public static boolean saveHighScores(List<HighScoreEntry> scores) {
+        // Write a temporary file and move it over the old one: readers never see half a table
+        File target = new File(FILE_PATH);
+        File temp = new File(FILE_PATH + ".tmp");
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(temp))) {
+                oos.writeObject(new ArrayList<>(scores));
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
         } catch (IOException e) {
             System.err.println("❌ Error saving high scores: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
     
@@ -74,11 +145,31 @@ public class HighScoreManager {
      * Adds a new score to the high score list if it qualifies.
      * @param initials Player's initials (max 3 characters).
      * @param score The score achieved.
+     * @param timestamp When the game ended (the same value is posted to the all-time index).
      * @return The position in the high score list (1-6), or -1 if it didn't qualify.
      */
-    public static int addHighScore(String initials, int score) {
-        List<HighScoreEntry> scores = loadHighScores();
-        HighScoreEntry newEntry = new HighScoreEntry(initials, score);
+    public static int addHighScore(String initials, int score, long timestamp) {
+        if (service != null && service.submitTable(initials, score, timestamp)) {
+            // Queued to the service; the cached table already holds the entry
+            return getPosition(loadHighScores(), initials, score);
+        }
+        return addHighScoreLocally(initials, score, timestamp);
+    }
+    
+    /**
+     * Adds a score to highscores.dat directly. Also used by LeaderboardClient for table
+     * submissions the service never acknowledged, so an entry already in the file (the
+     * service wrote it but the connection dropped before the answer) is not added twice.
+     */
+    static synchronized int addHighScoreLocally(String initials, int score, long timestamp) {
+        List<HighScoreEntry> scores = loadHighScoresFile();
+        for (HighScoreEntry e : scores) {
+            if (e.getScore() == score && e.getTimestamp() == timestamp) {
+                return getPosition(scores, e.getInitials(), score);
+            }
+        }
+        
+        HighScoreEntry newEntry = new HighScoreEntry(initials, score, timestamp);
         
         scores.add(newEntry);
         Collections.sort(scores);
@@ -101,6 +192,17 @@ public class HighScoreManager {
         return position;
     }
     
+    /**
+     * Position (1-6) of an entry in a sorted table, or -1.
+     */
+    private static int getPosition(List<HighScoreEntry> scores, String initials, int score) {
+        for (int i = 0; i < Math.min(scores.size(), MAX_SCORES); i++) {
+            HighScoreEntry e = scores.get(i);
+            if (e.getScore() == score && e.getInitials().equals(initials)) return i + 1;
+        }
+        return -1;
+    }
+    
     /**
      * Checks if a score qualifies for the high score list.
      * @param score The score to check.
@@ -148,7 +250,7 @@ public class HighScoreManager {
      */
     public static void saveHighScore(int score) {
         if (isHighScore(score)) {
-            addHighScore("CPU", score);
+            addHighScore("CPU", score, System.currentTimeMillis());
         }
     }
     
@@ -188,6 +290,57 @@ public class HighScoreManager {
         return rank <= MAX_SCORES ? rank : -1;
     }
     
+    // --- All-time leaderboard ---
+    
+    /**
+     * Records a finished game in the all-time leaderboard index.
+     * The rank always arrives later: through the service on the client's thread, locally on
+     * the index writer thread. Not called at all if the index is unavailable.
+     * @param timestamp When the game ended.
+     * @param onRanked Receives the score's global rank and neighbours.
+     */
+    public static void postScore(String initials, int score, long timestamp, Consumer<GlobalRank> onRanked) {
+        if (service != null) {
+            // The index belongs to the service (single writer): while it is down the post is skipped
+            if (!service.post(initials, score, timestamp, onRanked)) {
+                log.warn("⚠️ Leaderboard service unavailable, score not ranked");
+            }
+            return;
+        }
+        
+        indexWriter.execute(() -> {
+            GlobalRank ranked = postScoreLocally(initials, score, timestamp);
+            if (ranked != null) onRanked.accept(ranked);
+        });
+    }
+    
+    private static synchronized GlobalRank postScoreLocally(String initials, int score, long timestamp) {
+        LeaderboardIndex index = openGlobalIndex();
+        if (index == null) return null;
+        try {
+            long rank = index.insert(initials, score, timestamp);
+            index.flush();
+            return GlobalRank.of(index, rank);
+        } catch (IOException e) {
+            log.error("❌ Error saving score to the leaderboard index: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private static LeaderboardIndex openGlobalIndex() {
+        if (globalIndex == null && !globalIndexFailed) {
+            File file = new File(GameConfig.get("leaderboard.file", "leaderboard.idx"));
+            try {
+                globalIndex = new LeaderboardIndex(file, INDEX_CACHE_PAGES);
+                log.info("🏆 Leaderboard index: {} scores", globalIndex.size());
+            } catch (IOException e) {
+                log.warn("⚠️ Leaderboard index unavailable: {}", e.getMessage());
+                globalIndexFailed = true; // Don't retry every game
+            }
+        }
+        return globalIndex;
+    }
+    
     public static void resetHighScores() {
         List<HighScoreEntry> scores = new ArrayList<>();
         initializeDefaultScores(scores);
@@ -0,0 +1,245 @@
+package com.game;
+
+import java.awt.Component;
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Measures input-to-photon latency, stage by stage.
+ *
+ * A key press is followed from the OS event (KeyEvent.getWhen()) to the listener, to the
+ * game tick whose Player.handleInput acts on it, to the first paint that starts after that
+ * tick and finally to the present (Toolkit.sync() in the paced loop, end of paint otherwise).
+ * Each stage goes into its own millisecond histogram; the histograms are written per
+ * cabinet to latency-&lt;cabinet&gt;.csv on exit. Probe mode posts synthetic left/right taps
+ * through the AWT event queue so the same path can be measured without a player.
+ */
+public class InputLatency {
+
+    private static final boolean ENABLED = GameConfig.getBoolean("latency.enabled", false)
+            || GameConfig.getBoolean("latency.probe", false);
+    private static final GameLog.Channel log = GameLog.channel("latency");
+    private static final long PROBE_INTERVAL_MS = 700;
+    private static final long PROBE_HOLD_MS = 60;
+
+    /**
+     * Stages of the path, in order. TOTAL spans the OS event to the present.
+     */
+    public enum Stage { OS_TO_LISTENER, LISTENER_TO_TICK, TICK_TO_RENDER, RENDER_TO_PRESENT, TOTAL }
+
+    private static final Histogram[] histograms = new Histogram[Stage.values().length];
+    static {
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new Histogram();
+    }
+
+    // Game thread: samples consumed during the current tick
+    private static final List<Sample> consumedThisTick = new ArrayList<>();
+    private static long lastConsumedNanos = 0;
+
+    // Game thread -> EDT: samples whose tick has finished
+    private static final ConcurrentLinkedQueue<Sample> finishedTicks = new ConcurrentLinkedQueue<>();
+
+    // EDT: samples drawn by the paint in progress
+    private static final List<Sample> rendering = new ArrayList<>();
+
+    private static final class Sample {
+        final long osDelayNanos;
+        final long receiveNanos;
+        final long consumeNanos;
+        long renderNanos;
+
+        Sample(long osDelayNanos, long receiveNanos, long consumeNanos) {
+            this.osDelayNanos = osDelayNanos;
+            this.receiveNanos = receiveNanos;
+            this.consumeNanos = consumeNanos;
+        }
+    }
+
+    // Private constructor to prevent instantiation of utility class
+    private InputLatency() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // --- Path hooks ---
+
+    /**
+     * A key press was acted on by the current tick (game thread).
+     * @param when OS timestamp of the KeyEvent (epoch ms).
+     * @param receiveNanos System.nanoTime() when the listener got it.
+     */
+    public static void consumed(long when, long receiveNanos) {
+        if (!ENABLED || receiveNanos == lastConsumedNanos) return; // One sample per press
+        lastConsumedNanos = receiveNanos;
+
+        long now = System.nanoTime();
+        // Wall time since the OS event, minus the part spent after the listener
+        long osDelay = Math.max(0, (System.currentTimeMillis() - when) * 1_000_000 - (now - receiveNanos));
+        consumedThisTick.add(new Sample(osDelay, receiveNanos, now));
+    }
+
+    /**
+     * The tick is over; its results may show up from the next paint on (game thread).
+     */
+    public static void tickFinished() {
+        if (!ENABLED || consumedThisTick.isEmpty()) return;
+        finishedTicks.addAll(consumedThisTick);
+        consumedThisTick.clear();
+    }
+
+    /**
+     * A paint is starting (EDT).
+     */
+    public static void renderStarted() {
+        if (!ENABLED) return;
+        long now = System.nanoTime();
+        Sample s;
+        while ((s = finishedTicks.poll()) != null) {
+            s.renderNanos = now;
+            rendering.add(s);
+        }
+    }
+
+    /**
+     * The painted frame reached the screen (EDT).
+     */
+    public static void presented() {
+        if (!ENABLED || rendering.isEmpty()) return;
+        long now = System.nanoTime();
+        for (Sample s : rendering) {
+            record(Stage.OS_TO_LISTENER, s.osDelayNanos);
+            record(Stage.LISTENER_TO_TICK, s.consumeNanos - s.receiveNanos);
+            record(Stage.TICK_TO_RENDER, s.renderNanos - s.consumeNanos);
+            record(Stage.RENDER_TO_PRESENT, now - s.renderNanos);
+            record(Stage.TOTAL, s.osDelayNanos + now - s.receiveNanos);
+        }
+        rendering.clear();
+
+        Histogram total = histograms[Stage.TOTAL.ordinal()];
+        GameMetrics.set("latency.samples", total.count());
+        GameMetrics.set("latency.total.p50.ms", total.percentile(0.50));
+        GameMetrics.set("latency.total.p99.ms", total.percentile(0.99));
+    }
+
+    private static void record(Stage stage, long nanos) {
+        histograms[stage.ordinal()].add(nanos / 1_000_000);
+    }
+
+    // --- Export ---
+
+    /**
+     * Cabinet name used in the export file: config cabinet.id, else the host name.
+     */
+    public static String getCabinetId() {
+        String configured = GameConfig.get("cabinet.id", "");
+        if (!configured.isEmpty()) return configured;
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "local";
+        }
+    }
+
+    /**
+     * Writes one row per millisecond bucket with a count column per stage.
+     */
+    public static void export() {
+        if (!ENABLED || histograms[Stage.TOTAL.ordinal()].count() == 0) return;
+
+        String suffix = GameConfig.getBoolean("latency.probe", false) ? "-probe" : "";
+        Path file = Paths.get(GameConfig.get("latency.dir", "."), "latency-" + getCabinetId() + suffix + ".csv");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                out.print("ms");
+                for (Stage stage : Stage.values()) out.print("," + stage.name().toLowerCase());
+                out.println();
+                for (int ms = 0; ms < Histogram.BUCKETS; ms++) {
+                    out.print(ms == Histogram.BUCKETS - 1 ? ms + "+" : String.valueOf(ms));
+                    for (Histogram h : histograms) out.print("," + h.get(ms));
+                    out.println();
+                }
+            }
+            Histogram total = histograms[Stage.TOTAL.ordinal()];
+            log.info("⏱️ Input latency p50 {} ms, p99 {} ms", total.percentile(0.50), total.percentile(0.99));
+            log.info("⏱️ Latency histogram {} ({} samples)", file, total.count());
+        } catch (IOException e) {
+            log.error("❌ Could not write latency histogram {}: {}", file, e.getMessage());
+        }
+        GameLog.flush(); // Runs as a shutdown hook
+    }
+
+    // --- Probe ---
+
+    /**
+     * Starts injecting synthetic left/right taps into the component if latency.probe is set.
+     */
+    public static void startProbeIfConfigured(Component target) {
+        if (!GameConfig.getBoolean("latency.probe", false)) return;
+
+        Thread probe = new Thread(() -> {
+            int[] keys = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT};
+            try {
+                for (int i = 0; ; i++) {
+                    Thread.sleep(PROBE_INTERVAL_MS);
+                    postKey(target, KeyEvent.KEY_PRESSED, keys[i % 2]);
+                    Thread.sleep(PROBE_HOLD_MS);
+                    postKey(target, KeyEvent.KEY_RELEASED, keys[i % 2]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "latency-probe");
+        probe.setDaemon(true);
+        probe.start();
+        log.info("⏱️ Latency probe injecting key taps every {} ms", PROBE_INTERVAL_MS);
+    }
+
+    private static void postKey(Component target, int id, int keyCode) {
+        KeyEvent e = new KeyEvent(target, id, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().postEvent(e);
+    }
+
+    /**
+     * Millisecond buckets; the last one collects everything slower.
+     */
+    private static final class Histogram {
+        static final int BUCKETS = 251;
+
+        private final long[] counts = new long[BUCKETS];
+        private long total = 0;
+
+        void add(long ms) {
+            counts[(int) Math.max(0, Math.min(BUCKETS - 1, ms))]++;
+            total++;
+        }
+
+        long get(int bucket) {
+            return counts[bucket];
+        }
+
+        long count() {
+            return total;
+        }
+
+        long percentile(double p) {
+            long target = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= target && seen > 0) return i;
+            }
+            return BUCKETS - 1;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.game;
+
+/**
+ * Lock-free single-producer/single-consumer ring of key events.
+ *
+ * The EDT (KeyListener callbacks) is the only producer and the game thread the only
+ * consumer, so a volatile head and tail are all the synchronization needed: the producer
+ * fills a slot and then publishes it by moving the tail, the consumer reads the slot and
+ * then frees it by moving the head. Events are stored in parallel arrays, so pushing and
+ * draining allocate nothing. If the game thread stalls long enough to fill the ring, new
+ * events are dropped and counted rather than blocking the EDT.
+ */
+public class InputQueue {
+
+    /**
+     * Receives drained events on the game thread.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param keyCode KeyEvent virtual key code.
+         * @param pressed true for a press, false for a release.
+         * @param when OS timestamp of the KeyEvent (epoch ms).
+         * @param nanos System.nanoTime() when the listener received it.
+         */
+        void onKey(int keyCode, boolean pressed, long when, long nanos);
+    }
+
+    private final int mask;
+    private final int[] keyCodes;
+    private final boolean[] pressed;
+    private final long[] whens;
+    private final long[] nanos;
+
+    private volatile long head = 0; // Next slot to read (written by the consumer)
+    private volatile long tail = 0; // Next slot to write (written by the producer)
+    private volatile long dropped = 0;
+
+    /**
+     * @param capacity Ring size, rounded up to a power of two.
+     */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.keyCodes = new int[size];
+        this.pressed = new boolean[size];
+        this.whens = new long[size];
+        this.nanos = new long[size];
+    }
+
+    /**
+     * Adds an event. Producer side (EDT) only.
+     * @return false if the ring was full and the event was dropped.
+     */
+    public boolean offer(int keyCode, boolean isPress, long when, long receivedNanos) {
+        long t = tail;
+        if (t - head > mask) {
+            dropped++;
+            return false;
+        }
+        int i = (int) (t & mask);
+        keyCodes[i] = keyCode;
+        pressed[i] = isPress;
+        whens[i] = when;
+        nanos[i] = receivedNanos;
+        tail = t + 1; // Publishes the slot
+        return true;
+    }
+
+    /**
+     * Hands every queued event to the sink in arrival order. Consumer side (game thread) only.
+     * @return Number of events drained.
+     */
+    public int drain(Sink sink) {
+        long h = head;
+        long t = tail;
+        for (long n = h; n < t; n++) {
+            int i = (int) (n & mask);
+            sink.onKey(keyCodes[i], pressed[i], whens[i], nanos[i]);
+        }
+        head = t; // Frees the slots
+        return (int) (t - h);
+    }
+
+    /**
+     * Events dropped because the ring was full.
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
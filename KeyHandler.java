@@ -2,16 +2,32 @@ package com.game;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
 
 /**
  * Handles keyboard input.
- * Toggles boolean flags that the Game Loop checks during updates.
+ * KeyListener callbacks (EDT) only push timestamped events into an InputQueue; the game
+ * loop calls poll() once per tick to turn them into held / pressed / released states.
+ * A tap shorter than a tick still shows up as pressed for that tick.
  */
 public class KeyHandler implements KeyListener {
 
+    private static final int KEY_COUNT = 256; // Covers every key code the game uses
+
+    // Held (or tapped during the last tick) - read by Player
     public boolean upPressed, downPressed, leftPressed, rightPressed;
     public boolean spacePressed, enterPressed;
 
+    private final InputQueue queue = new InputQueue(256);
+    private final InputQueue.Sink sink = this::applyEvent;
+
+    // Per-key state, owned by the game thread
+    private final boolean[] held = new boolean[KEY_COUNT];
+    private final boolean[] pressedThisTick = new boolean[KEY_COUNT];
+    private final boolean[] releasedThisTick = new boolean[KEY_COUNT];
+    private final long[] pressWhen = new long[KEY_COUNT];
+    private final long[] pressNanos = new long[KEY_COUNT];
+
     @Override
     public void keyTyped(KeyEvent e) {
         // Not used, but required by interface
@@ -19,54 +35,88 @@ public class KeyHandler implements KeyListener {
 
     @Override
     public void keyPressed(KeyEvent e) {
-        int code = e.getKeyCode();
-
-        if (code == KeyEvent.VK_UP) {
-            upPressed = true;
-        }
-        if (code == KeyEvent.VK_LEFT) {
-            leftPressed = true;
-        }
-        if (code == KeyEvent.VK_DOWN) {
-            downPressed = true;
-        }
-        if (code == KeyEvent.VK_RIGHT) {
-            rightPressed = true;
-        }
-        if (code == KeyEvent.VK_SPACE) {
-            spacePressed = true;
-        }
-        if (code == KeyEvent.VK_ENTER) {
-            enterPressed = true;
-        }
-        
         // Global Exit Shortcut
-        if (code == KeyEvent.VK_ESCAPE) {
-            System.exit(0); 
+        if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+            System.exit(0);
         }
+        queue.offer(e.getKeyCode(), true, e.getWhen(), System.nanoTime());
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        int code = e.getKeyCode();
+        queue.offer(e.getKeyCode(), false, e.getWhen(), System.nanoTime());
+    }
 
-        if (code == KeyEvent.VK_UP) {
-            upPressed = false;
-        }
-        if (code == KeyEvent.VK_LEFT) {
-            leftPressed = false;
-        }
-        if (code == KeyEvent.VK_DOWN) {
-            downPressed = false;
-        }
-        if (code == KeyEvent.VK_RIGHT) {
-            rightPressed = false;
-        }
-        if (code == KeyEvent.VK_SPACE) {
-            spacePressed = false;
-        }
-        if (code == KeyEvent.VK_ENTER) {
-            enterPressed = false;
+    /**
+     * Drains the events received since the last tick. Call once at the start of every tick.
+     */
+    public void poll() {
+        Arrays.fill(pressedThisTick, false);
+        Arrays.fill(releasedThisTick, false);
+
+        queue.drain(sink);
+        if (queue.getDroppedCount() > 0) GameMetrics.set("input.dropped", queue.getDroppedCount());
+
+        upPressed = isActive(KeyEvent.VK_UP);
+        downPressed = isActive(KeyEvent.VK_DOWN);
+        leftPressed = isActive(KeyEvent.VK_LEFT);
+        rightPressed = isActive(KeyEvent.VK_RIGHT);
+        spacePressed = isActive(KeyEvent.VK_SPACE);
+        enterPressed = isActive(KeyEvent.VK_ENTER);
+    }
+
+    private void applyEvent(int keyCode, boolean pressed, long when, long nanos) {
+        if (keyCode < 0 || keyCode >= KEY_COUNT) return;
+
+        if (pressed) {
+            // Auto-repeat presses of a held key are not new edges
+            if (!held[keyCode]) {
+                pressedThisTick[keyCode] = true;
+                pressWhen[keyCode] = when;
+                pressNanos[keyCode] = nanos;
+            }
+            held[keyCode] = true;
+        } else {
+            if (held[keyCode]) releasedThisTick[keyCode] = true;
+            held[keyCode] = false;
         }
     }
-}
\ No newline at end of file
+
+    private boolean isActive(int keyCode) {
+        return held[keyCode] || pressedThisTick[keyCode];
+    }
+
+    // --- Queries (game thread) ---
+
+    public boolean isHeld(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_COUNT && held[keyCode];
+    }
+
+    /**
+     * True if the key went down during the last tick.
+     */
+    public boolean wasPressed(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_COUNT && pressedThisTick[keyCode];
+    }
+
+    /**
+     * True if the key went up during the last tick.
+     */
+    public boolean wasReleased(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_COUNT && releasedThisTick[keyCode];
+    }
+
+    /**
+     * OS timestamp (epoch ms) of the key's latest press.
+     */
+    public long getPressWhen(int keyCode) {
+        return pressWhen[keyCode];
+    }
+
+    /**
+     * System.nanoTime() at which the listener received the key's latest press.
+     */
+    public long getPressNanos(int keyCode) {
+        return pressNanos[keyCode];
+    }
+}
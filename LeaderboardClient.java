@@ -0,0 +1,261 @@
+package com.game;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Game side of LeaderboardService: a cached copy of the shared high score table and a
+ * queue of outgoing submissions. A single background thread talks to the service, so
+ * no call made by the game ever waits on the socket. The thread sleeps in its selector
+ * until the service sends something or a submission wakes it up.
+ *
+ * Table submissions stay pending until the service answers SAVED: if the connection
+ * drops first, the thread writes them to the local file instead, which the service
+ * merges back when it runs again.
+ */
+public class LeaderboardClient {
+
+    private static final GameLog.Channel log = GameLog.channel("board");
+    private static final long RETRY_MILLIS = 2000;
+    private static final long WRITE_TIMEOUT_MILLIS = 5000; // A service that reads nothing for this long is gone
+
+    private final UnixDomainSocketAddress address;
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>();
+    private final Map<Integer, Consumer<HighScoreManager.GlobalRank>> pendingRanks = new ConcurrentHashMap<>();
+    private final Map<Integer, HighScoreEntry> pendingTables = new ConcurrentHashMap<>(); // Sent, not yet SAVED
+    private final AtomicInteger nextRequest = new AtomicInteger(1);
+
+    private volatile boolean connected = false;
+    private volatile Selector selector; // Of the current connection, woken up for outgoing lines
+    private volatile List<HighScoreEntry> top; // Cached table, null until the service sent one
+
+    /**
+     * Creates the client for leaderboard.socket, or null when no service is configured.
+     */
+    public static LeaderboardClient fromConfig() {
+        String socket = GameConfig.get("leaderboard.socket", "");
+        if (socket.isEmpty()) return null;
+        return new LeaderboardClient(Path.of(socket));
+    }
+
+    public LeaderboardClient(Path socket) {
+        this.address = UnixDomainSocketAddress.of(socket);
+        Thread t = new Thread(this::run, "leaderboard-client");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // --- Game side (never blocks) ---
+
+    /**
+     * Cached high score table, best first, or null before the service has answered.
+     */
+    public List<HighScoreEntry> getTop() {
+        return top;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Queues a table submission and shows it in the cached table right away. Until the
+     * service confirms it, the entry is kept here and saved locally if the connection drops.
+     * @return false if the service is unreachable (the caller saves locally instead).
+     */
+    public boolean submitTable(String initials, int score, long timestamp) {
+        if (!connected) return false;
+        int id = nextRequest.getAndIncrement();
+        pendingTables.put(id, new HighScoreEntry(initials, score, timestamp));
+        outbox.add("TABLE " + id + " " + LeaderboardService.encode(initials, score, timestamp));
+        wakeUp();
+
+        List<HighScoreEntry> current = top;
+        if (current != null) {
+            List<HighScoreEntry> next = new ArrayList<>(current);
+            next.add(new HighScoreEntry(initials, score, timestamp));
+            Collections.sort(next);
+            if (next.size() > HighScoreManager.MAX_SCORES) next = next.subList(0, HighScoreManager.MAX_SCORES);
+            top = Collections.unmodifiableList(new ArrayList<>(next));
+        }
+        return true;
+    }
+
+    /**
+     * Queues a post to the all-time index.
+     * @param onRanked Called on the client thread when the service has ranked the score.
+     * @return false if the service is unreachable.
+     */
+    public boolean post(String initials, int score, long timestamp, Consumer<HighScoreManager.GlobalRank> onRanked) {
+        if (!connected) return false;
+        int id = nextRequest.getAndIncrement();
+        pendingRanks.put(id, onRanked);
+        outbox.add("POST " + id + " " + LeaderboardService.encode(initials, score, timestamp));
+        wakeUp();
+        return true;
+    }
+
+    private void wakeUp() {
+        Selector s = selector;
+        if (s != null) s.wakeup();
+    }
+
+    // --- Connection thread ---
+
+    private void run() {
+        while (true) {
+            try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+                 Selector selector = Selector.open()) {
+                channel.connect(address);
+                channel.configureBlocking(false);
+                this.selector = selector;
+                connected = true;
+                log.info("🏆 Connected to leaderboard service {}", address.getPath());
+                exchange(channel.register(selector, SelectionKey.OP_READ));
+            } catch (IOException e) {
+                if (connected) log.warn("⚠️ Leaderboard service lost: {}", e.getMessage());
+            }
+            connected = false;
+            selector = null;
+            pendingRanks.clear(); // Their answers went with the connection
+            outbox.clear();
+            saveUnconfirmed();
+
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the table submissions the service never confirmed to the local file.
+     */
+    private void saveUnconfirmed() {
+        for (Integer id : new ArrayList<>(pendingTables.keySet())) {
+            HighScoreEntry e = pendingTables.remove(id);
+            if (e == null) continue;
+            HighScoreManager.addHighScoreLocally(e.getInitials(), e.getScore(), e.getTimestamp());
+            log.warn("⚠️ Leaderboard entry {} not confirmed, saved locally", e);
+        }
+    }
+
+    /**
+     * Sends the queued lines (all of them in one write) and reads the answers, until the
+     * connection breaks. Between the two it blocks in select(): post() and submitTable()
+     * wake it up when they queue a line.
+     */
+    private void exchange(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer in = ByteBuffer.allocate(8192);
+        StringBuilder line = new StringBuilder();
+        List<String> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+
+        write(key, "TOP\n");
+        while (!Thread.currentThread().isInterrupted()) {
+            String first = outbox.poll();
+            if (first != null) {
+                batch.add(first);
+                outbox.drainTo(batch);
+                for (String l : batch) text.append(l).append('\n');
+                write(key, text.toString());
+                batch.clear();
+                text.setLength(0);
+            }
+
+            key.selector().select();
+            key.selector().selectedKeys().clear();
+            int n;
+            while ((n = channel.read(in)) > 0) {
+                in.flip();
+                while (in.hasRemaining()) {
+                    char c = (char) in.get();
+                    if (c == '\n') {
+                        handle(line.toString());
+                        line.setLength(0);
+                    } else {
+                        line.append(c);
+                    }
+                }
+                in.clear();
+            }
+            if (n < 0) throw new EOFException("connection closed by the service");
+        }
+    }
+
+    /**
+     * Writes all of text, sleeping in the selector while the socket buffer is full.
+     * Fails if the service makes no room for WRITE_TIMEOUT_MILLIS.
+     */
+    private static void write(SelectionKey key, String text) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer out = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        long deadline = System.currentTimeMillis() + WRITE_TIMEOUT_MILLIS;
+        key.interestOps(SelectionKey.OP_WRITE);
+        try {
+            while (out.hasRemaining()) {
+                if (channel.write(out) > 0) {
+                    deadline = System.currentTimeMillis() + WRITE_TIMEOUT_MILLIS;
+                    continue;
+                }
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) throw new IOException("leaderboard service stopped reading");
+                key.selector().select(left); // Also returns early for wakeUp(): the loop checks again
+                key.selector().selectedKeys().clear();
+            }
+        } finally {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * TOP e1 e2 ...                       the shared table (sent on connect and after every change)
+     * RANK id rank count fromRank e1 ...  answer to a POST
+     * SAVED id                            a TABLE submission is in the service's file
+     */
+    private void handle(String line) {
+        String[] parts = line.split(" ");
+        switch (parts[0]) {
+            case "TOP":
+                List<HighScoreEntry> table = new ArrayList<>();
+                for (int i = 1; i < parts.length; i++) table.add(LeaderboardService.decode(parts[i]));
+                top = Collections.unmodifiableList(table);
+                break;
+
+            case "RANK":
+                Consumer<HighScoreManager.GlobalRank> callback = pendingRanks.remove(Integer.parseInt(parts[1]));
+                if (callback == null) break;
+                List<HighScoreEntry> neighbours = new ArrayList<>();
+                for (int i = 5; i < parts.length; i++) neighbours.add(LeaderboardService.decode(parts[i]));
+                callback.accept(new HighScoreManager.GlobalRank(Long.parseLong(parts[2]), Long.parseLong(parts[3]),
+                        Long.parseLong(parts[4]), neighbours));
+                break;
+
+            case "SAVED":
+                pendingTables.remove(Integer.parseInt(parts[1]));
+                break;
+
+            default:
+                log.warn("⚠️ Unknown leaderboard message: {}", line);
+        }
+    }
+}
@@ -0,0 +1,678 @@
+package com.game;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent ranked index of every score ever posted on this cabinet.
+ *
+ * An order-statistic B+-tree in a file of 4 KB pages: next to each child pointer an inner
+ * node stores the number of entries in that subtree, so insert, rank-of-score and
+ * "entry at rank r" each walk a single root-to-leaf path (O(log n) pages). Leaves are
+ * linked, so top-K and the neighbours of a rank are one select plus a sequential scan.
+ *
+ * Entries are ordered by score (highest first), ties by posting order. Pages are kept in
+ * a write-back LRU cache; flush() makes everything durable.
+ *
+ * The file itself only changes inside flush(), so it always holds the tree as of a flush.
+ * Modified pages evicted from the cache between flushes go to a journal next to it
+ * (&lt;file&gt;.wal), where later reads find them. flush() appends the remaining modified pages
+ * and the header to the journal, then a commit record, and syncs it; only then are the
+ * pages copied into the file and the journal emptied. On open, a journal ending in a
+ * commit record is replayed (the crash hit the copy); one without it is dropped (the crash
+ * came before the flush completed).
+ *
+ * Benchmark: java -cp bin com.game.LeaderboardIndex [entries] [file]
+ */
+public class LeaderboardIndex implements Closeable {
+
+    private static final GameLog.Channel log = GameLog.channel("index");
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int MAGIC = 0x4C424958; // "LBIX"
+    private static final int VERSION = 1;
+
+    // Header page (page 0)
+    private static final int H_MAGIC = 0, H_VERSION = 4, H_ROOT = 8, H_PAGES = 12, H_SIZE = 16, H_HEIGHT = 24, H_SEQ = 28,
+            H_CHECKPOINT = 36;
+
+    // Journal record: checkpoint, page id (COMMIT for the commit record), CRC32, then the page
+    private static final int J_HEADER = 8 + 4 + 4;
+    private static final int COMMIT = -1;
+    private static final long JOURNAL_LIMIT = 64L << 20; // insert() flushes once the journal passes this
+
+    // Node pages: type, entry count, next leaf, then the entries
+    private static final byte LEAF = 1, INNER = 2;
+    private static final int N_TYPE = 0, N_COUNT = 2, N_NEXT = 4, N_ENTRIES = 8;
+
+    // Leaf entry: key, timestamp, initials
+    private static final int LEAF_ENTRY = 8 + 8 + 3;
+    private static final int LEAF_CAP = (PAGE_SIZE - N_ENTRIES) / LEAF_ENTRY;
+
+    // Inner entry: lowest key of the subtree (unused for entry 0), child page, subtree size
+    private static final int INNER_ENTRY = 8 + 4 + 8;
+    private static final int INNER_CAP = (PAGE_SIZE - N_ENTRIES) / INNER_ENTRY;
+
+    private static final int MIN_CACHE_PAGES = 32; // Above the pages one operation touches
+
+    private final FileChannel channel;
+    private final File journalFile;
+    private final FileChannel journal;
+    private final LinkedHashMap<Integer, Page> cache;
+
+    // Pages evicted since the last flush: id -> offset of their latest image in the journal
+    private final Map<Integer, Long> journaled = new HashMap<>();
+    private long journalEnd = 0;
+    private long checkpoint; // Flushes completed (H_CHECKPOINT), tags this flush's journal records
+
+    // Header fields
+    private int root;
+    private int pageCount;
+    private long size;
+    private int height; // Levels, leaves included
+    private long nextSeq;
+
+    private static final class Page {
+        final int id;
+        final ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE);
+        boolean dirty;
+
+        Page(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Opens (or creates) an index file.
+     * @param cachePages Pages kept in memory (4 KB each).
+     */
+    public LeaderboardIndex(File file, int cachePages) throws IOException {
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.journalFile = new File(file.getPath() + ".wal");
+        this.journal = FileChannel.open(journalFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover(file);
+        int capacity = Math.max(MIN_CACHE_PAGES, cachePages);
+        this.cache = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+                if (size() <= capacity) return false;
+                try {
+                    journal(eldest.getValue());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }
+        };
+
+        if (channel.size() == 0) {
+            pageCount = 1; // Header
+            root = allocate(LEAF).id;
+            height = 1;
+            size = 0;
+            nextSeq = 0;
+            checkpoint = 0;
+            flush();
+        } else {
+            ByteBuffer h = page(0).buf;
+            if (h.getInt(H_MAGIC) != MAGIC || h.getInt(H_VERSION) != VERSION) {
+                throw new IOException("Not a leaderboard index: " + file);
+            }
+            root = h.getInt(H_ROOT);
+            pageCount = h.getInt(H_PAGES);
+            size = h.getLong(H_SIZE);
+            height = h.getInt(H_HEIGHT);
+            nextSeq = h.getLong(H_SEQ);
+            checkpoint = h.getLong(H_CHECKPOINT);
+        }
+    }
+
+    // --- Queries ---
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int height() {
+        return height;
+    }
+
+    /**
+     * Rank a score would have: 1 + the number of entries with a higher score.
+     */
+    public synchronized long rankOf(int score) throws IOException {
+        return countBefore(key(score, 0)) + 1;
+    }
+
+    /**
+     * Entries at ranks [fromRank, fromRank + count), best first. Stops at the end of the index.
+     */
+    public synchronized List<HighScoreEntry> range(long fromRank, int count) throws IOException {
+        List<HighScoreEntry> out = new ArrayList<>(count);
+        if (fromRank < 1 || fromRank > size || count <= 0) return out;
+
+        // Select: walk down by subtree sizes
+        long r = fromRank - 1;
+        int pageId = root;
+        for (int level = 1; level < height; level++) {
+            ByteBuffer b = page(pageId).buf;
+            int n = count(b);
+            int slot = 0;
+            while (slot < n - 1 && r >= innerSize(b, slot)) {
+                r -= innerSize(b, slot);
+                slot++;
+            }
+            pageId = innerChild(b, slot);
+        }
+
+        // Scan along the leaf chain
+        int pos = (int) r;
+        while (pageId != 0 && out.size() < count) {
+            ByteBuffer b = page(pageId).buf;
+            int n = count(b);
+            for (; pos < n && out.size() < count; pos++) {
+                out.add(entry(b, pos));
+            }
+            pageId = b.getInt(N_NEXT);
+            pos = 0;
+        }
+        return out;
+    }
+
+    public List<HighScoreEntry> top(int k) throws IOException {
+        return range(1, k);
+    }
+
+    /**
+     * Streams every entry, best first, along the leaf chain (used by LeaderboardMerge).
+     */
+    public synchronized void scan(Consumer<HighScoreEntry> visitor) throws IOException {
+        int pageId = root;
+        for (int level = 1; level < height; level++) pageId = innerChild(page(pageId).buf, 0);
+        while (pageId != 0) {
+            ByteBuffer b = page(pageId).buf;
+            int n = count(b);
+            for (int i = 0; i < n; i++) visitor.accept(entry(b, i));
+            pageId = b.getInt(N_NEXT);
+        }
+    }
+
+    /**
+     * Number of entries ordered before the key.
+     */
+    private long countBefore(long key) throws IOException {
+        long before = 0;
+        int pageId = root;
+        for (int level = 1; level < height; level++) {
+            ByteBuffer b = page(pageId).buf;
+            int slot = childSlot(b, count(b), key);
+            for (int i = 0; i < slot; i++) before += innerSize(b, i);
+            pageId = innerChild(b, slot);
+        }
+        ByteBuffer leaf = page(pageId).buf;
+        return before + lowerBound(leaf, count(leaf), key);
+    }
+
+    // --- Insert ---
+
+    /**
+     * Adds a score.
+     * @return Its rank right after insertion (1 = best ever).
+     */
+    public synchronized long insert(String initials, int score, long timestamp) throws IOException {
+        long key = key(score, nextSeq++);
+        int[] pathPages = new int[height];
+        int[] pathSlots = new int[height];
+
+        // Descend, counting the entries before the key and growing the subtree sizes on the way
+        long before = 0;
+        int pageId = root;
+        for (int level = 0; level < height - 1; level++) {
+            Page p = page(pageId);
+            ByteBuffer b = p.buf;
+            int slot = childSlot(b, count(b), key);
+            for (int i = 0; i < slot; i++) before += innerSize(b, i);
+            setInnerSize(b, slot, innerSize(b, slot) + 1);
+            p.dirty = true;
+            pathPages[level] = pageId;
+            pathSlots[level] = slot;
+            pageId = innerChild(b, slot);
+        }
+
+        Page leaf = page(pageId);
+        int n = count(leaf.buf);
+        int pos = lowerBound(leaf.buf, n, key);
+        before += pos;
+
+        if (n < LEAF_CAP) {
+            insertLeafEntry(leaf, pos, key, timestamp, initials);
+        } else {
+            // Split the leaf in half, then add the entry to the half it belongs to
+            Page right = allocate(LEAF);
+            int half = n / 2;
+            moveEntries(leaf, half, right, 0, n - half, LEAF_ENTRY);
+            setCount(leaf.buf, half);
+            setCount(right.buf, n - half);
+            right.buf.putInt(N_NEXT, leaf.buf.getInt(N_NEXT));
+            leaf.buf.putInt(N_NEXT, right.id);
+            leaf.dirty = true;
+
+            if (pos <= half) insertLeafEntry(leaf, pos, key, timestamp, initials);
+            else insertLeafEntry(right, pos - half, key, timestamp, initials);
+
+            promote(pathPages, pathSlots, height - 2, leaf.id, count(leaf.buf), leafKey(right.buf, 0),
+                    right.id, count(right.buf));
+        }
+        size++;
+        if (journalEnd > JOURNAL_LIMIT) flush(); // Bulk inserts: keep the journal bounded
+        return before + 1;
+    }
+
+    /**
+     * Hooks a split child's new right sibling into the parent at 'level', splitting
+     * inner nodes upwards as needed (a new root when the old one splits).
+     */
+    private void promote(int[] pathPages, int[] pathSlots, int level,
+                         int leftId, long leftSize, long rightKey, int rightId, long rightSize) throws IOException {
+        while (true) {
+            if (level < 0) {
+                Page newRoot = allocate(INNER);
+                putInner(newRoot.buf, 0, 0L, leftId, leftSize);
+                putInner(newRoot.buf, 1, rightKey, rightId, rightSize);
+                setCount(newRoot.buf, 2);
+                root = newRoot.id;
+                height++;
+                return;
+            }
+
+            Page parent = page(pathPages[level]);
+            int slot = pathSlots[level];
+            int n = count(parent.buf);
+            setInnerSize(parent.buf, slot, leftSize); // Was grown by one on the way down
+            parent.dirty = true;
+
+            if (n < INNER_CAP) {
+                moveEntries(parent, slot + 1, parent, slot + 2, n - slot - 1, INNER_ENTRY);
+                putInner(parent.buf, slot + 1, rightKey, rightId, rightSize);
+                setCount(parent.buf, n + 1);
+                return;
+            }
+
+            // Split the inner node: lay out the n + 1 entries, then share them out
+            long[] keys = new long[n + 1];
+            int[] children = new int[n + 1];
+            long[] sizes = new long[n + 1];
+            for (int i = 0, j = 0; i <= n; i++) {
+                if (i == slot + 1) {
+                    keys[i] = rightKey;
+                    children[i] = rightId;
+                    sizes[i] = rightSize;
+                } else {
+                    keys[i] = innerKey(parent.buf, j);
+                    children[i] = innerChild(parent.buf, j);
+                    sizes[i] = innerSize(parent.buf, j);
+                    j++;
+                }
+            }
+            Page right = allocate(INNER);
+            int half = (n + 1) / 2;
+            long leftTotal = 0, rightTotal = 0;
+            for (int i = 0; i < half; i++) {
+                putInner(parent.buf, i, keys[i], children[i], sizes[i]);
+                leftTotal += sizes[i];
+            }
+            for (int i = half; i <= n; i++) {
+                putInner(right.buf, i - half, keys[i], children[i], sizes[i]);
+                rightTotal += sizes[i];
+            }
+            setCount(parent.buf, half);
+            setCount(right.buf, n + 1 - half);
+
+            leftId = parent.id;
+            leftSize = leftTotal;
+            rightKey = keys[half];
+            rightId = right.id;
+            rightSize = rightTotal;
+            level--;
+        }
+    }
+
+    private void insertLeafEntry(Page leaf, int pos, long key, long timestamp, String initials) {
+        int n = count(leaf.buf);
+        moveEntries(leaf, pos, leaf, pos + 1, n - pos, LEAF_ENTRY);
+        ByteBuffer b = leaf.buf;
+        int off = N_ENTRIES + pos * LEAF_ENTRY;
+        b.putLong(off, key);
+        b.putLong(off + 8, timestamp);
+        byte[] text = (initials == null ? "???" : initials).getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 3; i++) b.put(off + 16 + i, i < text.length ? text[i] : (byte) ' ');
+        setCount(b, n + 1);
+        leaf.dirty = true;
+    }
+
+    // --- Keys ---
+
+    /**
+     * Sort key: score descending in the high 32 bits, posting order in the low 32 bits.
+     */
+    private static long key(int score, long seq) {
+        long inverted = Integer.MAX_VALUE - (long) Math.max(0, score);
+        return (inverted << 32) | (seq & 0xFFFFFFFFL);
+    }
+
+    private static int scoreOf(long key) {
+        return (int) (Integer.MAX_VALUE - (key >>> 32));
+    }
+
+    // --- Node layout ---
+
+    private static int count(ByteBuffer b) {
+        return b.getShort(N_COUNT);
+    }
+
+    private static void setCount(ByteBuffer b, int n) {
+        b.putShort(N_COUNT, (short) n);
+    }
+
+    private static long leafKey(ByteBuffer b, int i) {
+        return b.getLong(N_ENTRIES + i * LEAF_ENTRY);
+    }
+
+    private static HighScoreEntry entry(ByteBuffer b, int i) {
+        return new HighScoreEntry(leafInitials(b, i), scoreOf(leafKey(b, i)), b.getLong(N_ENTRIES + i * LEAF_ENTRY + 8));
+    }
+
+    private static String leafInitials(ByteBuffer b, int i) {
+        int off = N_ENTRIES + i * LEAF_ENTRY + 16;
+        byte[] text = {b.get(off), b.get(off + 1), b.get(off + 2)};
+        return new String(text, StandardCharsets.US_ASCII).trim();
+    }
+
+    private static long innerKey(ByteBuffer b, int i) {
+        return b.getLong(N_ENTRIES + i * INNER_ENTRY);
+    }
+
+    private static int innerChild(ByteBuffer b, int i) {
+        return b.getInt(N_ENTRIES + i * INNER_ENTRY + 8);
+    }
+
+    private static long innerSize(ByteBuffer b, int i) {
+        return b.getLong(N_ENTRIES + i * INNER_ENTRY + 12);
+    }
+
+    private static void setInnerSize(ByteBuffer b, int i, long value) {
+        b.putLong(N_ENTRIES + i * INNER_ENTRY + 12, value);
+    }
+
+    private static void putInner(ByteBuffer b, int i, long key, int child, long subtreeSize) {
+        int off = N_ENTRIES + i * INNER_ENTRY;
+        b.putLong(off, key);
+        b.putInt(off + 8, child);
+        b.putLong(off + 12, subtreeSize);
+    }
+
+    /**
+     * Child holding the keys just below and at 'key': the last entry whose lowest key is
+     * smaller than it (entry 0 covers everything before the first separator).
+     */
+    private static int childSlot(ByteBuffer b, int n, long key) {
+        int lo = 1, hi = n - 1, slot = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (innerKey(b, mid) < key) {
+                slot = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * First leaf position whose key is not smaller than 'key'.
+     */
+    private static int lowerBound(ByteBuffer b, int n, long key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (leafKey(b, mid) < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void moveEntries(Page from, int fromIndex, Page to, int toIndex, int entries, int entrySize) {
+        if (entries <= 0) return;
+        System.arraycopy(from.buf.array(), N_ENTRIES + fromIndex * entrySize,
+                to.buf.array(), N_ENTRIES + toIndex * entrySize, entries * entrySize);
+        to.dirty = true;
+    }
+
+    // --- Paging ---
+
+    private Page page(int id) throws IOException {
+        Page p = cache.get(id);
+        if (p != null) return p;
+
+        p = new Page(id);
+        Long journalOffset = journaled.get(id);
+        if (journalOffset != null) readFully(journal, p.buf, journalOffset + J_HEADER);
+        else readFully(channel, p.buf, (long) id * PAGE_SIZE);
+        cache.put(id, p);
+        return p;
+    }
+
+    private static void readFully(FileChannel from, ByteBuffer buf, long offset) throws IOException {
+        buf.clear();
+        while (buf.hasRemaining()) {
+            if (from.read(buf, offset + buf.position()) < 0) break; // Past the end: zeros
+        }
+        buf.clear();
+    }
+
+    private static void writeFully(FileChannel to, ByteBuffer buf, long offset) throws IOException {
+        ByteBuffer out = buf.duplicate();
+        out.clear();
+        while (out.hasRemaining()) {
+            to.write(out, offset + out.position());
+        }
+    }
+
+    private Page allocate(byte type) {
+        Page p = new Page(pageCount++);
+        p.buf.put(N_TYPE, type);
+        p.dirty = true;
+        cache.put(p.id, p);
+        return p;
+    }
+
+    /**
+     * Appends a modified page to the journal (never to the file: see the class comment).
+     */
+    private void journal(Page p) throws IOException {
+        if (!p.dirty) return;
+        ByteBuffer head = journalHeader(p.id, p.buf);
+        writeFully(journal, head, journalEnd);
+        writeFully(journal, p.buf, journalEnd + J_HEADER);
+        journaled.put(p.id, journalEnd);
+        journalEnd += J_HEADER + PAGE_SIZE;
+        p.dirty = false;
+    }
+
+    /**
+     * Record header for this flush; the CRC covers the checkpoint, the id and the page.
+     */
+    private ByteBuffer journalHeader(int id, ByteBuffer page) {
+        ByteBuffer head = ByteBuffer.allocate(J_HEADER);
+        head.putLong(0, checkpoint + 1).putInt(8, id);
+        CRC32 crc = new CRC32();
+        crc.update(head.array(), 0, 12);
+        if (page != null) crc.update(page.array(), 0, PAGE_SIZE);
+        head.putInt(12, (int) crc.getValue());
+        return head;
+    }
+
+    /**
+     * Makes every change durable: journal the modified pages and the header, commit the
+     * journal, then copy the journaled pages into the file and empty the journal.
+     */
+    public synchronized void flush() throws IOException {
+        Page header = cache.get(0);
+        if (header == null) header = page(0);
+        ByteBuffer h = header.buf;
+        h.putInt(H_MAGIC, MAGIC);
+        h.putInt(H_VERSION, VERSION);
+        h.putInt(H_ROOT, root);
+        h.putInt(H_PAGES, pageCount);
+        h.putLong(H_SIZE, size);
+        h.putInt(H_HEIGHT, height);
+        h.putLong(H_SEQ, nextSeq);
+        h.putLong(H_CHECKPOINT, checkpoint + 1);
+        header.dirty = true;
+
+        for (Page p : cache.values()) journal(p);
+        writeFully(journal, journalHeader(COMMIT, null), journalEnd);
+        journal.force(false); // The commit point: from here on open() replays this flush
+
+        ByteBuffer scratch = ByteBuffer.allocate(PAGE_SIZE);
+        for (Map.Entry<Integer, Long> e : journaled.entrySet()) {
+            int id = e.getKey();
+            Page cached = cache.get(id);
+            ByteBuffer image = cached != null ? cached.buf : scratch;
+            if (cached == null) readFully(journal, scratch, e.getValue() + J_HEADER);
+            writeFully(channel, image, (long) id * PAGE_SIZE);
+        }
+        channel.force(false);
+
+        journal.truncate(0);
+        journaled.clear();
+        journalEnd = 0;
+        checkpoint++;
+    }
+
+    /**
+     * Replays the journal of a flush that was interrupted after its commit, or drops the
+     * pages of one that never committed. Records count only up to the first one that is
+     * torn or belongs to another flush.
+     */
+    private void recover(File file) throws IOException {
+        long length = journal.size();
+        if (length == 0) return;
+
+        Map<Integer, Long> pages = new HashMap<>();
+        ByteBuffer head = ByteBuffer.allocate(J_HEADER);
+        ByteBuffer image = ByteBuffer.allocate(PAGE_SIZE);
+        long tag = -1;
+        boolean committed = false;
+        for (long at = 0; at + J_HEADER <= length; at += J_HEADER + PAGE_SIZE) {
+            readFully(journal, head, at);
+            long recordTag = head.getLong(0);
+            int id = head.getInt(8);
+            if (tag >= 0 && recordTag != tag) break;
+            tag = recordTag;
+
+            CRC32 crc = new CRC32();
+            crc.update(head.array(), 0, 12);
+            if (id != COMMIT) {
+                if (at + J_HEADER + PAGE_SIZE > length) break;
+                readFully(journal, image, at + J_HEADER);
+                crc.update(image.array(), 0, PAGE_SIZE);
+            }
+            if ((int) crc.getValue() != head.getInt(12)) break;
+            if (id == COMMIT) {
+                committed = true;
+                break;
+            }
+            pages.put(id, at);
+        }
+
+        if (committed) {
+            for (Map.Entry<Integer, Long> e : pages.entrySet()) {
+                readFully(journal, image, e.getValue() + J_HEADER);
+                writeFully(channel, image, (long) e.getKey() * PAGE_SIZE);
+            }
+            channel.force(false);
+            log.warn("⚠️ Leaderboard index: finished an interrupted flush of {}", file);
+        } else {
+            log.warn("⚠️ Leaderboard index: dropped changes made after the last flush of {}", file);
+        }
+        journal.truncate(0);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+        journal.close();
+        journalFile.delete();
+    }
+
+    // --- Benchmark ---
+
+    /**
+     * Fills an index with random scores and times inserts, rank queries and top-K reads.
+     * Args: [entries, default 10,000,000] [file, default leaderboard-bench.idx (deleted afterwards)]
+     */
+    public static void main(String[] args) throws IOException {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        File file = new File(args.length > 1 ? args[1] : "leaderboard-bench.idx");
+        file.delete();
+
+        SplittableRandom rng = new SplittableRandom(42);
+        char[] initials = new char[3];
+        try (LeaderboardIndex index = new LeaderboardIndex(file, 4096)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < entries; i++) {
+                for (int c = 0; c < 3; c++) initials[c] = (char) ('A' + rng.nextInt(26));
+                index.insert(new String(initials), rng.nextInt(1_000_000), i);
+                if ((i + 1) % 1_000_000 == 0) System.out.println("📊 " + (i + 1) / 1_000_000 + "M entries");
+            }
+            index.flush();
+            double insertSec = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("📊 Insert:  %,d entries in %.1f s (%,.0f/s), height %d, file %,d MB",
+                    entries, insertSec, entries / insertSec, index.height(), file.length() >> 20));
+        }
+
+        // Reopen with a small cache so queries really go to the file
+        try (LeaderboardIndex index = new LeaderboardIndex(file, 256)) {
+            int queries = 100_000;
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++) sink += index.rankOf(rng.nextInt(1_000_000));
+            double rankUs = (System.nanoTime() - start) / 1e3 / queries;
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries / 10; i++) sink += index.top(10).size();
+            double topUs = (System.nanoTime() - start) / 1e3 / (queries / 10);
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries / 10; i++) {
+                long rank = 1 + (long) (rng.nextDouble() * index.size());
+                sink += index.range(Math.max(1, rank - 2), 5).size();
+            }
+            double rangeUs = (System.nanoTime() - start) / 1e3 / (queries / 10);
+
+            System.out.println(String.format("📊 Rank:    %.2f us/query", rankUs));
+            System.out.println(String.format("📊 Top 10:  %.2f us/query", topUs));
+            System.out.println(String.format("📊 Rank +-2: %.2f us/query (%d)", rangeUs, sink % 10));
+        }
+        if (args.length < 2) file.delete();
+    }
+}
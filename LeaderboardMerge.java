@@ -0,0 +1,588 @@
+package com.game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Offline tool: merges the score files collected from many cabinets into one ranking,
+ * in bounded memory no matter how many entries there are.
+ *
+ * Inputs are files or directories (searched recursively):
+ *   *.dat  high score table (HighScoreManager format)
+ *   *.idx  all-time index (LeaderboardIndex)
+ *   *.lbm  output of an earlier merge, so daily merges can be merged into a monthly one
+ * The cabinet of a .dat or .idx file is the name of the directory it was collected into.
+ *
+ * 1. Runs: every entry is packed into two longs (score, timestamp, initials, cabinet) and
+ *    collected in a fixed buffer; a full buffer is radix-sorted and written as a run file.
+ * 2. Merge: the runs are k-way merged through a heap of run heads. Sorting puts copies of
+ *    the same game (same cabinet, initials and timestamp, so the same score) next to each
+ *    other, and all but one are dropped.
+ * 3. Output: the merged ranking (.lbm, best first) and a text extract of the top N.
+ *
+ * Entries without a timestamp (older files, the default AAA..FFF table) cannot be told
+ * apart from each other and are skipped unless -undated is given.
+ *
+ * Run:       java -cp bin com.game.LeaderboardMerge [-out merged.lbm] [-top 100] [-run 4000000] [-undated] inputs...
+ * Benchmark: java -cp bin com.game.LeaderboardMerge -bench [entries, default 200,000,000] [cabinets, default 500]
+ */
+public class LeaderboardMerge {
+
+    private static final int MAGIC = 0x4C424D47; // "LBMG"
+    private static final int VERSION = 1;
+    private static final int RECORD = 16;        // Two longs per entry
+
+    private static final int DEFAULT_RUN = 4_000_000; // Entries per run: 4 arrays of longs, 128 MB
+    private static final int DEFAULT_TOP = 100;
+    private static final int MAX_FAN_IN = 256;         // Runs merged at once (open files)
+    private static final int WRITE_BUFFER = 1 << 20;
+    private static final int MIN_READ_BUFFER = 16 << 10;
+
+    // Packed entry: w0 = inverted score (31 bits) | high 32 bits of T
+    //               w1 = low 32 bits of T | cabinet (32 bits)
+    // with T = timestamp (46 bits) | initials (3 x 6 bits). Unsigned order = rank order:
+    // score descending, then earliest game first.
+    private static final long TIMESTAMP_MASK = (1L << 46) - 1;
+
+    private final int runSize;
+    private final boolean keepUndated;
+    private final File tempDir;
+
+    // Cabinet names, indexed by the id stored in the records
+    private final List<String> cabinets = new ArrayList<>();
+    private final Map<String, Integer> cabinetIds = new HashMap<>();
+
+    // Run buffer and radix sort scratch
+    private long[] w0, w1, s0, s1;
+    private int buffered = 0;
+    private final List<File> runs = new ArrayList<>();
+
+    // Statistics
+    private long read = 0;
+    private long undated = 0;
+    private long duplicates = 0;
+    private long written = 0;
+
+    public LeaderboardMerge(int runSize, boolean keepUndated, File tempDir) {
+        this.runSize = runSize;
+        this.keepUndated = keepUndated;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Reads every input, then writes the merged ranking and the top extract.
+     */
+    public void merge(List<File> inputs, File out, File topFile, int top) throws IOException {
+        w0 = new long[runSize];
+        w1 = new long[runSize];
+        s0 = new long[runSize];
+        s1 = new long[runSize];
+        Files.createDirectories(tempDir.toPath());
+
+        long start = System.nanoTime();
+        List<File> files = new ArrayList<>();
+        for (File input : inputs) collect(input, files);
+        for (File file : files) {
+            try {
+                readInput(file);
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                System.err.println("⚠️ Skipping " + file + ": " + e);
+            }
+        }
+        spillRun();
+        w0 = w1 = s0 = s1 = null; // Memory goes to the merge buffers from here on
+        double runSec = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("📊 Runs:   %,d entries from %,d files (%,d cabinets) into %d runs in %.1f s (%,.0f/s)",
+                read, files.size(), cabinets.size(), runs.size(), runSec, read / runSec));
+
+        // Too many runs to open at once: merge them in groups first
+        long mergeStart = System.nanoTime();
+        List<File> level = runs;
+        while (level.size() > MAX_FAN_IN) {
+            List<File> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += MAX_FAN_IN) {
+                List<File> group = level.subList(i, Math.min(level.size(), i + MAX_FAN_IN));
+                File run = new File(tempDir, "run-" + System.nanoTime() + ".tmp");
+                try (RecordWriter w = new RecordWriter(run, 0)) {
+                    mergeRuns(group, w, null, 0);
+                }
+                for (File f : group) f.delete();
+                next.add(run);
+            }
+            level = next;
+        }
+
+        List<String> topLines = new ArrayList<>();
+        byte[] header = header(0);
+        try (RecordWriter w = new RecordWriter(out, header.length)) {
+            mergeRuns(level, w, topLines, top);
+            written = w.count;
+        }
+        writeHeader(out, header(written));
+        for (File f : level) f.delete();
+        Files.write(topFile.toPath(), topLines, StandardCharsets.UTF_8);
+
+        double mergeSec = (System.nanoTime() - mergeStart) / 1e9;
+        double totalSec = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("📊 Merge:  %,d entries written (%,d duplicates, %,d undated dropped) in %.1f s",
+                written, duplicates, undated, mergeSec));
+        System.out.println(String.format("📊 Total:  %.1f s, %,.0f entries/s, %,.0f MB/s of records",
+                totalSec, read / totalSec, read * RECORD / totalSec / (1 << 20)));
+        System.out.println("🏆 " + out + " + " + topFile);
+    }
+
+    // --- Inputs ---
+
+    private static void collect(File input, List<File> files) {
+        if (input.isDirectory()) {
+            File[] children = input.listFiles();
+            if (children == null) return;
+            Arrays.sort(children);
+            for (File child : children) collect(child, files);
+        } else {
+            String name = input.getName();
+            if (name.endsWith(".dat") || name.endsWith(".idx") || name.endsWith(".lbm")) files.add(input);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readInput(File file) throws IOException, ClassNotFoundException {
+        String name = file.getName();
+        if (name.endsWith(".lbm")) {
+            readMerged(file);
+            return;
+        }
+
+        int cabinet = cabinetId(file.getAbsoluteFile().getParentFile().getName());
+        if (name.endsWith(".idx")) {
+            try (LeaderboardIndex index = new LeaderboardIndex(file, 256)) {
+                index.scan(e -> add(e, cabinet));
+            }
+        } else {
+            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+                for (HighScoreEntry e : (List<HighScoreEntry>) ois.readObject()) add(e, cabinet);
+            }
+        }
+    }
+
+    /**
+     * Streams an earlier merge, mapping its cabinet ids onto this merge's.
+     */
+    private void readMerged(File file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer h = ByteBuffer.allocate((int) Math.min(ch.size(), 1 << 20));
+            ch.read(h, 0);
+            h.flip();
+            if (h.getInt() != MAGIC || h.getInt() != VERSION) throw new IOException("not a merged leaderboard");
+            long count = h.getLong();
+            int[] ids = new int[h.getInt()];
+            for (int i = 0; i < ids.length; i++) {
+                byte[] text = new byte[h.getShort()];
+                h.get(text);
+                ids[i] = cabinetId(new String(text, StandardCharsets.UTF_8));
+            }
+
+            RecordReader r = new RecordReader(ch, h.position(), count, WRITE_BUFFER);
+            while (r.next()) {
+                int local = (int) r.w1;
+                addPacked(r.w0, (r.w1 & 0xFFFFFFFF00000000L) | ids[local]);
+            }
+        }
+    }
+
+    private int cabinetId(String name) {
+        return cabinetIds.computeIfAbsent(name, n -> {
+            cabinets.add(n);
+            return cabinets.size() - 1;
+        });
+    }
+
+    private void add(HighScoreEntry e, int cabinet) {
+        if (e.getTimestamp() <= 0 && !keepUndated) {
+            undated++;
+            return;
+        }
+        long t = ((e.getTimestamp() & TIMESTAMP_MASK) << 18) | packInitials(e.getInitials());
+        long inverted = Integer.MAX_VALUE - (long) Math.max(0, e.getScore());
+        addPacked((inverted << 32) | (t >>> 32), (t << 32) | cabinet);
+    }
+
+    private void addPacked(long a, long b) {
+        read++;
+        if (buffered == runSize) {
+            try {
+                spillRun();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        w0[buffered] = a;
+        w1[buffered] = b;
+        buffered++;
+    }
+
+    // --- Runs ---
+
+    /**
+     * Sorts the buffer and writes it as a run, dropping duplicates already here.
+     */
+    private void spillRun() throws IOException {
+        if (buffered == 0) return;
+        radixSort(buffered);
+        File run = new File(tempDir, "run-" + runs.size() + ".tmp");
+        try (RecordWriter w = new RecordWriter(run, 0)) {
+            for (int i = 0; i < buffered; i++) {
+                if (i > 0 && w0[i] == w0[i - 1] && w1[i] == w1[i - 1]) {
+                    duplicates++;
+                    continue;
+                }
+                w.put(w0[i], w1[i]);
+            }
+        }
+        runs.add(run);
+        buffered = 0;
+    }
+
+    /**
+     * LSD radix sort on 16-bit digits, least significant first (w1 low .. w0 high).
+     * Passes where every entry has the same digit are skipped, which with real scores and
+     * few cabinets is most of the high halves.
+     */
+    private void radixSort(int n) {
+        int[] counts = new int[1 << 16];
+        long[] a0 = w0, a1 = w1, b0 = s0, b1 = s1;
+        for (int pass = 0; pass < 8; pass++) {
+            long[] digitWord = pass < 4 ? a1 : a0;
+            int shift = (pass % 4) * 16;
+
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) counts[(int) (digitWord[i] >>> shift) & 0xFFFF]++;
+            if (counts[(int) (digitWord[0] >>> shift) & 0xFFFF] == n) continue;
+
+            for (int d = 0, sum = 0; d < counts.length; d++) {
+                int c = counts[d];
+                counts[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int dst = counts[(int) (digitWord[i] >>> shift) & 0xFFFF]++;
+                b0[dst] = a0[i];
+                b1[dst] = a1[i];
+            }
+            long[] t0 = a0, t1 = a1;
+            a0 = b0;
+            a1 = b1;
+            b0 = t0;
+            b1 = t1;
+        }
+        w0 = a0;
+        w1 = a1;
+        s0 = b0;
+        s1 = b1;
+    }
+
+    // --- Merge ---
+
+    /**
+     * K-way merge of sorted runs into a writer, dropping duplicates.
+     * @param topLines If not null, receives the text lines of the first 'top' entries.
+     */
+    private void mergeRuns(List<File> inputs, RecordWriter out, List<String> topLines, int top) throws IOException {
+        int k = inputs.size();
+        if (k == 0) return;
+        // The sort buffers are gone: spend about as much on read buffers
+        int bufferBytes = (int) Math.max(MIN_READ_BUFFER, Math.min(WRITE_BUFFER, (long) runSize * 4 * 8 / k));
+
+        List<FileChannel> channels = new ArrayList<>();
+        RecordReader[] readers = new RecordReader[k];
+        int[] heap = new int[k];
+        int size = 0;
+        try {
+            for (int i = 0; i < k; i++) {
+                FileChannel ch = FileChannel.open(inputs.get(i).toPath(), StandardOpenOption.READ);
+                channels.add(ch);
+                readers[i] = new RecordReader(ch, 0, ch.size() / RECORD, bufferBytes);
+                if (readers[i].next()) heap[size++] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, readers);
+
+            long last0 = -1, last1 = -1;
+            boolean any = false;
+            long rank = 0;
+            while (size > 0) {
+                RecordReader r = readers[heap[0]];
+                if (any && r.w0 == last0 && r.w1 == last1) {
+                    duplicates++;
+                } else {
+                    out.put(r.w0, r.w1);
+                    last0 = r.w0;
+                    last1 = r.w1;
+                    any = true;
+                    if (topLines != null && rank < top) topLines.add(formatTop(++rank, r.w0, r.w1));
+                }
+                if (!r.next()) heap[0] = heap[--size];
+                siftDown(heap, size, 0, readers);
+            }
+        } finally {
+            for (FileChannel ch : channels) ch.close();
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int i, RecordReader[] readers) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) return;
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(readers[heap[right]], readers[heap[left]])) smallest = right;
+            if (!less(readers[heap[smallest]], readers[heap[i]])) return;
+            int t = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = t;
+            i = smallest;
+        }
+    }
+
+    private static boolean less(RecordReader a, RecordReader b) {
+        if (a.w0 != b.w0) return Long.compareUnsigned(a.w0, b.w0) < 0;
+        return Long.compareUnsigned(a.w1, b.w1) < 0;
+    }
+
+    // --- Records ---
+
+    private static final DateTimeFormatter DATE =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private String formatTop(long rank, long a, long b) {
+        long t = (a << 32) | (b >>> 32);
+        int score = (int) (Integer.MAX_VALUE - (a >>> 32));
+        long timestamp = t >>> 18;
+        String date = timestamp == 0 ? "-" : DATE.format(Instant.ofEpochMilli(timestamp));
+        return String.format("%6d  %-3s  %9d  %-20s  %s",
+                rank, unpackInitials(t), score, cabinets.get((int) b), date);
+    }
+
+    /**
+     * Three initials in 6 bits each: 0 = none, A-Z, 0-9, then ' ' and '?' (anything else).
+     */
+    private static long packInitials(String initials) {
+        long packed = 0;
+        for (int i = 0; i < 3; i++) {
+            int code = 0;
+            if (initials != null && i < initials.length()) {
+                char c = initials.charAt(i);
+                if (c >= 'A' && c <= 'Z') code = 1 + c - 'A';
+                else if (c >= '0' && c <= '9') code = 27 + c - '0';
+                else if (c == ' ') code = 37;
+                else code = 38;
+            }
+            packed = (packed << 6) | code;
+        }
+        return packed;
+    }
+
+    private static String unpackInitials(long t) {
+        StringBuilder sb = new StringBuilder(3);
+        for (int i = 2; i >= 0; i--) {
+            int code = (int) (t >>> (i * 6)) & 0x3F;
+            if (code == 0) continue;
+            if (code <= 26) sb.append((char) ('A' + code - 1));
+            else if (code <= 36) sb.append((char) ('0' + code - 27));
+            else sb.append(code == 37 ? ' ' : '?');
+        }
+        return sb.toString();
+    }
+
+    private byte[] header(long count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(count);
+        out.writeInt(cabinets.size());
+        for (String name : cabinets) {
+            byte[] text = name.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(text.length);
+            out.write(text);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeHeader(File file, byte[] header) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(header), 0);
+        }
+    }
+
+    /**
+     * Appends packed records to a file through one large direct buffer.
+     */
+    private static final class RecordWriter implements AutoCloseable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER);
+        long count = 0;
+
+        RecordWriter(File file, long offset) throws IOException {
+            ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ch.position(offset);
+        }
+
+        void put(long a, long b) throws IOException {
+            if (buf.remaining() < RECORD) drain();
+            buf.putLong(a).putLong(b);
+            count++;
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+            ch.close();
+        }
+    }
+
+    /**
+     * Reads packed records from a file region; the current one is in w0/w1.
+     */
+    private static final class RecordReader {
+        private final FileChannel ch;
+        private final ByteBuffer buf;
+        private long position;
+        private long left;
+        long w0, w1;
+
+        RecordReader(FileChannel ch, long offset, long count, int bufferBytes) {
+            this.ch = ch;
+            this.buf = ByteBuffer.allocateDirect(bufferBytes / RECORD * RECORD);
+            this.position = offset;
+            this.left = count;
+            buf.flip(); // Empty
+        }
+
+        boolean next() throws IOException {
+            if (left == 0) return false;
+            if (buf.remaining() < RECORD) {
+                buf.compact();
+                while (buf.position() < RECORD) {
+                    int n = ch.read(buf, position);
+                    if (n < 0) throw new IOException("truncated leaderboard file");
+                    position += n;
+                }
+                buf.flip();
+            }
+            w0 = buf.getLong();
+            w1 = buf.getLong();
+            left--;
+            return true;
+        }
+    }
+
+    // --- Command line ---
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("-bench")) {
+            long entries = args.length > 1 ? Long.parseLong(args[1]) : 200_000_000L;
+            int cabinets = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+            benchmark(entries, cabinets);
+            return;
+        }
+
+        File out = new File("merged.lbm");
+        int top = DEFAULT_TOP;
+        int run = DEFAULT_RUN;
+        boolean undated = false;
+        List<File> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-out": out = new File(args[++i]); break;
+                case "-top": top = Integer.parseInt(args[++i]); break;
+                case "-run": run = Integer.parseInt(args[++i]); break;
+                case "-undated": undated = true; break;
+                default: inputs.add(new File(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: LeaderboardMerge [-out merged.lbm] [-top 100] [-run 4000000] [-undated] inputs...");
+            return;
+        }
+
+        File temp = new File(out.getAbsoluteFile().getParentFile(), out.getName() + ".runs");
+        new LeaderboardMerge(run, undated, temp).merge(inputs, out, new File(out.getPath() + ".top.txt"), top);
+        temp.delete();
+    }
+
+    /**
+     * Writes one .lbm per cabinet with random games (about 1% of them collected twice),
+     * merges them all and deletes everything afterwards.
+     */
+    private static void benchmark(long entries, int cabinetCount) throws IOException {
+        File dir = new File("leaderboard-bench");
+        File[] old = dir.listFiles();
+        if (old != null) for (File f : old) deleteTree(f);
+
+        System.out.println(String.format("📊 Writing %,d entries for %,d cabinets...", entries, cabinetCount));
+        SplittableRandom rng = new SplittableRandom(42);
+        long perCabinet = entries / cabinetCount;
+        long day = 24L * 3600 * 1000;
+        long from = 1_700_000_000_000L;
+        for (int c = 0; c < cabinetCount; c++) {
+            File cabinetDir = new File(dir, String.format("cab-%03d", c));
+            Files.createDirectories(cabinetDir.toPath());
+            LeaderboardMerge single = new LeaderboardMerge(0, false, dir);
+            single.cabinetId(cabinetDir.getName());
+            File file = new File(cabinetDir, "scores.lbm");
+            byte[] header = single.header(perCabinet);
+            try (RecordWriter w = new RecordWriter(file, header.length)) {
+                long a = 0, b = 0;
+                for (long i = 0; i < perCabinet; i++) {
+                    if (i == 0 || rng.nextInt(100) != 0) {
+                        int score = (int) Math.min(Integer.MAX_VALUE, (long) (-Math.log(1 - rng.nextDouble()) * 20_000));
+                        long t = ((from + rng.nextLong(30 * day)) << 18) | (1 + rng.nextInt(26)) << 12
+                                | (1 + rng.nextInt(26)) << 6 | (1 + rng.nextInt(26));
+                        a = ((Integer.MAX_VALUE - (long) score) << 32) | (t >>> 32);
+                        b = t << 32; // Cabinet 0 of this file
+                    }
+                    w.put(a, b); // Otherwise the previous game again
+                }
+            }
+            writeHeader(file, header);
+        }
+
+        File out = new File(dir, "merged.lbm");
+        new LeaderboardMerge(DEFAULT_RUN, false, new File(dir, "runs"))
+                .merge(List.of(dir), out, new File(dir, "merged.top.txt"), 10);
+        for (String line : Files.readAllLines(new File(dir, "merged.top.txt").toPath())) System.out.println(line);
+        deleteTree(dir);
+    }
+
+    private static void deleteTree(File f) {
+        File[] children = f.listFiles();
+        if (children != null) for (File c : children) deleteTree(c);
+        f.delete();
+    }
+}
@@ -0,0 +1,359 @@
+package com.game;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local leaderboard daemon shared by every cabinet on the host, so that only one process
+ * ever writes highscores.dat and the all-time index.
+ *
+ * Games connect over a Unix domain socket (LeaderboardClient). The table lives in memory:
+ * every client gets it on connect and again whenever it changes, and answers isHighScore
+ * and getScoreRank from that copy. Submissions are batched: everything received within
+ * BATCH_MILLIS is merged at once, costing one table write and one index flush.
+ *
+ * Protocol (ASCII lines, entries as INITIALS:SCORE:TIMESTAMP):
+ *   client: TOP | TABLE id e | POST id e
+ *   service: TOP e1 e2 ... | RANK id rank count fromRank e1 e2 e3 | SAVED id
+ * SAVED is sent once the table file holds the submission (or it did not make the table).
+ *
+ * Run: java -cp bin com.game.LeaderboardService [socket]
+ * and start the games with -Dfelix.leaderboard.socket=<same path>.
+ */
+public class LeaderboardService {
+
+    private static final long BATCH_MILLIS = 250;
+    private static final int BATCH_MAX = 64;
+    private static final int INDEX_CACHE_PAGES = 1024;
+    private static final long STOP_WAIT_MILLIS = 2000;
+
+    private final Path socketPath;
+    private final List<HighScoreEntry> table;
+    private final LeaderboardIndex index;
+
+    // Current batch
+    private final List<Submission> pendingTable = new ArrayList<>();
+    private final List<Submission> pendingPosts = new ArrayList<>();
+    private long batchStart = 0;
+
+    private final List<Connection> connections = new ArrayList<>();
+    private volatile Selector selector;
+
+    // The shutdown hook stops the serve loop and waits for it before the last commit
+    private volatile boolean running = true;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private static final class Submission {
+        final Connection from;
+        final String id;
+        final HighScoreEntry entry;
+        long rank; // POST only
+
+        Submission(Connection from, String id, HighScoreEntry entry) {
+            this.from = from;
+            this.id = id;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * One connected game: reassembles incoming lines and buffers what could not be sent yet.
+     */
+    private final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final StringBuilder line = new StringBuilder();
+        ByteBuffer out = ByteBuffer.allocate(0);
+
+        Connection(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            this.key = channel.register(selector, SelectionKey.OP_READ, this);
+        }
+
+        void send(String text) {
+            if (!channel.isOpen()) return;
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer joined = ByteBuffer.allocate(out.remaining() + bytes.length);
+            joined.put(out).put(bytes).flip();
+            out = joined;
+            flush();
+        }
+
+        void flush() {
+            try {
+                channel.write(out);
+                key.interestOps(out.hasRemaining() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already gone
+            }
+            connections.remove(this);
+        }
+    }
+
+    public LeaderboardService(Path socketPath, File indexFile) throws IOException {
+        this.socketPath = socketPath;
+        this.table = new ArrayList<>(HighScoreManager.loadHighScoresFile());
+        Collections.sort(table);
+        this.index = new LeaderboardIndex(indexFile, INDEX_CACHE_PAGES);
+    }
+
+    /**
+     * Serves until the process is stopped (see shutdown).
+     */
+    public void serve() throws IOException {
+        Files.deleteIfExists(socketPath); // Left over from a previous run
+        selector = Selector.open();
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            System.out.println("🏆 Leaderboard service on " + socketPath + " (" + table.size() + " table entries, "
+                    + index.size() + " indexed scores)");
+
+            while (running) {
+                long wait = pendingCount() == 0 ? 0 : Math.max(1, batchStart + BATCH_MILLIS - System.currentTimeMillis());
+                selector.select(wait);
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        SocketChannel channel = server.accept();
+                        if (channel == null) continue;
+                        channel.configureBlocking(false);
+                        connections.add(new Connection(channel));
+                        continue;
+                    }
+                    Connection c = (Connection) key.attachment();
+                    if (key.isReadable()) read(c);
+                    if (key.isValid() && key.isWritable()) c.flush();
+                }
+                selector.selectedKeys().clear();
+
+                if (pendingCount() > 0 && (pendingCount() >= BATCH_MAX
+                        || System.currentTimeMillis() - batchStart >= BATCH_MILLIS)) {
+                    commitBatch();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(socketPath);
+            stopped.countDown();
+        }
+    }
+
+    private void read(Connection c) {
+        ByteBuffer in = ByteBuffer.allocate(4096);
+        try {
+            int n;
+            while ((n = c.channel.read(in)) > 0) {
+                in.flip();
+                while (in.hasRemaining()) {
+                    char ch = (char) in.get();
+                    if (ch == '\n') {
+                        handle(c, c.line.toString());
+                        c.line.setLength(0);
+                    } else {
+                        c.line.append(ch);
+                    }
+                }
+                in.clear();
+            }
+            if (n < 0) c.close();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Dropping leaderboard client: " + e.getMessage());
+            c.close();
+        }
+    }
+
+    private synchronized void handle(Connection c, String line) {
+        String[] parts = line.split(" ");
+        if (pendingCount() == 0) batchStart = System.currentTimeMillis();
+        switch (parts[0]) {
+            case "TOP":
+                c.send(topLine());
+                break;
+            case "TABLE":
+                pendingTable.add(new Submission(c, parts[1], decode(parts[2])));
+                break;
+            case "POST":
+                pendingPosts.add(new Submission(c, parts[1], decode(parts[2])));
+                break;
+            default:
+                System.err.println("⚠️ Unknown leaderboard request: " + line);
+        }
+    }
+
+    private int pendingCount() {
+        return pendingTable.size() + pendingPosts.size();
+    }
+
+    /**
+     * Applies everything received since the last batch: one table write, one index flush.
+     */
+    private synchronized void commitBatch() {
+        long start = System.nanoTime();
+        int submissions = pendingCount();
+
+        // Table: merge, keep the best MAX_SCORES, write only if something made it in.
+        // The file is merged too: games that lost the service saved there meanwhile.
+        // Submitters are answered SAVED only once the file is written; if that fails they
+        // keep their entries pending and save them locally when the connection drops.
+        if (!pendingTable.isEmpty()) {
+            List<HighScoreEntry> before = new ArrayList<>(table);
+            table.addAll(savedElsewhere());
+            for (Submission t : pendingTable) table.add(t.entry);
+            Collections.sort(table);
+            while (table.size() > HighScoreManager.MAX_SCORES) table.remove(table.size() - 1);
+
+            boolean saved = table.equals(before) || HighScoreManager.saveHighScores(table);
+            if (!table.equals(before)) {
+                String top = topLine();
+                for (Connection c : new ArrayList<>(connections)) c.send(top);
+            }
+            if (saved) {
+                for (Submission t : pendingTable) t.from.send("SAVED " + t.id + "\n");
+            }
+            pendingTable.clear();
+        }
+
+        // Index: insert all, flush once, then answer with the ranks as they stand after the batch
+        if (!pendingPosts.isEmpty()) {
+            try {
+                for (Submission p : pendingPosts) {
+                    p.rank = index.insert(p.entry.getInitials(), p.entry.getScore(), p.entry.getTimestamp());
+                }
+                index.flush();
+                for (int i = 0; i < pendingPosts.size(); i++) {
+                    Submission p = pendingPosts.get(i);
+                    for (int j = i + 1; j < pendingPosts.size(); j++) {
+                        if (pendingPosts.get(j).entry.getScore() > p.entry.getScore()) p.rank++;
+                    }
+                    p.from.send(rankLine(p));
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Error writing the leaderboard index: " + e.getMessage());
+            }
+            pendingPosts.clear();
+        }
+
+        long us = (System.nanoTime() - start) / 1000;
+        System.out.println("💾 Leaderboard batch: " + submissions + " submissions in " + us + " us");
+    }
+
+    /**
+     * Entries in highscores.dat that are not in the in-memory table (matched by value,
+     * one file entry per table entry, so a repeated score stays repeated).
+     */
+    private List<HighScoreEntry> savedElsewhere() {
+        List<HighScoreEntry> unmatched = new ArrayList<>(table);
+        List<HighScoreEntry> extra = new ArrayList<>();
+        for (HighScoreEntry e : HighScoreManager.loadHighScoresFile()) {
+            boolean found = false;
+            for (int i = 0; i < unmatched.size() && !found; i++) {
+                HighScoreEntry t = unmatched.get(i);
+                if (t.getScore() == e.getScore() && Objects.equals(t.getInitials(), e.getInitials())) {
+                    unmatched.remove(i);
+                    found = true;
+                }
+            }
+            if (!found) extra.add(e);
+        }
+        return extra;
+    }
+
+    private String topLine() {
+        StringBuilder sb = new StringBuilder("TOP");
+        for (HighScoreEntry e : table) sb.append(' ').append(encode(e));
+        return sb.append('\n').toString();
+    }
+
+    private String rankLine(Submission p) throws IOException {
+        HighScoreManager.GlobalRank ranked = HighScoreManager.GlobalRank.of(index, p.rank);
+        StringBuilder sb = new StringBuilder("RANK ").append(p.id).append(' ').append(ranked.rank)
+                .append(' ').append(ranked.count).append(' ').append(ranked.fromRank);
+        for (HighScoreEntry e : ranked.neighbours) sb.append(' ').append(encode(e));
+        return sb.append('\n').toString();
+    }
+
+    /**
+     * Shutdown hook: stops the serve loop, then flushes the pending batch and closes the index.
+     */
+    private void shutdown() {
+        running = false;
+        if (selector != null) selector.wakeup();
+        try {
+            if (!stopped.await(STOP_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                System.err.println("⚠️ Leaderboard serve loop did not stop, committing anyway");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (pendingCount() > 0) commitBatch();
+            index.close();
+            Files.deleteIfExists(socketPath);
+            System.out.println("🏆 Leaderboard service stopped");
+        } catch (IOException e) {
+            System.err.println("❌ Error closing the leaderboard index: " + e.getMessage());
+        }
+    }
+
+    // --- Wire format ---
+
+    static String encode(HighScoreEntry e) {
+        return encode(e.getInitials(), e.getScore(), e.getTimestamp());
+    }
+
+    /**
+     * INITIALS:SCORE:TIMESTAMP, with anything but letters, digits and '?' in the initials turned into '?'.
+     */
+    static String encode(String initials, int score, long timestamp) {
+        StringBuilder sb = new StringBuilder(3);
+        String text = initials == null || initials.isEmpty() ? "???" : initials;
+        for (int i = 0; i < Math.min(3, text.length()); i++) {
+            char c = text.charAt(i);
+            sb.append((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ? c : '?');
+        }
+        return sb.append(':').append(score).append(':').append(timestamp).toString();
+    }
+
+    static HighScoreEntry decode(String text) {
+        String[] fields = text.split(":");
+        return new HighScoreEntry(fields[0], Integer.parseInt(fields[1]), Long.parseLong(fields[2]));
+    }
+
+    public static void main(String[] args) throws IOException {
+        String socket = args.length > 0 ? args[0] : GameConfig.get("leaderboard.socket", "leaderboard.sock");
+        // This process is the service: HighScoreManager must use the files, not connect to itself
+        System.setProperty("felix.leaderboard.socket", "");
+
+        LeaderboardService service = new LeaderboardService(Path.of(socket),
+                new File(GameConfig.get("leaderboard.file", "leaderboard.idx")));
+        Runtime.getRuntime().addShutdownHook(new Thread(service::shutdown));
+        service.serve();
+    }
+}
@@ -0,0 +1,114 @@
+package com.game;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Builds the next level on a background thread while the current one is torn down
+ * (Ralph's destruction cutscene, the victory cutscene, the scroll), so that when the
+ * scroll ends the game thread only swaps the finished level in.
+ *
+ * A prepared level holds what GamePanel.rebuildLevel used to compute on the spot:
+ * the stage layout with its window set reset, the pre-rendered background layer and
+ * the difficulty values for Ralph and the ducks.
+ */
+public class LevelPipeline {
+
+    private static final GameLog.Channel log = GameLog.channel("level");
+
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-builder");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1); // Below the game thread
+        return t;
+    });
+
+    /**
+     * Everything needed to start a level. Built once, never modified afterwards.
+     */
+    public static final class PreparedLevel {
+        public final int level;
+        public final StageLayout layout;
+        public final WindowSet windows;        // Reset for the level (broken/repaired windows)
+        public final BufferedImage background; // Static layer for GamePanel, null if the screen has no size yet
+        public final int backgroundY;          // Building offset the layer was rendered at
+        public final Ralph.Difficulty ralphDifficulty;
+        public final Duck.Difficulty duckDifficulty;
+
+        private PreparedLevel(int level, LivelloCompletato stage, WindowSet windows, BufferedImage background, int backgroundY) {
+            this.level = level;
+            this.layout = stage.prepareStage(level, windows);
+            this.windows = windows;
+            this.background = background;
+            this.backgroundY = backgroundY;
+            this.ralphDifficulty = new Ralph.Difficulty(level);
+            this.duckDifficulty = new Duck.Difficulty(level);
+        }
+    }
+
+    private Future<PreparedLevel> pending;
+    private int pendingLevel = -1;
+
+    /**
+     * Starts building a level in the background.
+     * @param stage Layout source (fixed templates or the endless building).
+     * @param windows Window set the level will use; the game thread must not touch it until take().
+     * @param backgroundY Building offset the level will start at.
+     * @param background Renders the static layer (runs on the worker).
+     */
+    public void prepare(int level, LivelloCompletato stage, WindowSet windows, int backgroundY,
+                        Supplier<BufferedImage> background) {
+        cancel();
+        pendingLevel = level;
+        pending = worker.submit(() -> build(level, stage, windows, backgroundY, background));
+    }
+
+    /**
+     * Returns the prepared level, waiting for the worker if it is not done yet.
+     * Falls back to building it on the calling thread when nothing (or another level) was prepared.
+     */
+    public PreparedLevel take(int level, LivelloCompletato stage, WindowSet windows, int backgroundY,
+                              Supplier<BufferedImage> background) {
+        Future<PreparedLevel> job = pending;
+        int jobLevel = pendingLevel;
+        pending = null;
+        pendingLevel = -1;
+
+        if (job != null) {
+            // Always wait: a stale job may still be resetting the same window set
+            try {
+                PreparedLevel prepared = job.get();
+                if (jobLevel == level) return prepared;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("❌ Level {} preparation failed: {}", jobLevel, e.getCause());
+            }
+        }
+        log.warn("⚠️ Level {} was not prepared in advance, building it now", level);
+        return build(level, stage, windows, backgroundY, background);
+    }
+
+    /**
+     * Drops the pending level (game restart). The window set it was given is discarded with it.
+     */
+    public void cancel() {
+        if (pending != null) pending.cancel(false);
+        pending = null;
+        pendingLevel = -1;
+    }
+
+    private static PreparedLevel build(int level, LivelloCompletato stage, WindowSet windows, int backgroundY,
+                                       Supplier<BufferedImage> background) {
+        long start = System.nanoTime();
+        PreparedLevel prepared = new PreparedLevel(level, stage, windows, background.get(), backgroundY);
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        log.info("🏗️ Level {} prepared in {} ms", level, ms);
+        GameMetrics.set("level.prepare.ms", ms);
+        return prepared;
+    }
+}
@@ -37,8 +37,7 @@ public class LevelTransitionManager {
         int piano = getPianoForLevel(numeroLivello);
         
         // Set Position
-        player.x = FELIX_START_X;
-        player.y = FELIX_Y_POSITIONS[piano];
+        player.setPosition(FELIX_START_X, FELIX_Y_POSITIONS[piano]);
         
         // Reset Physics/State
         player.setDefaultValues();
@@ -78,7 +77,7 @@ public class LevelTransitionManager {
     public boolean isFelixInCorrectPosition() {
         int expectedY = FELIX_Y_POSITIONS[getPianoForLevel(livelloN.getNumeroLivello())];
         int tolerance = 5; // Pixel tolerance
-        return Math.abs(player.y - expectedY) <= tolerance;
+        return Math.abs(player.getY() - expectedY) <= tolerance;
     }
     
     // Accessors for external debug tools
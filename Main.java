@@ -2,7 +2,6 @@ package com.game;
 
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.event.KeyAdapter;
@@ -16,10 +15,16 @@ import java.awt.event.KeyEvent;
 public class Main {
 
     public static void main(String[] args) {
+        // 0. Select the Java2D pipeline (must happen before any AWT/Swing class starts up)
+        RenderPipelineProbe.applyConfiguredPipeline(args);
+
         // 1. Initialize Sound System
         // Maps "snd/" calls to the "res/" folder
         SoundEffects.init("res/");
 
+        // Lifetime player stats load on their own thread while the menu starts
+        PlayerStats.get();
+
         // 2. Show Menu
         // We create the window on the GUI thread, but WAIT on the Main thread.
         final Menu[] menuContainer = new Menu[1];
@@ -77,9 +82,8 @@ public class Main {
                 }
             });
 
-            // 4. Preload Sounds & Start Timers
+            // 4. Preload Sounds (intro sound cues are scheduled by CutsceneManager)
             preloadSounds();
-            startGameTimers();
 
             // Show Window and Start Loop
             window.setVisible(true);
@@ -106,27 +110,4 @@ public class Main {
             SoundEffects.loadSound("shatter" + i, "snd/shatter" + i + ".wav");
         }
     }
-
-    private static void startGameTimers() {
-        // Timers for intro voice lines and effects
-        Timer timerVoice0 = new Timer(25000, e -> SoundEffects.playSound("voice0"));
-        timerVoice0.setRepeats(false);
-        timerVoice0.start();
-
-        Timer timerPiccone = new Timer(22000, e -> SoundEffects.playSound("piccone"));
-        timerPiccone.setRepeats(false);
-        timerPiccone.start();
-
-        Timer timerVoice4 = new Timer(6000, e -> SoundEffects.playSound("voice4"));
-        timerVoice4.setRepeats(false);
-        timerVoice4.start();
-
-        Timer timerStopConstruction = new Timer(5000, e -> SoundEffects.stopSound("costruzioneTorre"));
-        timerStopConstruction.setRepeats(false);
-        timerStopConstruction.start();
-
-        Timer timerRalphAngry = new Timer(5300, e -> SoundEffects.playSound("ralph_angry"));
-        timerRalphAngry.setRepeats(false);
-        timerRalphAngry.start();
-    }
 }
\ No newline at end of file
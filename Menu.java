@@ -2,6 +2,8 @@ package com.game;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 import javax.swing.*;
 
 /**
@@ -13,6 +15,13 @@ public class Menu extends JFrame {
     private final BufferedImage[] digitImages = new BufferedImage[10];
     private int record = 0;
 
+    // Lifetime stats of the players in the high score table, shown in turn
+    private static final int STATS_ROTATE_MILLIS = 3000;
+    private final List<PlayerStats.Totals> statsShown = new ArrayList<>();
+    private int statsIndex = 0;
+    private Timer statsTimer;
+    private Font statsFont;
+
     // Menu Actions
     public static final int START = 1;
     public static final int EXIT = 2;
@@ -37,6 +46,7 @@ public class Menu extends JFrame {
 
         // Load High Score
         record = HighScoreManager.loadHighScore();
+        loadPlayerStats();
 
         // Window Setup
         setTitle("Fix-it FELIX - Menu");
@@ -79,11 +89,19 @@ public class Menu extends JFrame {
 
                 // Draw High Score Digits
                 drawHighScore(g);
+                drawPlayerStats(g);
             }
         };
         panel.setBackground(Color.BLACK);
         panel.setLayout(null);
 
+        statsTimer = new Timer(STATS_ROTATE_MILLIS, e -> {
+            if (statsShown.size() < 2) return; // Also while the stats are still loading
+            statsIndex = (statsIndex + 1) % statsShown.size();
+            panel.repaint(0, 700, 600, 100);
+        });
+        statsTimer.start();
+
         // "Record" Label Image
         ImageIcon recordIcon = new ImageIcon(ResourceManager.get().getImage("/intro/Record.png"));
         ImageIcon scaledRecordIcon = scaleImage(recordIcon, 250, 200);
@@ -181,6 +199,43 @@ public class Menu extends JFrame {
         }
     }
 
+    /**
+     * Shows the table's players that have lifetime stats once the stats have loaded
+     * (they load on their own thread, the menu does not wait for them).
+     */
+    private void loadPlayerStats() {
+        statsFont = ResourceManager.get().getFont().deriveFont(Font.BOLD, 16f);
+        PlayerStats.get().whenLoaded(() -> SwingUtilities.invokeLater(this::pickPlayerStats));
+    }
+
+    /**
+     * Picks the table's players that have lifetime stats (in-memory lookups). EDT.
+     */
+    private void pickPlayerStats() {
+        PlayerStats stats = PlayerStats.get();
+        for (HighScoreEntry e : HighScoreManager.loadHighScores()) {
+            PlayerStats.Totals t = stats.lookup(e.getInitials());
+            if (t != null && !statsShown.contains(t)) statsShown.add(t);
+        }
+        repaint();
+    }
+
+    private void drawPlayerStats(Graphics g) {
+        if (statsShown.isEmpty()) return;
+        PlayerStats.Totals t = statsShown.get(statsIndex);
+        int best = t.getBestClearMillis(1);
+        String line1 = t.initials + "  " + t.games + " GAMES  LEVEL " + t.highestLevel;
+        String line2 = t.windowsRepaired + " WINDOWS  " + t.piesEaten + " PIES  "
+                + (best > 0 ? String.format("LV1 %d.%ds", best / 1000, best % 1000 / 100) : "");
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setFont(statsFont);
+        g2.setColor(Color.WHITE);
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(line1, (getWidth() - fm.stringWidth(line1)) / 2, 725);
+        g2.drawString(line2, (getWidth() - fm.stringWidth(line2)) / 2, 750);
+    }
+
     private void loadDigitImages() {
         for (int i = 0; i < 10; i++) {
             // Use ResourceManager to get digits
@@ -213,6 +268,7 @@ public class Menu extends JFrame {
             SoundEffects.playSound("game_start");
         }
         SoundEffects.stopSound("intro1");
+        if (statsTimer != null) statsTimer.stop();
         dispose(); // Close Menu Window
         notifyAll(); // Wake up Main thread
     }
@@ -8,10 +8,12 @@ import java.util.Random;
 /**
  * Represents the Pie (Bonus item) that spawns in windows.
  * Contains logic for the spawning animation (citizen placing pie) and consumption.
+ * Position, hitbox and the idle pulse live in an EntityStore row while the pie is active.
  */
 public class Pie {
     
-    private int x, y;
+    private final EntityStore.Archetype body =
+        new EntityStore.Archetype("pie", EntityStore.HITBOX | EntityStore.ANIMATION, 1);
     private boolean active = false;
     private boolean spawning = false;
     private boolean spawned = false;
@@ -34,26 +36,26 @@ public class Pie {
     private static final int SPAWN_ANIMATION_SPEED = 15;
     private static final int FRAME_2_DURATION = 45; // Longer pause when placing pie
     
-    // Pie Idle Animation
-    private int pieFrame = 0;
-    private int pieFrameCounter = 0;
+    // Pie Idle Animation (two frames)
     private static final int PIE_ANIMATION_SPEED = 30;
     
     // Transition state (showing both citizen and pie)
     private boolean showingTransition = false; 
     
     // Hitbox
-    private final Rectangle hitbox;
     private static final int HITBOX_WIDTH = 25;
     private static final int HITBOX_HEIGHT = 15;
     
     private static final int SPRITE_SCALE = 2;
+    private int[] spriteSize; // Largest scaled sprite, for dirty-region tracking
     
     public Pie() {
         abitanti = new BufferedImage[NUM_ABITANTI][2];
         random = new Random();
-        hitbox = new Rectangle(0, 0, HITBOX_WIDTH, HITBOX_HEIGHT);
         loadImages();
+        spriteSize = DirtyRegionTracker.maxScaledSize(SPRITE_SCALE,
+            abitanti[0][0], abitanti[0][1], abitanti[1][0], abitanti[1][1],
+            abitanti[2][0], abitanti[2][1], torta1, torta2);
     }
     
     private void loadImages() {
@@ -81,8 +83,10 @@ public class Pie {
      */
     public void spawn(Rectangle windowPosition) {
         if (!active && !consumed) {
-            this.x = windowPosition.x;
-            this.y = windowPosition.y;
+            body.clear();
+            int i = body.add(windowPosition.x, windowPosition.y);
+            body.setHitbox(i, 0, 0, HITBOX_WIDTH, HITBOX_HEIGHT);
+            body.setAnimation(i, 2, PIE_ANIMATION_SPEED);
             this.active = true;
             this.spawning = true;
             this.spawned = false;
@@ -95,9 +99,6 @@ public class Pie {
             // Pick random citizen
             currentAbitante = random.nextInt(NUM_ABITANTI);
             
-            // Sync Hitbox
-            hitbox.setLocation(x, y);
-            
             // System.out.println("🍰 Pie spawned at " + x + "," + y); // Debug
         }
     }
@@ -131,11 +132,7 @@ public class Pie {
         
         // 2. Idle Phase (Pie pulsing)
         if (spawned && !eating) {
-            pieFrameCounter++;
-            if (pieFrameCounter >= PIE_ANIMATION_SPEED) {
-                pieFrameCounter = 0;
-                pieFrame = (pieFrame + 1) % 2;
-            }
+            body.animate();
         }
     }
     
@@ -143,6 +140,8 @@ public class Pie {
         if (!active) return;
         
         BufferedImage currentImage = null;
+        int x = body.x[0];
+        int y = body.y[0];
         
         // Draw Citizen Animation
         if (spawning) {
@@ -171,7 +170,7 @@ public class Pie {
         }
         // Draw Pie Alone
         else if (spawned && !eating) {
-            currentImage = (pieFrame == 0) ? torta1 : torta2;
+            currentImage = (body.frame[0] == 0) ? torta1 : torta2;
             
             if (currentImage != null) {
                 int width = currentImage.getWidth() * SPRITE_SCALE;
@@ -181,9 +180,18 @@ public class Pie {
         }
     }
     
+    /**
+     * Reports the pie (or the citizen placing it) to the dirty-region tracker.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        if (active) {
+            tracker.add(body.x[0] + 6, body.y[0] + 23, spriteSize[0], spriteSize[1]);
+        }
+    }
+    
     public boolean checkCollision(Rectangle felixHitbox) {
         if (spawned && !eating && !consumed) {
-            return hitbox.intersects(felixHitbox);
+            return body.hitboxIntersects(0, felixHitbox);
         }
         return false;
     }
@@ -195,6 +203,7 @@ public class Pie {
     }
     
     public void consume() {
+        body.clear();
         consumed = true;
         active = false;
         spawned = false;
@@ -202,13 +211,13 @@ public class Pie {
     }
     
     public void reset() {
+        body.clear();
         active = false;
         spawning = false;
         spawned = false;
         eating = false;
         consumed = false;
         spawnFrame = 0;
-        pieFrame = 0;
         showingTransition = false;
     }
     
@@ -217,5 +226,4 @@ public class Pie {
     public boolean isSpawned() { return spawned; }
     public boolean isEating() { return eating; }
     public boolean isConsumed() { return consumed; }
-    public Rectangle getHitbox() { return hitbox; }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.game;
 
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 
 /**
@@ -10,6 +11,8 @@ import java.awt.image.BufferedImage;
  */
 public class Player extends Entity {
 
+    private static final GameLog.Channel log = GameLog.channel("player");
+
     private final GamePanel gp;
     private final KeyHandler keyH;
     private final CollisionManager collisionManager;
@@ -28,14 +31,15 @@ public class Player extends Entity {
     
     // Death Sprites
     private BufferedImage death1, death2, death3, death4;
-    private final BufferedImage[] finalDeathSprites = new BufferedImage[9];
-    
-    // Eating Sprites
-    private final BufferedImage[] eatingLeft = new BufferedImage[7];
-    private final BufferedImage[] eatingRight = new BufferedImage[7];
+
+    // --- Animation Clips (animations.properties) ---
+    private SpriteAnimation.Clip walkLeft, walkRight;
+    private SpriteAnimation.Clip eatLeft, eatRight;
+    private SpriteAnimation.Clip finalDeathClip;
+    private SpriteAnimation.Cursor walkAnimation;
+    private SpriteAnimation.Cursor actionAnimation; // Eating or final death
 
     // --- Animation State ---
-    private int animationFrame = 0;
     private int frameCounter = 0;
     private final int animationSpeed = 5;
     private boolean isMoving = false;
@@ -78,6 +82,14 @@ public class Player extends Entity {
     // --- Gameplay Status ---
     private boolean isActive = true;
     private int felixHealth = 4;
+
+    // Lives HUD: one head per spare life, drawn left to right from HEAD_X
+    private static final int HEAD_X = 400;
+    private static final int HEAD_Y = -20;
+    private static final int HEAD_WIDTH = 80;
+    private static final int HEAD_HEIGHT = 90;
+    private static final int HEAD_SPACING = 30;
+    private static final int HEAD_COUNT = 3;
     
     // Invulnerability / PowerUp
     private boolean isPoweredUp = false;
@@ -99,18 +111,10 @@ public class Player extends Entity {
     private boolean felixFinalDeath = false; // Trigger for final animation
     
     // Final Death Animation
-    private int finalDeathAnimationFrame = 0;
-    private int finalDeathAnimationCounter = 0;
-    private static final int FINAL_DEATH_ANIMATION_SPEED = 15;
-    private static final int MAX_FINAL_DEATH_FRAMES = 9;
     private boolean finalDeathAnimationComplete = false;
 
     // Eating Animation
     private boolean isEating = false;
-    private int eatingAnimationFrame = 0;
-    private int eatingAnimationCounter = 0;
-    private static final int EATING_ANIMATION_SPEED = 8;
-    private static final int MAX_EATING_FRAMES = 7;
 
     // Visuals
     private boolean isFelixHead1Visible = true;
@@ -119,6 +123,10 @@ public class Player extends Entity {
     private boolean felixVisible = true;
     private long lastBlinkTime = 0;
 
+    // Dirty-region tracking (largest scaled sprite, lives shown at last mark)
+    private int[] spriteSize;
+    private int lastMarkedHealth = -1;
+
     public Player(GamePanel gp, KeyHandler keyH, CollisionManager collisionManager) {
         this.gp = gp;
         this.keyH = keyH;
@@ -136,7 +144,7 @@ public class Player extends Entity {
         x = 1052;
         y = 764;
         speed = 4;
-        direction = "left";
+        facing = EntityStore.FACING_LEFT;
     }
 
     private void loadImages() {
@@ -175,16 +183,29 @@ public class Player extends Entity {
         felixHead2 = rm.getImage("/felix/felixHead.png");
         felixHead3 = rm.getImage("/felix/felixHead.png");
 
-        // Eating Sequence
-        for (int i = 0; i < MAX_EATING_FRAMES; i++) {
-            eatingLeft[i] = rm.getImage("/felix/TortaL" + (i + 1) + ".png");
-            eatingRight[i] = rm.getImage("/felix/TortaR" + (i + 1) + ".png");
-        }
-
-        // Final Death Sequence
-        for (int i = 0; i < MAX_FINAL_DEATH_FRAMES; i++) {
-            finalDeathSprites[i] = rm.getImage("/felix/FDeath" + (i + 1) + ".png");
-        }
+        // Walking, Eating and Final Death Sequences
+        walkLeft = SpriteAnimation.getClip("felix.walk.left");
+        walkRight = SpriteAnimation.getClip("felix.walk.right");
+        eatLeft = SpriteAnimation.getClip("felix.eat.left");
+        eatRight = SpriteAnimation.getClip("felix.eat.right");
+        finalDeathClip = SpriteAnimation.getClip("felix.finaldeath");
+        walkAnimation = new SpriteAnimation.Cursor(walkLeft);
+        actionAnimation = new SpriteAnimation.Cursor(eatLeft);
+
+        // Conservative sprite box for dirty-region tracking (all sprites are drawn at 2x)
+        BufferedImage[] all = {
+            left1, left2, left3, right1, right2, right3, steadyR, steadyL, fixR, fixL,
+            changeDirectionL, changeDirectionR, jumpL, jumpR, goingDownL, goingDownR,
+            death1, death2, death3, death4
+        };
+        int[] base = DirtyRegionTracker.maxScaledSize(2, all);
+        int[] eating = DirtyRegionTracker.maxScaledSize(2, eatLeft.getFrames());
+        int[] eatingR = DirtyRegionTracker.maxScaledSize(2, eatRight.getFrames());
+        int[] dying = DirtyRegionTracker.maxScaledSize(2, finalDeathClip.getFrames());
+        spriteSize = new int[] {
+            Math.max(Math.max(base[0], eating[0]), Math.max(eatingR[0], dying[0])),
+            Math.max(Math.max(base[1], eating[1]), Math.max(eatingR[1], dying[1]))
+        };
     }
 
     @Override
@@ -217,7 +238,7 @@ public class Player extends Entity {
         }
 
         // Immunity Blink
-        if (isDead && (System.currentTimeMillis() - deathTimeStart) < IMMUNITY_TIME) {
+        if (isDead && (GameClock.now() - deathTimeStart) < IMMUNITY_TIME) {
             return;
         }
 
@@ -240,12 +261,13 @@ public class Player extends Entity {
             isFixing = true;
             fixAnimationCount = 0;
             SoundEffects.playSound("hammer");
+            markConsumed(KeyEvent.VK_SPACE);
         }
 
         if (isFixing) {
             hitboxMartello = new Rectangle(x + OFFSET_X_MARTELLO, y + OFFSET_Y_MARTELLO, HITBOX_MARTELLO_WIDTH, HITBOX_MARTELLO_HEIGHT);
             frameCounter++;
-            if ("left".equals(direction)) {
+            if (isFacingLeft()) {
                 hitboxMartello.x -= offsetXLeft - 7;
             }
             if (frameCounter >= animationSpeed) {
@@ -265,19 +287,22 @@ public class Player extends Entity {
             startY = y;
             SoundEffects.stopSound("jump");
             SoundEffects.playSound("jump");
+            markConsumed(KeyEvent.VK_UP);
         }
         
         // Direction Change Logic
         if (!isJumping && !isFalling && !isFixing && !isChangingDirection && !isGoingDown) {
-            if (keyH.leftPressed && !"left".equals(direction)) {
+            if (keyH.leftPressed && !isFacingLeft()) {
                 isChangingDirection = true;
                 changeDirectionCounter = 0;
-                direction = "left";
+                facing = EntityStore.FACING_LEFT;
+                markConsumed(KeyEvent.VK_LEFT);
             }
-            if (keyH.rightPressed && !"right".equals(direction)) {
+            if (keyH.rightPressed && isFacingLeft()) {
                 isChangingDirection = true;
                 changeDirectionCounter = 0;
-                direction = "right";
+                facing = EntityStore.FACING_RIGHT;
+                markConsumed(KeyEvent.VK_RIGHT);
             }
         }
 
@@ -294,6 +319,16 @@ public class Player extends Entity {
             ignoreCollision = true;
             ignoreCollisionCounter = 0;
             SoundEffects.playSound("jumpdown");
+            markConsumed(KeyEvent.VK_DOWN);
+        }
+    }
+
+    /**
+     * Reports a fresh key press that this tick acted on to the latency instrumentation.
+     */
+    private void markConsumed(int keyCode) {
+        if (keyH.wasPressed(keyCode)) {
+            InputLatency.consumed(keyH.getPressWhen(keyCode), keyH.getPressNanos(keyCode));
         }
     }
 
@@ -335,14 +370,10 @@ public class Player extends Entity {
         // Walking
         if (!isJumping && !isFixing && !isChangingDirection && !isGoingDown) {
             if (keyH.leftPressed || keyH.rightPressed) {
-                frameCounter++;
-                if (frameCounter >= animationSpeed) {
-                    animationFrame = (animationFrame + 1) % 4;
-                    frameCounter = 0;
-                }
+                walkAnimation.advance();
                 handleHorizontalMovement();
             } else {
-                animationFrame = 0;
+                walkAnimation.restart();
             }
         }
 
@@ -357,21 +388,23 @@ public class Player extends Entity {
 
     private void handleHorizontalMovement() {
         if (keyH.leftPressed) {
-            direction = "left";
+            facing = EntityStore.FACING_LEFT;
             x -= speed;
             isMoving = true;
+            markConsumed(KeyEvent.VK_LEFT);
         }
         if (keyH.rightPressed) {
-            direction = "right";
+            facing = EntityStore.FACING_RIGHT;
             x += speed;
             isMoving = true;
+            markConsumed(KeyEvent.VK_RIGHT);
         }
     }
 
     private void updateHitboxes() {
-        if ("left".equals(direction)) {
+        if (isFacingLeft()) {
             solidArea.x = x + offsetXLeft;
-        } else if ("right".equals(direction)) {
+        } else {
             solidArea.x = x + offsetXRight;
         }
         solidArea.y = y + 16;
@@ -397,43 +430,32 @@ public class Player extends Entity {
     }
 
     private void updateFinalDeath() {
-        finalDeathAnimationCounter++;
-        if (finalDeathAnimationCounter >= FINAL_DEATH_ANIMATION_SPEED) {
-            finalDeathAnimationCounter = 0;
-            finalDeathAnimationFrame++;
-
-            if (finalDeathAnimationFrame >= MAX_FINAL_DEATH_FRAMES) {
-                finalDeathAnimationFrame = MAX_FINAL_DEATH_FRAMES - 1;
-                finalDeathAnimationComplete = true;
-            }
+        // The clip holds its last frame once finished
+        actionAnimation.advance();
+        if (actionAnimation.isFinished()) {
+            finalDeathAnimationComplete = true;
         }
         ignoreCollision = true;
     }
 
     private void updateEating() {
-        eatingAnimationCounter++;
-        if (eatingAnimationCounter >= EATING_ANIMATION_SPEED) {
-            eatingAnimationCounter = 0;
-            eatingAnimationFrame++;
-
-            if (eatingAnimationFrame >= MAX_EATING_FRAMES) {
-                isEating = false;
-                eatingAnimationFrame = 0;
-                
-                isPoweredUp = true;
-                powerUpStartTime = System.currentTimeMillis();
-                lastPowerUpBlinkTime = System.currentTimeMillis();
-                System.out.println("💪 Felix is powered up!");
-            }
+        actionAnimation.advance();
+        if (actionAnimation.isFinished()) {
+            isEating = false;
+
+            isPoweredUp = true;
+            powerUpStartTime = GameClock.now();
+            lastPowerUpBlinkTime = GameClock.now();
+            log.info("💪 Felix is powered up!");
         }
     }
     
     private void updatePowerUp() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.now();
         if (currentTime - powerUpStartTime >= POWERUP_DURATION) {
             isPoweredUp = false;
             powerUpVisible = true;
-            System.out.println("🔻 PowerUp ended!");
+            log.info("🔻 PowerUp ended!");
         } else {
             if (currentTime - lastPowerUpBlinkTime >= 150) {
                 powerUpVisible = !powerUpVisible;
@@ -443,7 +465,7 @@ public class Player extends Entity {
     }
 
     private void updateDeath() {
-        if (deathTimeStart == 0) deathTimeStart = System.currentTimeMillis();
+        if (deathTimeStart == 0) deathTimeStart = GameClock.now();
 
         deathAnimationCounter++;
         if (deathAnimationCounter >= DEATH_ANIMATION_SPEED) {
@@ -467,18 +489,14 @@ public class Player extends Entity {
              return; 
         }
 
-        // Blink when respawning
-        if (!finalDeath && (System.currentTimeMillis() - deathTimeStart) < IMMUNITY_TIME) {
-            if (System.currentTimeMillis() - lastBlinkTime >= 300) {
-                felixVisible = !felixVisible;
-                lastBlinkTime = System.currentTimeMillis();
-            }
+        // Blink when respawning (toggled in updateBlink)
+        if (!finalDeath && (GameClock.now() - deathTimeStart) < IMMUNITY_TIME) {
             if (!felixVisible) return;
         }
 
         // Final Death Draw
         if (finalDeath && felixFinalDeath) {
-            image = finalDeathSprites[finalDeathAnimationFrame];
+            image = (BufferedImage) actionAnimation.getFrame();
             drawSprite(g, image);
             drawHeads(g);
             return;
@@ -488,57 +506,66 @@ public class Player extends Entity {
 
         // Select Animation Sprite
         if (isEating) {
-            image = "left".equals(direction) ? eatingLeft[eatingAnimationFrame] : eatingRight[eatingAnimationFrame];
+            image = (BufferedImage) actionAnimation.getFrame(isFacingLeft() ? eatLeft : eatRight);
         } else if (isDead) {
             image = getDeathSprite();
         } else if (isFixing) {
-            if ("left".equals(direction)) image = (fixAnimationCount % 2 == 0) ? left1 : fixL;
+            if (isFacingLeft()) image = (fixAnimationCount % 2 == 0) ? left1 : fixL;
             else image = (fixAnimationCount % 2 == 0) ? right1 : fixR;
         } else if (isChangingDirection) {
-            image = "left".equals(direction) ? changeDirectionL : changeDirectionR;
+            image = isFacingLeft() ? changeDirectionL : changeDirectionR;
         } else if (isJumping || isFalling) {
-            image = "left".equals(direction) ? jumpL : jumpR;
+            image = isFacingLeft() ? jumpL : jumpR;
         } else if (isGoingDown) {
-            image = "left".equals(direction) ? goingDownL : goingDownR;
+            image = isFacingLeft() ? goingDownL : goingDownR;
         } else if (isMoving) {
-            image = getWalkingSprite();
+            image = (BufferedImage) walkAnimation.getFrame(isFacingLeft() ? walkLeft : walkRight);
         } else {
-            image = "left".equals(direction) ? steadyL : steadyR;
+            image = isFacingLeft() ? steadyL : steadyR;
         }
 
         drawSprite(g, image);
     }
     
+    /**
+     * Advances the respawn blink. Called every tick by GamePanel, even while Felix
+     * is inactive, so draw() stays free of state changes.
+     */
+    public void updateBlink() {
+        if (!finalDeath && (GameClock.now() - deathTimeStart) < IMMUNITY_TIME) {
+            if (GameClock.now() - lastBlinkTime >= 300) {
+                felixVisible = !felixVisible;
+                lastBlinkTime = GameClock.now();
+            }
+        }
+    }
+
+    /**
+     * Reports the screen areas Felix may have changed this tick.
+     * The sprite box is always marked; the lives HUD only when the life count changes.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        tracker.add(x, y, spriteSize[0], spriteSize[1]);
+        if (felixHealth != lastMarkedHealth) {
+            tracker.add(HEAD_X, HEAD_Y, HEAD_SPACING * (HEAD_COUNT - 1) + HEAD_WIDTH, HEAD_HEIGHT);
+            lastMarkedHealth = felixHealth;
+        }
+    }
+
     private void drawHeads(Graphics2D g) {
-        if (isFelixHead3Visible) g.drawImage(felixHead1, 400, -20, 80, 90, null);
-        if (isFelixHead2Visible) g.drawImage(felixHead2, 430, -20, 80, 90, null);
-        if (isFelixHead1Visible) g.drawImage(felixHead3, 460, -20, 80, 90, null);
+        if (isFelixHead3Visible) g.drawImage(felixHead1, HEAD_X, HEAD_Y, HEAD_WIDTH, HEAD_HEIGHT, null);
+        if (isFelixHead2Visible) g.drawImage(felixHead2, HEAD_X + HEAD_SPACING, HEAD_Y, HEAD_WIDTH, HEAD_HEIGHT, null);
+        if (isFelixHead1Visible) g.drawImage(felixHead3, HEAD_X + HEAD_SPACING * 2, HEAD_Y, HEAD_WIDTH, HEAD_HEIGHT, null);
     }
 
     private BufferedImage getDeathSprite() {
-        if ("right".equals(direction)) {
+        if (!isFacingLeft()) {
             return (deathAnimationFrame % 2 == 0) ? death1 : death3;
         } else {
             return (deathAnimationFrame % 2 == 0) ? death2 : death4;
         }
     }
 
-    private BufferedImage getWalkingSprite() {
-        BufferedImage img = null;
-        if ("left".equals(direction)) {
-            if (animationFrame == 0) img = left1;
-            else if (animationFrame == 1) img = left2;
-            else if (animationFrame == 2) img = left3;
-            else img = left2;
-        } else {
-            if (animationFrame == 0) img = right1;
-            else if (animationFrame == 1) img = right2;
-            else if (animationFrame == 2) img = right3;
-            else img = right2;
-        }
-        return img;
-    }
-
     private void drawSprite(Graphics2D g, BufferedImage img) {
         if (img != null) {
             g.drawImage(img, x, y, img.getWidth() * 2, img.getHeight() * 2, null);
@@ -546,15 +573,25 @@ public class Player extends Entity {
     }
 
     public void handleCollisionWithBrick(Brick brick) {
+        handleCollision(EventLog.CAUSE_BRICK);
+    }
+
+    /**
+     * Costs Felix a life unless he is immune or powered up.
+     * @param cause What hit him: EventLog.CAUSE_BRICK or EventLog.CAUSE_DUCK.
+     */
+    public void handleCollision(int cause) {
         if (felixFinalDeath) return;
         if (isPoweredUp) return;
 
-        if (!isDead && (System.currentTimeMillis() - deathTimeStart) >= IMMUNITY_TIME) {
+        if (!isDead && (GameClock.now() - deathTimeStart) >= IMMUNITY_TIME) {
             isDead = true;
             deathAnimationFrame = 0;
             deathAnimationCounter = 0;
-            deathTimeStart = System.currentTimeMillis();
+            deathTimeStart = GameClock.now();
             felixHealth--;
+            gp.session.death(cause);
+            EventLog.record(EventLog.LIFE_LOST, cause, x, y, felixHealth - 1);
 
             SoundEffects.playSound("die0");
 
@@ -564,20 +601,18 @@ public class Player extends Entity {
                 isFelixHead1Visible = false;
                 finalDeath = true;
                 felixFinalDeath = true;
-                finalDeathAnimationFrame = 0;
-                finalDeathAnimationCounter = 0;
+                actionAnimation.play(finalDeathClip);
                 SoundEffects.playSound("die1");
                 return;
             }
-            lastBlinkTime = System.currentTimeMillis();
+            lastBlinkTime = GameClock.now();
         }
     }
 
     public void startEatingAnimation() {
         if (!isEating) {
             isEating = true;
-            eatingAnimationFrame = 0;
-            eatingAnimationCounter = 0;
+            actionAnimation.play(eatLeft);
         }
     }
     
@@ -587,7 +622,7 @@ public class Player extends Entity {
             if (felixHealth == 2) isFelixHead1Visible = true;
             else if (felixHealth == 3) isFelixHead2Visible = true;
             else if (felixHealth == 4) isFelixHead3Visible = true;
-            System.out.println("❤️ Extra Life!");
+            log.info("❤️ Extra Life!");
         }
     }
 
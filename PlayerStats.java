@@ -0,0 +1,329 @@
+package com.game;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Lifetime statistics per player initials: windows repaired, pies eaten, deaths by brick
+ * and by duck, highest level reached and best clear time of every level.
+ *
+ * During a game the counters live in a Session that the gameplay code increments on the
+ * game thread (plain field updates, no I/O). At game over the session is handed to a
+ * background writer, which appends it to an append-only log and folds it into the
+ * in-memory totals. The log is compacted (one record per player) by the same thread once
+ * it holds too many records. Lookups read an immutable Totals from a concurrent map.
+ * The log is also loaded by that thread, started by the first get() (Main, at startup);
+ * until it is, lookups find nothing.
+ *
+ * Log record: length, CRC32, then initials, last played, games, windows, pies, brick
+ * deaths, duck deaths, highest level, level count, best clear millis per level (0 = never).
+ * A torn record at the end of the log (crash while writing) is cut off on load.
+ */
+public class PlayerStats {
+
+    private static final GameLog.Channel logger = GameLog.channel("stats"); // "log" is the record file
+
+    private static final int HEADER = 4 + 4;       // Length + CRC
+    private static final int FIXED = 3 + 8 + 6 * 4 + 2;
+    private static final int COMPACT_SLACK = 64;   // Records allowed above two per player before compacting
+    private static final long SHUTDOWN_WAIT_MILLIS = 1000;
+
+    private static PlayerStats instance;
+
+    private final File file;
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false; // The writer thread has read the log
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "player-stats");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1); // Below the game thread
+        return t;
+    });
+
+    // Writer thread only
+    private FileChannel log;
+    private int logRecords = 0;
+
+    /**
+     * Counters of the game being played. Game thread only.
+     */
+    public static final class Session {
+        private int windowsRepaired;
+        private int piesEaten;
+        private int brickDeaths;
+        private int duckDeaths;
+        private int highestLevel = 1;
+        private int[] bestClear = new int[8]; // Index level - 1, 0 = not cleared
+
+        public void windowRepaired() { windowsRepaired++; }
+        public void pieEaten() { piesEaten++; }
+
+        /**
+         * A life lost.
+         * @param cause EventLog.CAUSE_BRICK or EventLog.CAUSE_DUCK.
+         */
+        public void death(int cause) {
+            if (cause == EventLog.CAUSE_DUCK) duckDeaths++;
+            else brickDeaths++;
+        }
+
+        public void levelReached(int level) {
+            highestLevel = Math.max(highestLevel, level);
+        }
+
+        public void levelCleared(int level, long millis) {
+            if (level < 1) return;
+            if (level > bestClear.length) bestClear = Arrays.copyOf(bestClear, Math.max(level, bestClear.length * 2));
+            int ms = (int) Math.min(Integer.MAX_VALUE, Math.max(1, millis));
+            if (bestClear[level - 1] == 0 || ms < bestClear[level - 1]) bestClear[level - 1] = ms;
+        }
+    }
+
+    /**
+     * Lifetime statistics of one player (or the contribution of one game). Immutable.
+     */
+    public static final class Totals {
+        public final String initials;
+        public final long lastPlayed;
+        public final int games;
+        public final int windowsRepaired;
+        public final int piesEaten;
+        public final int brickDeaths;
+        public final int duckDeaths;
+        public final int highestLevel;
+        private final int[] bestClear;
+
+        private Totals(String initials, long lastPlayed, int games, int windowsRepaired, int piesEaten,
+                       int brickDeaths, int duckDeaths, int highestLevel, int[] bestClear) {
+            this.initials = initials;
+            this.lastPlayed = lastPlayed;
+            this.games = games;
+            this.windowsRepaired = windowsRepaired;
+            this.piesEaten = piesEaten;
+            this.brickDeaths = brickDeaths;
+            this.duckDeaths = duckDeaths;
+            this.highestLevel = highestLevel;
+            this.bestClear = bestClear;
+        }
+
+        /**
+         * Best clear time of a level in milliseconds, or -1 if never cleared.
+         */
+        public int getBestClearMillis(int level) {
+            if (level < 1 || level > bestClear.length || bestClear[level - 1] == 0) return -1;
+            return bestClear[level - 1];
+        }
+
+        private Totals plus(Totals o) {
+            int[] best = Arrays.copyOf(bestClear, Math.max(bestClear.length, o.bestClear.length));
+            for (int i = 0; i < o.bestClear.length; i++) {
+                int t = o.bestClear[i];
+                if (t != 0 && (best[i] == 0 || t < best[i])) best[i] = t;
+            }
+            return new Totals(initials, Math.max(lastPlayed, o.lastPlayed), games + o.games,
+                    windowsRepaired + o.windowsRepaired, piesEaten + o.piesEaten, brickDeaths + o.brickDeaths,
+                    duckDeaths + o.duckDeaths, Math.max(highestLevel, o.highestLevel), best);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%3s  %d games, %d windows, %d pies, %d/%d deaths (brick/duck), level %d",
+                    initials, games, windowsRepaired, piesEaten, brickDeaths, duckDeaths, highestLevel);
+        }
+    }
+
+    private PlayerStats(File file) {
+        this.file = file;
+        writer.execute(this::load); // Queued first: games recorded meanwhile are appended after it
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "player-stats-shutdown"));
+    }
+
+    public static synchronized PlayerStats get() {
+        if (instance == null) {
+            instance = new PlayerStats(new File(GameConfig.get("stats.file", "playerstats.log")));
+        }
+        return instance;
+    }
+
+    // --- Game side (never blocks) ---
+
+    /**
+     * Lifetime statistics for some initials, or null if they never played or the log is
+     * still loading (see whenLoaded).
+     */
+    public Totals lookup(String initials) {
+        return loaded ? totals.get(initials) : null;
+    }
+
+    /**
+     * Runs an action on the background thread once the log is loaded (right away, there,
+     * if it already is).
+     */
+    public void whenLoaded(Runnable action) {
+        writer.execute(action);
+    }
+
+    /**
+     * Adds a finished game to a player's statistics. The session is copied right away,
+     * the write happens on the background thread. Games without initials ("???": the
+     * score missed the table) belong to nobody and are not recorded.
+     */
+    public void record(String initials, Session s, long timestamp) {
+        if (initials == null || initials.isEmpty() || initials.equals("???")) return;
+        int used = s.bestClear.length;
+        while (used > 0 && s.bestClear[used - 1] == 0) used--;
+        Totals game = new Totals(key(initials), timestamp, 1, s.windowsRepaired, s.piesEaten,
+                s.brickDeaths, s.duckDeaths, s.highestLevel, Arrays.copyOf(s.bestClear, used));
+        writer.execute(() -> append(game));
+    }
+
+    // --- Writer thread ---
+
+    private void append(Totals game) {
+        try {
+            if (log == null) log = openLog();
+            write(log, game);
+            log.force(false);
+            logRecords++;
+            totals.merge(game.initials, game, Totals::plus);
+
+            if (logRecords > totals.size() * 2 + COMPACT_SLACK) compact();
+        } catch (IOException e) {
+            logger.error("❌ Error saving player statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the log as one record per player, then swaps it in.
+     */
+    private void compact() throws IOException {
+        long start = System.nanoTime();
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Totals t : totals.values()) write(out, t);
+            out.force(true);
+        }
+        log.close();
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = openLog();
+        logRecords = totals.size();
+
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        logger.info("🗜️ Player stats compacted to {} records in {} ms", logRecords, ms);
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static void write(FileChannel ch, Totals t) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER + FIXED + 4 * t.bestClear.length);
+        b.position(HEADER);
+        byte[] text = t.initials.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 3; i++) b.put(i < text.length ? text[i] : (byte) ' ');
+        b.putLong(t.lastPlayed);
+        b.putInt(t.games).putInt(t.windowsRepaired).putInt(t.piesEaten);
+        b.putInt(t.brickDeaths).putInt(t.duckDeaths).putInt(t.highestLevel);
+        b.putShort((short) t.bestClear.length);
+        for (int ms : t.bestClear) b.putInt(ms);
+
+        CRC32 crc = new CRC32();
+        crc.update(b.array(), HEADER, b.capacity() - HEADER);
+        b.putInt(0, b.capacity() - HEADER);
+        b.putInt(4, (int) crc.getValue());
+        b.flip();
+        while (b.hasRemaining()) ch.write(b);
+    }
+
+    // --- Load ---
+
+    /**
+     * Folds the whole log into the totals (small: it is compacted regularly). Writer thread,
+     * queued by the constructor.
+     */
+    private void load() {
+        try {
+            if (file.exists()) readLog();
+        } finally {
+            loaded = true;
+        }
+    }
+
+    private void readLog() {
+        long start = System.nanoTime();
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            ByteBuffer b = ByteBuffer.wrap(data);
+            int good = 0;
+            while (b.remaining() >= HEADER) {
+                int length = b.getInt(good);
+                int expected = b.getInt(good + 4);
+                if (length < FIXED || good + HEADER + length > data.length) break;
+                CRC32 crc = new CRC32();
+                crc.update(data, good + HEADER, length);
+                if ((int) crc.getValue() != expected) break;
+
+                b.position(good + HEADER);
+                Totals t = read(b);
+                if (!t.initials.equals("???")) totals.merge(t.initials, t, Totals::plus); // Older builds pooled these
+                logRecords++;
+                good += HEADER + length;
+                b.position(good);
+            }
+            if (good < data.length) {
+                logger.warn("⚠️ Player stats: dropping {} damaged bytes at the end", data.length - good);
+                try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    ch.truncate(good);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("❌ Error loading player statistics: {}", e.getMessage());
+        }
+        long us = (System.nanoTime() - start) / 1000;
+        logger.info("📈 Player stats: {} players loaded in {} us", totals.size(), us);
+    }
+
+    private static Totals read(ByteBuffer b) {
+        byte[] text = new byte[3];
+        b.get(text);
+        long lastPlayed = b.getLong();
+        int games = b.getInt(), windows = b.getInt(), pies = b.getInt();
+        int brick = b.getInt(), duck = b.getInt(), level = b.getInt();
+        int[] best = new int[b.getShort() & 0xFFFF];
+        for (int i = 0; i < best.length; i++) best[i] = b.getInt();
+        return new Totals(new String(text, StandardCharsets.US_ASCII).trim(), lastPlayed, games, windows, pies,
+                brick, duck, level, best);
+    }
+
+    private static String key(String initials) {
+        return initials.length() > 3 ? initials.substring(0, 3) : initials;
+    }
+
+    /**
+     * Lets the last game's write finish when the game exits right after it.
+     */
+    private void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(SHUTDOWN_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            if (log != null) log.close();
+        } catch (InterruptedException | IOException e) {
+            // Exiting anyway
+        }
+    }
+}
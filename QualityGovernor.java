@@ -0,0 +1,108 @@
+package com.game;
+
+/**
+ * Keeps the game inside its 33 ms frame budget by trading visual detail for time.
+ *
+ * GamePanel reports how long each frame took (update + render). When the average over
+ * a rolling window is over budget the governor steps one tier down in quality; when
+ * there is clear headroom for a few seconds it steps back up. Tiers are cumulative:
+ * each one keeps every saving of the tiers before it.
+ * Tier changes are reported through GameMetrics.
+ */
+public class QualityGovernor {
+
+    /**
+     * Quality tiers, from full detail to cheapest.
+     */
+    public enum Tier {
+        FULL,
+        NO_SHADOW_RING,   // Outlined texts draw one drop shadow instead of 24 passes
+        NO_DEBRIS_JITTER, // Falling debris stops shaking
+        SLOW_ANIMATIONS,  // Clouds and cranes swap frames half as often
+        DEBRIS_CAP,       // At most 3 pieces of debris on screen
+        NO_WINDOW_BLINK   // Repaired windows appear without blinking
+    }
+
+    private static final double BUDGET_MS = 1000.0 / 30;
+    private static final double RECOVER_RATIO = 0.6; // Step back up below 60% of budget
+    private static final int WINDOW = 30;            // Rolling window (1 second)
+    private static final int RECOVER_HOLD = 90;      // Frames of headroom before stepping up
+
+    private static final long[] frameNanos = new long[WINDOW];
+    private static int frameIndex = 0;
+    private static int frameCount = 0;
+    private static long windowSum = 0;
+    private static int framesSinceChange = 0;
+
+    private static final boolean enabled = GameConfig.getBoolean("quality.governor", true);
+    private static volatile Tier tier = initialTier();
+
+    // Private constructor to prevent instantiation of utility class
+    private QualityGovernor() {}
+
+    private static Tier initialTier() {
+        int start = GameConfig.getInt("quality.tier", 0);
+        Tier[] tiers = Tier.values();
+        return tiers[Math.max(0, Math.min(tiers.length - 1, start))];
+    }
+
+    /**
+     * Feeds one frame's duration. Called by GamePanel after every painted frame.
+     */
+    public static synchronized void recordFrame(long nanos) {
+        if (!enabled) return;
+
+        windowSum += nanos - frameNanos[frameIndex];
+        frameNanos[frameIndex] = nanos;
+        frameIndex = (frameIndex + 1) % WINDOW;
+        if (frameCount < WINDOW) frameCount++;
+        framesSinceChange++;
+
+        if (frameCount < WINDOW) return;
+
+        double averageMs = windowSum / 1_000_000.0 / WINDOW;
+        Tier[] tiers = Tier.values();
+
+        if (averageMs > BUDGET_MS && framesSinceChange >= WINDOW && tier.ordinal() < tiers.length - 1) {
+            changeTier(tiers[tier.ordinal() + 1], averageMs);
+        } else if (averageMs < BUDGET_MS * RECOVER_RATIO && framesSinceChange >= RECOVER_HOLD && tier.ordinal() > 0) {
+            changeTier(tiers[tier.ordinal() - 1], averageMs);
+        }
+    }
+
+    private static void changeTier(Tier next, double averageMs) {
+        GameMetrics.event(String.format("Quality tier %s -> %s (avg frame %.1f ms)", tier, next, averageMs));
+        GameMetrics.set("quality.tier", next.ordinal());
+        tier = next;
+        framesSinceChange = 0;
+    }
+
+    public static Tier getTier() {
+        return tier;
+    }
+
+    // --- Queries used by the draw/update code ---
+
+    public static boolean isShadowRingEnabled() {
+        return tier.ordinal() < Tier.NO_SHADOW_RING.ordinal();
+    }
+
+    public static boolean isDebrisJitterEnabled() {
+        return tier.ordinal() < Tier.NO_DEBRIS_JITTER.ordinal();
+    }
+
+    /**
+     * Multiplier for cloud and crane frame delays (1 = normal speed).
+     */
+    public static int getAnimationSlowdown() {
+        return tier.ordinal() >= Tier.SLOW_ANIMATIONS.ordinal() ? 2 : 1;
+    }
+
+    public static int getMaxDebris() {
+        return tier.ordinal() >= Tier.DEBRIS_CAP.ordinal() ? 3 : 8;
+    }
+
+    public static boolean isWindowBlinkEnabled() {
+        return tier.ordinal() < Tier.NO_WINDOW_BLINK.ordinal();
+    }
+}
@@ -11,6 +11,8 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class Ralph extends Entity {
 
+    private static final GameLog.Channel log = GameLog.channel("ralph");
+
     // --- State Management ---
     private enum State {
         THROWING, // Standing still, throwing bricks
@@ -29,21 +31,15 @@ public class Ralph extends Entity {
     private int moveDirection = 0; // -1 left, 1 right, 0 idle
 
     // --- Animation & Rendering ---
-    private Image[] moveImages; 
-    private Image[] throwImages; 
-    
-    // Throw Animation Sequence (Frame names mapped to indices)
-    private final String[] throwSequenceNames = {
-            "move9", "move10", "move5", "move3", "move4",
-            "move6", "move5", "move3", "move4", "move6"
-    };
-    
-    private int currentFrame = 0;     // For walking
-    private int throwAnimationFrame = 0; // For throwing
+    // Clips come from animations.properties; the throw clip carries the "brick" and "voice4" events
+    private SpriteAnimation.Clip walkClip;
+    private SpriteAnimation.Clip throwClip;
+    private SpriteAnimation.Cursor animation;
     private int frameDelay = 12;
-    private int frameCounter = 0;
     private double scaleFactor = 2.0;
     public boolean transition = false; // Used during cutscenes
+    private int[] spriteSize; // Largest scaled sprite, for dirty-region tracking
+    private static final int BRICK_DIRTY_PADDING = 24; // Bricks are drawn around their hitbox
 
     // --- Gameplay Logic ---
     private final Player felix;
@@ -79,16 +75,14 @@ public class Ralph extends Entity {
     }
 
     private void loadImages() {
-        // Load Movement Sprites
-        moveImages = new Image[2];
-        moveImages[0] = ResourceManager.get().getImage("/ralph/move1.png");
-        moveImages[1] = ResourceManager.get().getImage("/ralph/move8.png");
-
-        // Load Throwing Sequence
-        throwImages = new Image[throwSequenceNames.length];
-        for (int i = 0; i < throwSequenceNames.length; i++) {
-            throwImages[i] = ResourceManager.get().getImage("/ralph/" + throwSequenceNames[i] + ".png");
-        }
+        walkClip = SpriteAnimation.getClip("ralph.walk");
+        throwClip = SpriteAnimation.getClip("ralph.throw");
+        animation = new SpriteAnimation.Cursor(throwClip);
+        animation.setTicksPerStep(frameDelay);
+
+        int[] move = DirtyRegionTracker.maxScaledSize(scaleFactor, walkClip.getFrames());
+        int[] thr = DirtyRegionTracker.maxScaledSize(scaleFactor, throwClip.getFrames());
+        spriteSize = new int[] { Math.max(move[0], thr[0]), Math.max(move[1], thr[1]) };
     }
 
     /**
@@ -143,70 +137,57 @@ public class Ralph extends Entity {
         if (Math.abs(x - targetX) <= moveSpeed) {
             x = targetX;
             currentState = State.THROWING;
-            throwAnimationFrame = 0;
+            playClip(throwClip);
             bricksThrown = 0;
-            frameCounter = 0;
             moveDirection = 0;
         } else {
             // Move
             x += moveDirection * moveSpeed;
 
             // Animate walking
-            frameCounter++;
-            if (frameCounter >= frameDelay / 2) {
-                currentFrame = (currentFrame + 1) % 2;
-                frameCounter = 0;
-            }
+            animation.advance();
         }
     }
 
-    private void updateThrowing() {
-        frameCounter++;
-
-        if (frameCounter >= frameDelay) {
-            frameCounter = 0;
+    /**
+     * Starts a clip; walking steps twice as fast as the throw.
+     */
+    private void playClip(SpriteAnimation.Clip clip) {
+        animation.play(clip);
+        animation.setTicksPerStep(clip == walkClip ? frameDelay / 2 : frameDelay);
+    }
 
-            // Trigger brick spawn on specific animation frames (Smashing frames)
-            if (isThrowFrame(throwAnimationFrame)) {
-                if (bricksThrown < BRICKS_PER_THROW) {
-                    releaseBrick();
-                    bricksThrown++;
-                }
-            }
+    private void updateThrowing() {
+        String event = animation.advance();
 
-            // Play voice effect on specific frame
-            if (throwAnimationFrame == 1 && !hasPlayedVoice4) {
-                SoundEffects.playSound("voice4");
-                hasPlayedVoice4 = true;
-            }
+        // Smashing frames release a brick (events from the throw clip)
+        if ("brick".equals(event) && bricksThrown < BRICKS_PER_THROW) {
+            releaseBrick();
+            bricksThrown++;
+        }
 
-            throwAnimationFrame++;
+        // Play voice effect on its frame
+        if ("voice4".equals(event) && !hasPlayedVoice4) {
+            SoundEffects.playSound("voice4");
+            hasPlayedVoice4 = true;
+        }
 
-            // End of Throw Sequence?
-            if (throwAnimationFrame >= throwSequenceNames.length) {
-                hasPlayedVoice4 = false;
+        // End of Throw Sequence?
+        if (animation.isFinished()) {
+            hasPlayedVoice4 = false;
 
-                // Select next position
-                sequenceIndex = (sequenceIndex + 1) % positionSequence.length;
-                targetX = positionSequence[sequenceIndex];
+            // Select next position
+            sequenceIndex = (sequenceIndex + 1) % positionSequence.length;
+            targetX = positionSequence[sequenceIndex];
 
-                // Determine direction
-                moveDirection = Integer.compare(targetX, x);
+            // Determine direction
+            moveDirection = Integer.compare(targetX, x);
 
-                currentState = State.MOVING;
-                currentFrame = 0;
-                frameCounter = 0;
-            }
+            currentState = State.MOVING;
+            playClip(walkClip);
         }
     }
 
-    private boolean isThrowFrame(int frameIndex) {
-        // Frames where Ralph hits the roof
-        return frameIndex == 2 || frameIndex == 3 || 
-               frameIndex == 4 || frameIndex == 6 || 
-               frameIndex == 8;
-    }
-
     private void releaseBrick() {
         // Random horizontal offset for the brick
         int randomOffset = ThreadLocalRandom.current().nextInt(20, 115);
@@ -220,15 +201,7 @@ public class Ralph extends Entity {
     public void draw(Graphics2D g2) {
         if (!isActive || transition) return;
 
-        Image img = null;
-
-        if (currentState == State.MOVING) {
-            img = moveImages[currentFrame % 2];
-        } else if (currentState == State.THROWING) {
-            if (throwAnimationFrame < throwImages.length) {
-                img = throwImages[throwAnimationFrame];
-            }
-        }
+        Image img = animation.getFrame();
 
         if (img != null) {
             int width = (int) (img.getWidth(null) * scaleFactor);
@@ -242,36 +215,76 @@ public class Ralph extends Entity {
         }
     }
 
+    /**
+     * Reports Ralph's sprite box and every active brick to the dirty-region tracker.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        if (!isActive || transition) return;
+
+        tracker.add(x, y, spriteSize[0], spriteSize[1]);
+        for (Brick brick : bricks) {
+            Rectangle hb = brick.brickGetHitbox();
+            tracker.add(hb.x - BRICK_DIRTY_PADDING, hb.y - BRICK_DIRTY_PADDING,
+                        hb.width + BRICK_DIRTY_PADDING * 2, hb.height + BRICK_DIRTY_PADDING * 2);
+        }
+    }
+
+    /**
+     * Difficulty values for one level. Pure data, so LevelPipeline can compute them
+     * off the game thread while the building scrolls.
+     */
+    public static final class Difficulty {
+        public final int level;
+        public final double speedMultiplier;
+        public final int brickSpeedBonus;
+        public final int animationSpeedReduction;
+
+        public Difficulty(int level) {
+            this.level = level;
+
+            // 1. Calculate Speed Multiplier
+            if (level <= 2) speedMultiplier = 1.0;
+            else if (level <= 5) speedMultiplier = 1.0 + (level - 2) * 0.12;
+            else if (level <= 10) speedMultiplier = 1.36 + (level - 5) * 0.10;
+            else if (level <= 15) speedMultiplier = 1.86 + (level - 10) * 0.08;
+            else speedMultiplier = Math.min(3.0, 2.26 + (level - 15) * 0.04);
+
+            // 2. Calculate Brick Speed Bonus
+            if (level <= 3) brickSpeedBonus = 0;
+            else if (level <= 6) brickSpeedBonus = 1;
+            else if (level <= 10) brickSpeedBonus = 2;
+            else if (level <= 15) brickSpeedBonus = 3;
+            else brickSpeedBonus = 4;
+
+            // 3. Calculate Animation Frequency
+            if (level <= 4) animationSpeedReduction = 0;
+            else if (level <= 8) animationSpeedReduction = 1;
+            else if (level <= 12) animationSpeedReduction = 2;
+            else if (level <= 16) animationSpeedReduction = 3;
+            else animationSpeedReduction = 4;
+        }
+    }
+
     /**
      * Calculates difficulty variables based on current level.
      */
     public void setLevel(int level) {
-        this.currentLevel = level;
-        
-        // 1. Calculate Speed Multiplier
-        if (currentLevel <= 2) speedMultiplier = 1.0;
-        else if (currentLevel <= 5) speedMultiplier = 1.0 + (currentLevel - 2) * 0.12;
-        else if (currentLevel <= 10) speedMultiplier = 1.36 + (currentLevel - 5) * 0.10;
-        else if (currentLevel <= 15) speedMultiplier = 1.86 + (currentLevel - 10) * 0.08;
-        else speedMultiplier = Math.min(3.0, 2.26 + (currentLevel - 15) * 0.04);
-
-        // 2. Calculate Brick Speed Bonus
-        if (currentLevel <= 3) brickSpeedBonus = 0;
-        else if (currentLevel <= 6) brickSpeedBonus = 1;
-        else if (currentLevel <= 10) brickSpeedBonus = 2;
-        else if (currentLevel <= 15) brickSpeedBonus = 3;
-        else brickSpeedBonus = 4;
-
-        // 3. Calculate Animation Frequency
-        if (currentLevel <= 4) animationSpeedReduction = 0;
-        else if (currentLevel <= 8) animationSpeedReduction = 1;
-        else if (currentLevel <= 12) animationSpeedReduction = 2;
-        else if (currentLevel <= 16) animationSpeedReduction = 3;
-        else animationSpeedReduction = 4;
+        applyDifficulty(new Difficulty(level));
+    }
+
+    /**
+     * Applies difficulty values computed in advance (see LevelPipeline).
+     */
+    public void applyDifficulty(Difficulty difficulty) {
+        this.currentLevel = difficulty.level;
+        this.speedMultiplier = difficulty.speedMultiplier;
+        this.brickSpeedBonus = difficulty.brickSpeedBonus;
+        this.animationSpeedReduction = difficulty.animationSpeedReduction;
 
         frameDelay = Math.max(6, 12 - animationSpeedReduction);
+        animation.setTicksPerStep(currentState == State.MOVING ? frameDelay / 2 : frameDelay);
         
-        System.out.println("🎮 Ralph Level " + level + " | Speed: " + String.format("%.2f", speedMultiplier));
+        log.info("🎮 Ralph Level {} | Speed: {}", currentLevel, speedMultiplier);
     }
 
     public void setActive(boolean active) {
@@ -282,8 +295,6 @@ public class Ralph extends Entity {
     public void cleanup() {
         bricks.clear();
         accumulatedUpdates = 0.0;
-        frameCounter = 0;
-        currentFrame = 0;
         x = CENTER_X;
         y = 135;
         targetX = CENTER_X;
@@ -294,7 +305,7 @@ public class Ralph extends Entity {
         frameDelay = 12;
         currentState = State.THROWING;
         sequenceIndex = 0;
-        throwAnimationFrame = 0;
+        playClip(throwClip);
         bricksThrown = 0;
         moveDirection = 0;
     }
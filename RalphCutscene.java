@@ -2,8 +2,6 @@ package com.game;
 
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -27,8 +25,14 @@ public class RalphCutscene {
     private boolean skipIntro = false;
 
     private Image image1, image2, jump1, jump2, jump3, exit1, exit2, finalPose1, finalPose2, extraImage;
-    private Image debris1, debris2, debris3, debris4;
-    private final List<FallingObject> fallingObjects;
+    private final Image[] debris = new Image[4];
+    
+    // Debris: packed position / fall speed / sprite / shake, see EntityStore
+    private final EntityStore.Archetype fallingObjects = new EntityStore.Archetype("debris",
+            EntityStore.VELOCITY | EntityStore.SPRITE | EntityStore.OFFSET, 8);
+    private static final int DEBRIS_SIZE = 50;
+    private static final int DEBRIS_FALL_SPEED = 5;
+    private static final int DEBRIS_OFF_SCREEN_Y = 850;
 
     public RalphCutscene(int startX, int startY, int speed, int jumpSpeed, 
                          int targetX1, int targetX2, int targetY1, int targetY2, int finalX) {
@@ -46,7 +50,6 @@ public class RalphCutscene {
         
         this.phase = 0;
         this.movingLeft = true;
-        this.fallingObjects = new ArrayList<>();
 
         loadImages();
     }
@@ -63,10 +66,9 @@ public class RalphCutscene {
         finalPose1 = rm.getImage("/ralph/Move9.png");
         finalPose2 = rm.getImage("/ralph/Move10.png");
         extraImage = rm.getImage("/ralph/MessageRalph0.png");
-        debris1 = rm.getImage("/map/rotta1.png");
-        debris2 = rm.getImage("/map/rotta2.png");
-        debris3 = rm.getImage("/map/rotta3.png");
-        debris4 = rm.getImage("/map/rotta4.png");
+        for (int i = 0; i < debris.length; i++) {
+            debris[i] = rm.getImage("/map/rotta" + (i + 1) + ".png");
+        }
     }
 
     public void update() {
@@ -115,10 +117,7 @@ public class RalphCutscene {
         if (phase >= 7 || cutsceneFinished) {
             fallingObjects.clear();
         } else {
-            fallingObjects.removeIf(obj -> {
-                obj.update();
-                return obj.isOffScreen();
-            });
+            updateDebris();
         }
     }
 
@@ -150,23 +149,46 @@ public class RalphCutscene {
             g2.drawImage(currentImage, x, y, currentImage.getWidth(null) * 2, currentImage.getHeight(null) * 2, null);
         }
 
-        for (FallingObject obj : fallingObjects) obj.draw(g2);
+        // The quality governor may cap how much debris is visible
+        int visible = Math.min(fallingObjects.size(), QualityGovernor.getMaxDebris());
+        for (int i = 0; i < visible; i++) {
+            Image img = debris[fallingObjects.sprite[i]];
+            if (img == null) continue;
+            // Drawn with its "shaking" offset
+            g2.drawImage(img, fallingObjects.x[i] + fallingObjects.offsetX[i], fallingObjects.y[i] + fallingObjects.offsetY[i],
+                    DEBRIS_SIZE, DEBRIS_SIZE, null);
+        }
+    }
+
+    /**
+     * Moves the debris down, rolls the shake offset (kept out of draw) and drops what left the screen.
+     */
+    private void updateDebris() {
+        fallingObjects.move();
+        
+        // Random jitter between -5 and +5 (skipped by the quality governor)
+        boolean jitter = QualityGovernor.isDebrisJitterEnabled();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < fallingObjects.size(); i++) {
+            fallingObjects.offsetX[i] = jitter ? rnd.nextInt(-5, 6) : 0;
+            fallingObjects.offsetY[i] = jitter ? rnd.nextInt(-5, 6) : 0;
+        }
+        fallingObjects.removeBelow(DEBRIS_OFF_SCREEN_Y);
     }
 
     public void spawnFallingObjects() {
         //Disable debris if we are in a level transition (skipIntro is true)
         if (skipIntro) return;
 
-        if (ThreadLocalRandom.current().nextDouble() < 0.15 && fallingObjects.size() < 8) {
-            if (fallingObjects.isEmpty() || fallingObjects.size() % 3 == 0) {
+        if (ThreadLocalRandom.current().nextDouble() < 0.15 && fallingObjects.size() < QualityGovernor.getMaxDebris()) {
+            if (fallingObjects.size() % 3 == 0) {
                 SoundEffects.playSound("shatter" + ThreadLocalRandom.current().nextInt(8));
             }
-            Image img = switch (ThreadLocalRandom.current().nextInt(4)) {
-                case 0 -> debris1; case 1 -> debris2; case 2 -> debris3; default -> debris4;
-            };
             int ox = ThreadLocalRandom.current().nextInt(-30, 31);
             int oy = ThreadLocalRandom.current().nextInt(-15, 16);
-            fallingObjects.add(new FallingObject(x, y, ox, oy, 5, img));
+            int i = fallingObjects.add(x + ox, y + oy);
+            fallingObjects.setVelocity(i, 0, DEBRIS_FALL_SPEED);
+            fallingObjects.sprite[i] = ThreadLocalRandom.current().nextInt(debris.length);
         }
     }
 
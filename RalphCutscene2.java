@@ -6,46 +6,43 @@ import java.awt.Image;
 /**
  * Manages the specific cutscene where Ralph climbs up the building.
  * Refactored to use ResourceManager and proper encapsulation.
+ * The climb is the 'ralphclimb' timeline in cutscenes.properties.
  */
 public class RalphCutscene2 {
 
     private final GamePanel gp;
-    private final int x;
-    private int y;
-    private final int startY; // Store for reset
-    private final int finalY;
-    private final int speed;
+
+    // Images used by this cutscene, for AssetPrefetcher
+    static final String[] ASSETS = {"/ralph/RalphBack1.png", "/ralph/RalphBack2.png"};
     private boolean finished = false;
 
-    // Animation resources
-    private Image frame1, frame2, frame3;
-    private int frameCounter = 0;
-    private static final int FRAME_DELAY = 10;
+    // Animation resources (indexed by the sprite track)
+    private final Image[] frames = new Image[2];
+
+    // Timeline
+    private final CutsceneTimeline.Cursor timeline;
+    private final CutsceneTimeline.Track xTrack, yTrack, spriteTrack;
 
     /**
      * Creates the climbing cutscene.
-     * @param startX Starting X position.
-     * @param startY Starting Y position.
-     * @param finalY Target Y position (top).
-     * @param speed Climbing speed.
      * @param gp Reference to GamePanel.
      */
-    public RalphCutscene2(int startX, int startY, int finalY, int speed, GamePanel gp) {
+    public RalphCutscene2(GamePanel gp) {
         this.gp = gp;
-        this.x = startX;
-        this.y = startY;
-        this.startY = startY;
-        this.finalY = finalY;
-        this.speed = speed;
 
         loadImages();
+
+        CutsceneTimeline data = CutsceneTimeline.get("ralphclimb");
+        timeline = new CutsceneTimeline.Cursor(data, this::onCue);
+        xTrack = data.track("x");
+        yTrack = data.track("y");
+        spriteTrack = data.track("sprite");
     }
 
     private void loadImages() {
         // Optimization: Load images via ResourceManager
-        frame1 = ResourceManager.get().getImage("/ralph/RalphBack1.png");
-        frame2 = ResourceManager.get().getImage("/ralph/RalphBack2.png");
-        frame3 = ResourceManager.get().getImage("/ralph/Move9.png"); // Using Move9 as an idle/climb frame
+        frames[0] = ResourceManager.get().getImage("/ralph/RalphBack1.png");
+        frames[1] = ResourceManager.get().getImage("/ralph/RalphBack2.png");
     }
 
     /**
@@ -56,22 +53,15 @@ public class RalphCutscene2 {
             return;
         }
 
-        // Move Ralph Up
-        if (y > finalY) {
-            y -= speed;
-        } else {
-            // Reached the top
-            y = finalY;
-            
-            // Sync actual Ralph entity position if needed
-            if (gp.ralph != null) {
-                gp.ralph.x = 644; 
-            }
-            
-            finished = true;
-        }
+        timeline.advance();
+        finished = timeline.isFinished();
+    }
 
-        frameCounter++;
+    private void onCue(String cue) {
+        // Reached the top: sync actual Ralph entity position
+        if (cue.equals("ralphAtTop") && gp.ralph != null) {
+            gp.ralph.setPosition(644, gp.ralph.getY());
+        }
     }
 
     /**
@@ -79,14 +69,13 @@ public class RalphCutscene2 {
      * @param g2 Graphics context.
      */
     public void draw(Graphics2D g2) {
-        // Toggle frames for climbing effect
-        Image currentFrame = (frameCounter / FRAME_DELAY) % 2 == 0 ? frame1 : frame2;
+        Image currentFrame = frames[timeline.get(spriteTrack) % frames.length];
         
         // If images failed to load, avoid crash
         if (currentFrame != null) {
             int width = 180;
             int height = 180;
-            g2.drawImage(currentFrame, x, y, width, height, null);
+            g2.drawImage(currentFrame, timeline.get(xTrack), timeline.get(yTrack), width, height, null);
         }
     }
 
@@ -99,7 +88,6 @@ public class RalphCutscene2 {
      */
     public void reset() {
         finished = false;
-        frameCounter = 0;
-        y = startY; 
+        timeline.restart();
     }
-}   
\ No newline at end of file
+}
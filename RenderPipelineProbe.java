@@ -0,0 +1,340 @@
+package com.game;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the fastest Java2D pipeline for this cabinet.
+ *
+ * Java2D selects its pipeline once, when AWT starts, so every candidate is measured in a
+ * short-lived child JVM started with that pipeline's flags. Each child renders a
+ * representative scene (scaled building, 2x Felix, brick burst, shadowed text) into an
+ * accelerated offscreen VolatileImage and prints its average frame time.
+ * The winner is saved to game.properties and applied on later launches before any
+ * AWT class is touched. If no candidate comes up, SOFTWARE is saved so the probe does
+ * not run again on every launch.
+ */
+public class RenderPipelineProbe {
+
+    /**
+     * Candidate Java2D pipelines. 'configMarker' is a fragment of the GraphicsConfiguration
+     * class name that proves the pipeline really came up (flags are silently ignored otherwise).
+     */
+    public enum Pipeline {
+        XRENDER(new String[] {"sun.java2d.xrender=true", "sun.java2d.opengl=false"}, "XR"),
+        OPENGL(new String[] {"sun.java2d.opengl=true"}, "GL"),
+        D3D(new String[] {"sun.java2d.d3d=true", "sun.java2d.opengl=false"}, "D3D"),
+        METAL(new String[] {"sun.java2d.metal=true"}, "MTL"),
+        SOFTWARE(new String[] {"sun.java2d.xrender=false", "sun.java2d.opengl=false",
+                               "sun.java2d.d3d=false", "sun.java2d.noddraw=true"}, null);
+
+        private final String[] flags;
+        private final String configMarker;
+
+        Pipeline(String[] flags, String configMarker) {
+            this.flags = flags;
+            this.configMarker = configMarker;
+        }
+
+        /**
+         * Sets this pipeline's flags as system properties (must run before AWT starts).
+         */
+        void apply() {
+            for (String flag : flags) {
+                int eq = flag.indexOf('=');
+                System.setProperty(flag.substring(0, eq), flag.substring(eq + 1));
+            }
+        }
+
+        boolean isActive(String configClassName) {
+            if (configMarker != null) return configClassName.contains(configMarker);
+            // Software: none of the accelerated configurations may be active
+            for (Pipeline p : values()) {
+                if (p.configMarker != null && configClassName.contains(p.configMarker)) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final String CONFIG_KEY = "render.pipeline";
+    private static final String RESULT_PREFIX = "PROBE_RESULT ";
+    private static final String PROBE_ARG = "--probe-pipelines";
+    private static final String BENCH_ARG = "--bench";
+
+    // Scene timing
+    private static final int WARMUP_FRAMES = 40;
+    private static final int TIMED_FRAMES = 200;
+    private static final long CHILD_TIMEOUT_SECONDS = 30;
+
+    // Private constructor to prevent instantiation of utility class
+    private RenderPipelineProbe() {}
+
+    /**
+     * Called first thing in Main. Runs the probe when no pipeline is stored yet (or when
+     * '--probe-pipelines' is passed), then applies the stored pipeline's flags.
+     */
+    public static void applyConfiguredPipeline(String[] args) {
+        boolean forceProbe = false;
+        for (String arg : args) {
+            if (PROBE_ARG.equals(arg)) forceProbe = true;
+        }
+
+        if (GraphicsEnvironment.isHeadless()) return;
+
+        if (forceProbe || !GameConfig.has(CONFIG_KEY)) {
+            probeAndStore();
+        }
+
+        String stored = GameConfig.get(CONFIG_KEY, null);
+        if (stored == null) return;
+
+        try {
+            Pipeline pipeline = Pipeline.valueOf(stored.trim().toUpperCase());
+            pipeline.apply();
+            System.out.println("🖥️ Render pipeline: " + pipeline);
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Unknown render pipeline in config: " + stored);
+        }
+    }
+
+    /**
+     * Probes and saves the winner, or SOFTWARE when nothing came up.
+     */
+    private static Pipeline probeAndStore() {
+        Pipeline winner = probe();
+        if (winner == null) {
+            winner = Pipeline.SOFTWARE;
+            System.out.println("🖥️ No pipeline passed the probe, falling back to " + winner);
+        }
+        GameConfig.set(CONFIG_KEY, winner.name());
+        return winner;
+    }
+
+    /**
+     * Benchmarks every candidate for this OS in a child JVM.
+     * @return The fastest pipeline that actually came up, or null if none did.
+     */
+    public static Pipeline probe() {
+        Pipeline best = null;
+        double bestMs = Double.MAX_VALUE;
+
+        for (Pipeline candidate : candidatesForThisOs()) {
+            double ms = runChild(candidate);
+            if (ms < 0) {
+                System.out.println("🖥️ Probe " + candidate + ": unavailable");
+                continue;
+            }
+            System.out.println(String.format("🖥️ Probe %s: %.3f ms/frame", candidate, ms));
+            if (ms < bestMs) {
+                bestMs = ms;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static List<Pipeline> candidatesForThisOs() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        List<Pipeline> list = new ArrayList<>();
+        if (os.contains("win")) {
+            list.add(Pipeline.D3D);
+            list.add(Pipeline.OPENGL);
+            list.add(Pipeline.SOFTWARE);
+        } else if (os.contains("mac")) {
+            list.add(Pipeline.METAL);
+            list.add(Pipeline.OPENGL);
+        } else {
+            list.add(Pipeline.XRENDER);
+            list.add(Pipeline.OPENGL);
+            list.add(Pipeline.SOFTWARE);
+        }
+        return list;
+    }
+
+    /**
+     * Starts a JVM with the pipeline's flags in bench mode and reads its result line.
+     * The output goes to a temp file, so a child that hangs (e.g. in a driver) cannot block
+     * the read; it is killed after CHILD_TIMEOUT_SECONDS.
+     * @return Average ms per frame, or -1 if the pipeline failed or did not activate.
+     */
+    private static double runChild(Pipeline pipeline) {
+        String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> cmd = new ArrayList<>();
+        cmd.add(javaBin);
+        for (String flag : pipeline.flags) cmd.add("-D" + flag);
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(RenderPipelineProbe.class.getName());
+        cmd.add(BENCH_ARG);
+        cmd.add(pipeline.name());
+
+        File output = null;
+        Process process = null;
+        try {
+            output = File.createTempFile("pipeline-probe", ".txt");
+            process = new ProcessBuilder(cmd).redirectErrorStream(true)
+                    .redirectOutput(output).start();
+            if (!process.waitFor(CHILD_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("🖥️ Probe " + pipeline + ": timed out");
+                return -1;
+            }
+            if (process.exitValue() != 0) return -1;
+
+            double result = -1;
+            try (BufferedReader reader = new BufferedReader(new FileReader(output))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX)) {
+                        result = Double.parseDouble(line.substring(RESULT_PREFIX.length()).trim());
+                    }
+                }
+            }
+            return result;
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            if (process != null && process.isAlive()) process.destroyForcibly();
+            if (output != null) output.delete();
+        }
+    }
+
+    /**
+     * Child JVM entry point: "--bench PIPELINE".
+     * Prints "PROBE_RESULT ms" and exits 0, or exits 1 if the pipeline is not active.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || !BENCH_ARG.equals(args[0])) {
+            // Manual use: probe and store
+            Pipeline winner = probeAndStore();
+            System.out.println("🖥️ Selected pipeline: " + winner);
+            System.exit(0);
+        }
+
+        Pipeline expected = Pipeline.valueOf(args[1]);
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (!expected.isActive(gc.getClass().getName())) {
+            System.exit(1);
+        }
+
+        double ms = benchmark(gc);
+        System.out.println(RESULT_PREFIX + ms);
+        System.exit(0);
+    }
+
+    /**
+     * Renders the probe scene into an accelerated back buffer and returns average ms per frame.
+     */
+    private static double benchmark(GraphicsConfiguration gc) {
+        ProbeScene scene = new ProbeScene();
+        VolatileImage target = gc.createCompatibleVolatileImage(
+                GamePanel.GAME_AREA_WIDTH, GamePanel.GAME_AREA_HEIGHT);
+        // 1x1 readback target: forces queued GPU work to finish before the clock stops
+        BufferedImage fence = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            renderToVolatile(target, gc, scene, i);
+        }
+        fence.getGraphics().drawImage(target, 0, 0, 1, 1, 0, 0, 1, 1, null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMED_FRAMES; i++) {
+            renderToVolatile(target, gc, scene, i);
+        }
+        fence.getGraphics().drawImage(target, 0, 0, 1, 1, 0, 0, 1, 1, null);
+        long elapsed = System.nanoTime() - start;
+
+        return elapsed / 1_000_000.0 / TIMED_FRAMES;
+    }
+
+    private static void renderToVolatile(VolatileImage target, GraphicsConfiguration gc, ProbeScene scene, int frame) {
+        if (target.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) return;
+
+        Graphics2D g2 = target.createGraphics();
+        scene.render(g2, frame);
+        g2.dispose();
+    }
+
+    /**
+     * The representative scene used to compare renderers: scaled building strip, 2x Felix,
+     * a brick/debris burst and ring-shadowed text. Shared with the software rasterizer benchmark.
+     */
+    static final class ProbeScene {
+        private final BufferedImage building;
+        private final BufferedImage felix;
+        private final BufferedImage brick;
+        private final BufferedImage[] debris;
+        private final Font font;
+
+        ProbeScene() {
+            ResourceManager rm = ResourceManager.get();
+            building = rm.getImage("/map/PalazzoCompleto.png");
+            felix = rm.getImage("/felix/Left1.png");
+            brick = rm.getImage("/map/brick.png");
+            debris = new BufferedImage[] {
+                rm.getImage("/map/rotta1.png"), rm.getImage("/map/rotta2.png"),
+                rm.getImage("/map/rotta3.png"), rm.getImage("/map/rotta4.png")
+            };
+            font = rm.getFont().deriveFont(36f);
+        }
+
+        void render(Graphics2D g2, int frame) {
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, GamePanel.GAME_AREA_WIDTH, GamePanel.GAME_AREA_HEIGHT);
+
+            // Scaled building strip, same mapping as TileManager (232px wide strip -> 651px)
+            if (building != null) {
+                int srcY = Math.max(0, building.getHeight() - 318);
+                g2.drawImage(building, 41, 21, 692, 848, 0, srcY, 232, building.getHeight(), null);
+            }
+
+            // 2x Felix
+            if (felix != null) {
+                g2.drawImage(felix, 200 + (frame % 40) * 4, 764, felix.getWidth() * 2, felix.getHeight() * 2, null);
+            }
+
+            // Brick burst: five bricks plus eight debris pieces, like a destruction frame
+            for (int i = 0; i < 5; i++) {
+                if (brick != null) {
+                    g2.drawImage(brick, 120 + i * 90, 150 + (frame * 4 + i * 37) % 600,
+                                 brick.getWidth() * 2, brick.getHeight() * 2, null);
+                }
+            }
+            for (int i = 0; i < 8; i++) {
+                BufferedImage piece = debris[i % debris.length];
+                if (piece != null) {
+                    g2.drawImage(piece, 250 + i * 30, 200 + (frame * 5 + i * 53) % 500, 50, 50, null);
+                }
+            }
+
+            // Shadowed text: 24 shadow passes + main pass, as in drawLevelClear
+            g2.setFont(font);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            String text = "LEVEL 1 CLEAR";
+            g2.setColor(Color.BLACK);
+            for (int dx = -2; dx <= 2; dx++) {
+                for (int dy = -2; dy <= 2; dy++) {
+                    if (dx != 0 || dy != 0) g2.drawString(text, 120 + dx, 400 + dy);
+                }
+            }
+            g2.setColor(Color.YELLOW);
+            g2.drawString(text, 120, 400);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import javax.imageio.ImageIO;
 
 public class ResourceManager {
 
+    private static final GameLog.Channel log = GameLog.channel("resources");
+
     private static ResourceManager instance;
     private final Map<String, BufferedImage> imageCache;
     private Font arcadeFont; // Cached Font
@@ -20,16 +22,22 @@ public class ResourceManager {
         imageCache = new HashMap<>();
     }
 
-    public static ResourceManager get() {
+    public static synchronized ResourceManager get() {
         if (instance == null) {
             instance = new ResourceManager();
         }
         return instance;
     }
 
+    /**
+     * Returns the cached image, decoding it on first use. Safe to call from the prefetch
+     * thread: decoding happens outside the cache lock, so the game thread never waits on it.
+     */
     public BufferedImage getImage(String path) {
-        if (imageCache.containsKey(path)) {
-            return imageCache.get(path);
+        synchronized (imageCache) {
+            if (imageCache.containsKey(path)) {
+                return imageCache.get(path);
+            }
         }
 
         InputStream stream = null;
@@ -48,17 +56,24 @@ public class ResourceManager {
             }
 
             if (stream == null) {
-                System.err.println("❌ Resource not found: " + path);
-                imageCache.put(path, null);
+                log.error("❌ Resource not found: {}", path);
+                synchronized (imageCache) {
+                    imageCache.put(path, null);
+                }
                 return null;
             }
 
             BufferedImage image = ImageIO.read(stream);
-            imageCache.put(path, image);
+            synchronized (imageCache) {
+                // Another thread may have decoded it meanwhile: keep a single copy
+                BufferedImage cached = imageCache.get(path);
+                if (cached != null) return cached;
+                imageCache.put(path, image);
+            }
             return image;
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("❌ Could not read image {}: {}", path, e);
             return null;
         }
     }
@@ -81,7 +96,7 @@ public class ResourceManager {
             if (is != null) {
                 arcadeFont = Font.createFont(Font.TRUETYPE_FONT, is).deriveFont(Font.BOLD, 18f);
             } else {
-                System.err.println("⚠️ Font not found, using default.");
+                log.warn("⚠️ Font not found, using default.");
                 arcadeFont = new Font("Monospaced", Font.BOLD, 18);
             }
         } catch (Exception e) {
@@ -90,7 +105,26 @@ public class ResourceManager {
         return arcadeFont;
     }
 
+    /**
+     * Drops images from the cache; they are collected once their users let go of them.
+     */
+    public void release(String... paths) {
+        synchronized (imageCache) {
+            for (String path : paths) {
+                imageCache.remove(path);
+            }
+        }
+    }
+
+    public int getCachedCount() {
+        synchronized (imageCache) {
+            return imageCache.size();
+        }
+    }
+
     public void clearCache() {
-        imageCache.clear();
+        synchronized (imageCache) {
+            imageCache.clear();
+        }
     }
 }
\ No newline at end of file
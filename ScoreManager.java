@@ -12,6 +12,8 @@ import java.io.InputStream;
  * Handles extra lives and milestone bonuses.
  */
 public class ScoreManager {
+
+    private static final GameLog.Channel log = GameLog.channel("score");
     
     private int score = 0;
     private final BufferedImage[] digitImages = new BufferedImage[10];
@@ -30,6 +32,9 @@ public class ScoreManager {
     private long milestoneNotificationStart = 0;
     private int lastMilestone = 0;
     private static final int[] MILESTONES = {10000, 50000, 100000, 250000, 500000};
+    
+    // Dirty-region tracking: score shown at the last mark
+    private int lastMarkedScore = -1;
 
     public ScoreManager() {
         loadDigitImages();
@@ -60,7 +65,7 @@ public class ScoreManager {
                 arcadeFont = new Font("Monospaced", Font.BOLD, 14);
             }
         } catch (Exception e) {
-            System.err.println("⚠️ ScoreManager: Could not load font, using default.");
+            log.warn("⚠️ ScoreManager: Could not load font, using default.");
             arcadeFont = new Font("Monospaced", Font.BOLD, 14);
         }
     }
@@ -89,8 +94,8 @@ public class ScoreManager {
             
             // Trigger visual notification
             showingExtraLifeNotification = true;
-            extraLifeNotificationStart = System.currentTimeMillis();
-            System.out.println("🎉 EXTRA LIFE EARNED! Score: " + score);
+            extraLifeNotificationStart = GameClock.now();
+            log.info("🎉 EXTRA LIFE EARNED! Score: {}", score);
         }
     }
     
@@ -98,9 +103,9 @@ public class ScoreManager {
         for (int milestone : MILESTONES) {
             if (oldScore < milestone && score >= milestone) {
                 showingMilestoneNotification = true;
-                milestoneNotificationStart = System.currentTimeMillis();
+                milestoneNotificationStart = GameClock.now();
                 lastMilestone = milestone;
-                System.out.println("🏆 MILESTONE REACHED: " + milestone);
+                log.info("🏆 MILESTONE REACHED: {}", milestone);
                 break;
             }
         }
@@ -110,6 +115,25 @@ public class ScoreManager {
         return score;
     }
 
+    /**
+     * Reports the HUD areas that changed this tick.
+     * @param x The X used for draw().
+     * @param y The Y used for draw().
+     */
+    public void markDirty(DirtyRegionTracker tracker, int x, int y) {
+        if (score != lastMarkedScore) {
+            // "SCORE" label sits above the digits
+            tracker.add(x, y - 30, 6 * 55, 80);
+            lastMarkedScore = score;
+        }
+        if (showingExtraLifeNotification) {
+            tracker.add(483, 170, 400, 65);
+        }
+        if (showingMilestoneNotification) {
+            tracker.add(483, 225, 400, 35);
+        }
+    }
+
     public void draw(Graphics2D g2, int x, int y) {
         // 1. Draw "SCORE" Label
         if (arcadeFont != null) {
@@ -139,14 +163,12 @@ public class ScoreManager {
         }
         
         // 3. Draw Notifications
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.now();
         
         if (showingExtraLifeNotification) {
             long elapsed = currentTime - extraLifeNotificationStart;
             if (elapsed < NOTIFICATION_DURATION) {
                 drawExtraLifeNotification(g2, elapsed);
-            } else {
-                showingExtraLifeNotification = false;
             }
         }
         
@@ -154,11 +176,22 @@ public class ScoreManager {
             long elapsed = currentTime - milestoneNotificationStart;
             if (elapsed < NOTIFICATION_DURATION) {
                 drawMilestoneNotification(g2, elapsed);
-            } else {
-                showingMilestoneNotification = false;
             }
         }
     }
+
+    /**
+     * Hides notifications whose time is up. Called every tick by GamePanel.
+     */
+    public void update() {
+        long currentTime = GameClock.now();
+        if (showingExtraLifeNotification && currentTime - extraLifeNotificationStart >= NOTIFICATION_DURATION) {
+            showingExtraLifeNotification = false;
+        }
+        if (showingMilestoneNotification && currentTime - milestoneNotificationStart >= NOTIFICATION_DURATION) {
+            showingMilestoneNotification = false;
+        }
+    }
     
     private void drawExtraLifeNotification(Graphics2D g2, long elapsed) {
         if (arcadeFont == null) return;
@@ -210,6 +243,7 @@ public class ScoreManager {
 
     public void reset() {
         score = 0;
+        lastMarkedScore = -1;
         showingExtraLifeNotification = false;
         showingMilestoneNotification = false;
     }
@@ -0,0 +1,345 @@
+package com.game;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * Graphics2D front-end for SoftwareRasterizer.
+ *
+ * Image blits, solid rectangles and plain ASCII text take the rasterizer's fast paths
+ * whenever the state allows it (integer translation only, rectangular clip, opaque
+ * SrcOver, nearest-neighbour scaling, no text antialiasing). Anything else is drawn by
+ * the wrapped Java2D graphics of the same frame, so the game code does not need to know
+ * which renderer is active.
+ */
+public class SoftwareGraphics extends Graphics2D {
+
+    private final SoftwareRasterizer raster;
+    private final Graphics2D delegate;
+
+    // Fast-path state, recomputed lazily after any state change
+    private boolean stateDirty = true;
+    private boolean fastBlit;
+    private boolean fastFill;
+    private boolean fastText;
+    private int tx, ty;
+    private int cx0, cy0, cx1, cy1;
+    private int solidRgb;
+
+    SoftwareGraphics(SoftwareRasterizer raster, Graphics2D delegate) {
+        this.raster = raster;
+        this.delegate = delegate;
+    }
+
+    private void refreshState() {
+        if (!stateDirty) return;
+        stateDirty = false;
+        fastBlit = fastFill = fastText = false;
+
+        AffineTransform at = delegate.getTransform();
+        int type = at.getType();
+        if ((type & ~AffineTransform.TYPE_TRANSLATION) != 0) return;
+        double dtx = at.getTranslateX();
+        double dty = at.getTranslateY();
+        if (dtx != Math.rint(dtx) || dty != Math.rint(dty)) return;
+        tx = (int) dtx;
+        ty = (int) dty;
+
+        Shape clip = delegate.getClip();
+        cx0 = 0;
+        cy0 = 0;
+        cx1 = raster.getWidth();
+        cy1 = raster.getHeight();
+        if (clip != null) {
+            if (!(clip instanceof Rectangle2D)) return;
+            Rectangle b = delegate.getClipBounds();
+            cx0 = Math.max(cx0, b.x + tx);
+            cy0 = Math.max(cy0, b.y + ty);
+            cx1 = Math.min(cx1, b.x + b.width + tx);
+            cy1 = Math.min(cy1, b.y + b.height + ty);
+        }
+        if (cx0 >= cx1 || cy0 >= cy1) {
+            // Everything is clipped away: fast paths draw nothing, which is correct
+            cx1 = cx0;
+            cy1 = cy0;
+        }
+
+        if (!AlphaComposite.SrcOver.equals(delegate.getComposite())) return;
+
+        Object interp = delegate.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        fastBlit = interp == null || interp == RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+
+        Paint paint = delegate.getPaint();
+        if (paint instanceof Color && ((Color) paint).getAlpha() == 255) {
+            fastFill = true;
+            solidRgb = ((Color) paint).getRGB();
+            fastText = delegate.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING)
+                    != RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+        }
+    }
+
+    // --- Fast paths ---
+
+    private boolean blit(Image img, int x, int y, int w, int h) {
+        refreshState();
+        if (!fastBlit || w <= 0 || h <= 0) return false;
+
+        int iw = img.getWidth(null);
+        int ih = img.getHeight(null);
+        if (iw <= 0 || ih <= 0) return false;
+        int dx = x + tx;
+        int dy = y + ty;
+
+        // The cached background layer is opaque INT_RGB: copy rows without building a sprite
+        if (img instanceof BufferedImage && ((BufferedImage) img).getType() == BufferedImage.TYPE_INT_RGB
+                && w == iw && h == ih) {
+            raster.copyRgb((BufferedImage) img, dx, dy, cx0, cy0, cx1, cy1);
+            return true;
+        }
+
+        SoftwareRasterizer.Sprite s = raster.sprite(img);
+        if (s == null) return false;
+
+        if (w == iw && h == ih) raster.blit1x(s, dx, dy, cx0, cy0, cx1, cy1);
+        else if (w == iw * 2 && h == ih * 2) raster.blit2x(s, dx, dy, cx0, cy0, cx1, cy1);
+        else raster.blitScaled(s, dx, dy, w, h, 0, 0, iw, ih, cx0, cy0, cx1, cy1);
+        return true;
+    }
+
+    private boolean blit(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2) {
+        refreshState();
+        // Mirrored or empty rectangles go through Java2D
+        if (!fastBlit || dx2 <= dx1 || dy2 <= dy1 || sx2 <= sx1 || sy2 <= sy1) return false;
+
+        SoftwareRasterizer.Sprite s = raster.sprite(img);
+        if (s == null || sx1 < 0 || sy1 < 0 || sx2 > s.w || sy2 > s.h) return false;
+
+        raster.blitScaled(s, dx1 + tx, dy1 + ty, dx2 - dx1, dy2 - dy1, sx1, sy1, sx2 - sx1, sy2 - sy1,
+                          cx0, cy0, cx1, cy1);
+        return true;
+    }
+
+    // --- State (delegated, invalidates the fast-path state) ---
+
+    @Override
+    public void setColor(Color c) { delegate.setColor(c); stateDirty = true; }
+    @Override
+    public void setPaint(Paint paint) { delegate.setPaint(paint); stateDirty = true; }
+    @Override
+    public void setComposite(Composite comp) { delegate.setComposite(comp); stateDirty = true; }
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) { delegate.setRenderingHint(hintKey, hintValue); stateDirty = true; }
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) { delegate.setRenderingHints(hints); stateDirty = true; }
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) { delegate.addRenderingHints(hints); stateDirty = true; }
+    @Override
+    public void translate(int x, int y) { delegate.translate(x, y); stateDirty = true; }
+    @Override
+    public void translate(double x, double y) { delegate.translate(x, y); stateDirty = true; }
+    @Override
+    public void rotate(double theta) { delegate.rotate(theta); stateDirty = true; }
+    @Override
+    public void rotate(double theta, double x, double y) { delegate.rotate(theta, x, y); stateDirty = true; }
+    @Override
+    public void scale(double sx, double sy) { delegate.scale(sx, sy); stateDirty = true; }
+    @Override
+    public void shear(double shx, double shy) { delegate.shear(shx, shy); stateDirty = true; }
+    @Override
+    public void transform(AffineTransform tx) { delegate.transform(tx); stateDirty = true; }
+    @Override
+    public void setTransform(AffineTransform tx) { delegate.setTransform(tx); stateDirty = true; }
+    @Override
+    public void clip(Shape s) { delegate.clip(s); stateDirty = true; }
+    @Override
+    public void clipRect(int x, int y, int width, int height) { delegate.clipRect(x, y, width, height); stateDirty = true; }
+    @Override
+    public void setClip(int x, int y, int width, int height) { delegate.setClip(x, y, width, height); stateDirty = true; }
+    @Override
+    public void setClip(Shape clip) { delegate.setClip(clip); stateDirty = true; }
+    @Override
+    public void setPaintMode() { delegate.setPaintMode(); stateDirty = true; }
+    @Override
+    public void setXORMode(Color c1) { delegate.setXORMode(c1); stateDirty = true; }
+
+    @Override
+    public void setFont(Font font) { delegate.setFont(font); }
+    @Override
+    public void setStroke(Stroke s) { delegate.setStroke(s); }
+    @Override
+    public void setBackground(Color color) { delegate.setBackground(color); }
+
+    @Override
+    public Color getColor() { return delegate.getColor(); }
+    @Override
+    public Paint getPaint() { return delegate.getPaint(); }
+    @Override
+    public Composite getComposite() { return delegate.getComposite(); }
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) { return delegate.getRenderingHint(hintKey); }
+    @Override
+    public RenderingHints getRenderingHints() { return delegate.getRenderingHints(); }
+    @Override
+    public AffineTransform getTransform() { return delegate.getTransform(); }
+    @Override
+    public Color getBackground() { return delegate.getBackground(); }
+    @Override
+    public Stroke getStroke() { return delegate.getStroke(); }
+    @Override
+    public Font getFont() { return delegate.getFont(); }
+    @Override
+    public FontMetrics getFontMetrics(Font f) { return delegate.getFontMetrics(f); }
+    @Override
+    public FontRenderContext getFontRenderContext() { return delegate.getFontRenderContext(); }
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() { return delegate.getDeviceConfiguration(); }
+    @Override
+    public Rectangle getClipBounds() { return delegate.getClipBounds(); }
+    @Override
+    public Shape getClip() { return delegate.getClip(); }
+
+    @Override
+    public Graphics create() {
+        return new SoftwareGraphics(raster, (Graphics2D) delegate.create());
+    }
+
+    @Override
+    public void dispose() { delegate.dispose(); }
+
+    // --- Drawing: fast path first, Java2D otherwise ---
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        refreshState();
+        if (fastFill && width > 0 && height > 0) {
+            raster.fill(solidRgb,
+                        Math.max(x + tx, cx0), Math.max(y + ty, cy0),
+                        Math.min(x + tx + width, cx1), Math.min(y + ty + height, cy1));
+        } else {
+            delegate.fillRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        refreshState();
+        Font font = delegate.getFont();
+        if (fastText && font != null && !font.isTransformed()
+                && SoftwareRasterizer.canDraw(str)) {
+            raster.drawText(raster.glyphs(font), str, x + tx, y + ty, solidRgb, cx0, cy0, cx1, cy1);
+        } else {
+            delegate.drawString(str, x, y);
+        }
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        if (img == null) return true;
+        if (blit(img, x, y, img.getWidth(null), img.getHeight(null))) return true;
+        return delegate.drawImage(img, x, y, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        if (img == null) return true;
+        if (blit(img, x, y, width, height)) return true;
+        return delegate.drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+                             int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        if (img == null) return true;
+        if (blit(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2)) return true;
+        return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        return delegate.drawImage(img, x, y, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        return delegate.drawImage(img, x, y, width, height, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+                             int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+        return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        return delegate.drawImage(img, xform, obs);
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) { delegate.drawImage(img, op, x, y); }
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) { delegate.drawRenderedImage(img, xform); }
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) { delegate.drawRenderableImage(img, xform); }
+    @Override
+    public void drawString(String str, float x, float y) { delegate.drawString(str, x, y); }
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) { delegate.drawString(iterator, x, y); }
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) { delegate.drawString(iterator, x, y); }
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) { delegate.drawGlyphVector(g, x, y); }
+    @Override
+    public void draw(Shape s) { delegate.draw(s); }
+    @Override
+    public void fill(Shape s) { delegate.fill(s); }
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) { return delegate.hit(rect, s, onStroke); }
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) { delegate.copyArea(x, y, width, height, dx, dy); }
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) { delegate.drawLine(x1, y1, x2, y2); }
+    @Override
+    public void clearRect(int x, int y, int width, int height) { delegate.clearRect(x, y, width, height); }
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) { delegate.drawRoundRect(x, y, width, height, arcWidth, arcHeight); }
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) { delegate.fillRoundRect(x, y, width, height, arcWidth, arcHeight); }
+    @Override
+    public void drawOval(int x, int y, int width, int height) { delegate.drawOval(x, y, width, height); }
+    @Override
+    public void fillOval(int x, int y, int width, int height) { delegate.fillOval(x, y, width, height); }
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) { delegate.drawArc(x, y, width, height, startAngle, arcAngle); }
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) { delegate.fillArc(x, y, width, height, startAngle, arcAngle); }
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) { delegate.drawPolyline(xPoints, yPoints, nPoints); }
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) { delegate.drawPolygon(xPoints, yPoints, nPoints); }
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) { delegate.fillPolygon(xPoints, yPoints, nPoints); }
+}
@@ -0,0 +1,372 @@
+package com.game;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pure-Java renderer that composites straight into the int[] of a TYPE_INT_RGB frame.
+ *
+ * Sprites are converted once to packed ARGB with 1-bit alpha (alpha >= 128 is opaque,
+ * everything else is skipped) plus a list of opaque runs per row, so 1x blits become
+ * System.arraycopy calls and transparent areas cost nothing. There are dedicated
+ * 1x and 2x nearest-neighbour blitters (most actors are drawn at 2x) and a general
+ * nearest-neighbour path for the building strip. Text is drawn from cached 1-bit glyph masks.
+ *
+ * Game code keeps drawing through Graphics2D: SoftwareGraphics routes the calls it can
+ * handle here and passes everything else to Java2D on the same frame.
+ */
+public class SoftwareRasterizer {
+
+    private static final int ALPHA_THRESHOLD = 128;
+    private static final int FIRST_GLYPH = 32;
+    private static final int LAST_GLYPH = 126;
+
+    // --- Frame ---
+    private final BufferedImage frame;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    // --- Caches ---
+    // Weak keys: images dropped by the game (old background layers) drop their sprite data too
+    private final Map<Image, Sprite> spriteCache = new WeakHashMap<>();
+    private final Map<Font, GlyphSet> glyphCache = new HashMap<>();
+
+    // Reused source column table for scaled blits
+    private int[] columnMap = new int[0];
+
+    public SoftwareRasterizer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+    }
+
+    public BufferedImage getFrame() { return frame; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * Graphics for one frame. Dispose it before presenting.
+     */
+    public SoftwareGraphics createGraphics() {
+        return new SoftwareGraphics(this, frame.createGraphics());
+    }
+
+    // --- Sprite data ---
+
+    /**
+     * Packed sprite: ARGB pixels with alpha forced to 0 or 255, and per-row opaque runs.
+     * Runs of row r are spans[rowStart[r] .. rowStart[r + 1]) as (start, end) pairs.
+     */
+    static final class Sprite {
+        final int w, h;
+        final int[] argb;
+        final int[] rowStart;
+        final int[] spans;
+        final boolean opaque;
+
+        Sprite(int w, int h, int[] argb, int[] rowStart, int[] spans, boolean opaque) {
+            this.w = w;
+            this.h = h;
+            this.argb = argb;
+            this.rowStart = rowStart;
+            this.spans = spans;
+            this.opaque = opaque;
+        }
+    }
+
+    Sprite sprite(Image image) {
+        Sprite s = spriteCache.get(image);
+        if (s == null && image instanceof BufferedImage) {
+            s = buildSprite((BufferedImage) image);
+            spriteCache.put(image, s);
+        }
+        return s;
+    }
+
+    private static Sprite buildSprite(BufferedImage img) {
+        int w = img.getWidth();
+        int h = img.getHeight();
+        int[] argb = img.getRGB(0, 0, w, h, null, 0, w);
+        int[] rowStart = new int[h + 1];
+        int[] spans = new int[16];
+        int count = 0;
+        boolean opaque = true;
+
+        for (int y = 0; y < h; y++) {
+            rowStart[y] = count;
+            int runStart = -1;
+            for (int x = 0; x <= w; x++) {
+                boolean solid = false;
+                if (x < w) {
+                    int i = y * w + x;
+                    solid = (argb[i] >>> 24) >= ALPHA_THRESHOLD;
+                    argb[i] = solid ? (argb[i] | 0xFF000000) : 0;
+                    if (!solid) opaque = false;
+                }
+                if (solid && runStart < 0) {
+                    runStart = x;
+                } else if (!solid && runStart >= 0) {
+                    if (count + 2 > spans.length) spans = Arrays.copyOf(spans, spans.length * 2);
+                    spans[count++] = runStart;
+                    spans[count++] = x;
+                    runStart = -1;
+                }
+            }
+        }
+        rowStart[h] = count;
+        return new Sprite(w, h, argb, rowStart, Arrays.copyOf(spans, count), opaque);
+    }
+
+    // --- Blitters (device coordinates, clip already intersected with the frame) ---
+
+    /**
+     * 1:1 blit: every opaque run is one arraycopy.
+     */
+    void blit1x(Sprite s, int x, int y, int cx0, int cy0, int cx1, int cy1) {
+        int yStart = Math.max(y, cy0);
+        int yEnd = Math.min(y + s.h, cy1);
+        for (int dy = yStart; dy < yEnd; dy++) {
+            int sy = dy - y;
+            int srcRow = sy * s.w;
+            int dstRow = dy * width;
+            for (int k = s.rowStart[sy]; k < s.rowStart[sy + 1]; k += 2) {
+                int dx0 = Math.max(x + s.spans[k], cx0);
+                int dx1 = Math.min(x + s.spans[k + 1], cx1);
+                if (dx0 < dx1) System.arraycopy(s.argb, srcRow + dx0 - x, pixels, dstRow + dx0, dx1 - dx0);
+            }
+        }
+    }
+
+    /**
+     * 2x nearest-neighbour blit: each source run is expanded into the first destination
+     * row and the second row is copied from it.
+     */
+    void blit2x(Sprite s, int x, int y, int cx0, int cy0, int cx1, int cy1) {
+        for (int sy = 0; sy < s.h; sy++) {
+            int dyA = y + sy * 2;
+            int dyB = dyA + 1;
+            boolean rowA = dyA >= cy0 && dyA < cy1;
+            boolean rowB = dyB >= cy0 && dyB < cy1;
+            if (!rowA && !rowB) continue;
+
+            int srcRow = sy * s.w;
+            int dstA = dyA * width;
+            int dstB = dyB * width;
+            for (int k = s.rowStart[sy]; k < s.rowStart[sy + 1]; k += 2) {
+                int dx0 = Math.max(x + s.spans[k] * 2, cx0);
+                int dx1 = Math.min(x + s.spans[k + 1] * 2, cx1);
+                if (dx0 >= dx1) continue;
+
+                int target = rowA ? dstA : dstB;
+                for (int dx = dx0; dx < dx1; dx++) {
+                    pixels[target + dx] = s.argb[srcRow + ((dx - x) >> 1)];
+                }
+                if (rowA && rowB) System.arraycopy(pixels, dstA + dx0, pixels, dstB + dx0, dx1 - dx0);
+            }
+        }
+    }
+
+    /**
+     * General nearest-neighbour blit of source rect (sx, sy, sw, sh) to destination rect
+     * (dx, dy, dw, dh), sampling at pixel centres like Java2D's default interpolation.
+     */
+    void blitScaled(Sprite s, int dx, int dy, int dw, int dh, int sx, int sy, int sw, int sh,
+                    int cx0, int cy0, int cx1, int cy1) {
+        int xStart = Math.max(dx, cx0);
+        int xEnd = Math.min(dx + dw, cx1);
+        int yStart = Math.max(dy, cy0);
+        int yEnd = Math.min(dy + dh, cy1);
+        if (xStart >= xEnd || yStart >= yEnd) return;
+
+        int cols = xEnd - xStart;
+        if (columnMap.length < cols) columnMap = new int[cols];
+        for (int i = 0; i < cols; i++) {
+            long col = (long) (2 * (xStart - dx) + 2 * i + 1) * sw / (2L * dw);
+            columnMap[i] = sx + (int) col;
+        }
+
+        for (int ty = yStart; ty < yEnd; ty++) {
+            int srcY = sy + (int) ((long) (2 * (ty - dy) + 1) * sh / (2L * dh));
+            if (srcY < 0 || srcY >= s.h) continue;
+            int srcRow = srcY * s.w;
+            int dstRow = ty * width + xStart;
+
+            if (s.opaque) {
+                for (int i = 0; i < cols; i++) pixels[dstRow + i] = s.argb[srcRow + columnMap[i]];
+            } else {
+                for (int i = 0; i < cols; i++) {
+                    int p = s.argb[srcRow + columnMap[i]];
+                    if (p != 0) pixels[dstRow + i] = p;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opaque rows straight from another TYPE_INT_RGB image (the cached background layer).
+     */
+    void copyRgb(BufferedImage src, int x, int y, int cx0, int cy0, int cx1, int cy1) {
+        int[] srcPixels = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+        int sw = src.getWidth();
+        int xStart = Math.max(x, cx0);
+        int xEnd = Math.min(x + sw, cx1);
+        int yStart = Math.max(y, cy0);
+        int yEnd = Math.min(y + src.getHeight(), cy1);
+        if (xStart >= xEnd) return;
+
+        for (int dy = yStart; dy < yEnd; dy++) {
+            System.arraycopy(srcPixels, (dy - y) * sw + (xStart - x), pixels, dy * width + xStart, xEnd - xStart);
+        }
+    }
+
+    void fill(int rgb, int x0, int y0, int x1, int y1) {
+        if (x0 >= x1) return;
+        for (int y = y0; y < y1; y++) {
+            Arrays.fill(pixels, y * width + x0, y * width + x1, rgb);
+        }
+    }
+
+    // --- Text ---
+
+    /**
+     * Pre-rasterized 1-bit masks for printable ASCII in one font.
+     */
+    static final class GlyphSet {
+        final Sprite[] masks = new Sprite[LAST_GLYPH - FIRST_GLYPH + 1];
+        final int[] advance = new int[LAST_GLYPH - FIRST_GLYPH + 1];
+        int originX;
+        int originY;
+    }
+
+    GlyphSet glyphs(Font font) {
+        GlyphSet set = glyphCache.get(font);
+        if (set == null) {
+            set = buildGlyphs(font);
+            glyphCache.put(font, set);
+        }
+        return set;
+    }
+
+    private static GlyphSet buildGlyphs(Font font) {
+        GlyphSet set = new GlyphSet();
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D pg = probe.createGraphics();
+        FontMetrics fm = pg.getFontMetrics(font);
+        pg.dispose();
+
+        // Padding covers glyph parts that hang outside the advance box
+        int pad = Math.max(2, font.getSize() / 4);
+        int h = fm.getAscent() + fm.getDescent() + pad * 2;
+        set.originX = pad;
+        set.originY = pad + fm.getAscent();
+
+        for (int c = FIRST_GLYPH; c <= LAST_GLYPH; c++) {
+            int adv = fm.charWidth((char) c);
+            set.advance[c - FIRST_GLYPH] = adv;
+
+            BufferedImage img = new BufferedImage(adv + pad * 2, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = img.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            g.setFont(font);
+            g.setColor(Color.WHITE);
+            g.drawString(String.valueOf((char) c), set.originX, set.originY);
+            g.dispose();
+            set.masks[c - FIRST_GLYPH] = buildSprite(img);
+        }
+        return set;
+    }
+
+    /**
+     * True if every character of the string has a cached mask.
+     */
+    static boolean canDraw(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < FIRST_GLYPH || c > LAST_GLYPH) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fills every opaque run of each glyph mask with a solid colour.
+     */
+    void drawText(GlyphSet set, String text, int x, int baseline, int rgb,
+                  int cx0, int cy0, int cx1, int cy1) {
+        int penX = x;
+        for (int i = 0; i < text.length(); i++) {
+            int index = text.charAt(i) - FIRST_GLYPH;
+            Sprite mask = set.masks[index];
+            int gx = penX - set.originX;
+            int gy = baseline - set.originY;
+
+            int yStart = Math.max(gy, cy0);
+            int yEnd = Math.min(gy + mask.h, cy1);
+            for (int dy = yStart; dy < yEnd; dy++) {
+                int sy = dy - gy;
+                int dstRow = dy * width;
+                for (int k = mask.rowStart[sy]; k < mask.rowStart[sy + 1]; k += 2) {
+                    int dx0 = Math.max(gx + mask.spans[k], cx0);
+                    int dx1 = Math.min(gx + mask.spans[k + 1], cx1);
+                    if (dx0 < dx1) Arrays.fill(pixels, dstRow + dx0, dstRow + dx1, rgb);
+                }
+            }
+            penX += set.advance[index];
+        }
+    }
+
+    // --- Benchmark ---
+
+    private static final int BENCH_WARMUP = 60;
+    private static final int BENCH_FRAMES = 300;
+
+    /**
+     * Compares Java2D and this rasterizer on the pipeline probe scene, both drawing into a
+     * TYPE_INT_RGB frame of the game area size.
+     * Run with: java -cp bin com.game.SoftwareRasterizer
+     */
+    public static void main(String[] args) {
+        RenderPipelineProbe.ProbeScene scene = new RenderPipelineProbe.ProbeScene();
+        int w = GamePanel.GAME_AREA_WIDTH;
+        int h = GamePanel.GAME_AREA_HEIGHT;
+
+        BufferedImage java2dFrame = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        double java2dMs = bench(() -> java2dFrame.createGraphics(), scene);
+
+        SoftwareRasterizer raster = new SoftwareRasterizer(w, h);
+        double softwareMs = bench(raster::createGraphics, scene);
+
+        System.out.println(String.format("📊 Java2D:   %.3f ms/frame", java2dMs));
+        System.out.println(String.format("📊 Software: %.3f ms/frame (%.2fx)", softwareMs, java2dMs / softwareMs));
+    }
+
+    private interface GraphicsSource {
+        Graphics2D create();
+    }
+
+    private static double bench(GraphicsSource source, RenderPipelineProbe.ProbeScene scene) {
+        for (int i = 0; i < BENCH_WARMUP; i++) {
+            Graphics2D g2 = source.create();
+            scene.render(g2, i);
+            g2.dispose();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCH_FRAMES; i++) {
+            Graphics2D g2 = source.create();
+            scene.render(g2, i);
+            g2.dispose();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / BENCH_FRAMES;
+    }
+}
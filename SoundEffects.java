@@ -12,6 +12,8 @@ import javax.sound.sampled.*;
  */
 public class SoundEffects {
 
+    private static final GameLog.Channel log = GameLog.channel("sound");
+
     // Map to store loaded sound clips
     private static final Map<String, Clip> soundEffects = new HashMap<>();
     private static String basePath = "res/";
@@ -21,7 +23,7 @@ public class SoundEffects {
      */
     public static void init(String path) {
         basePath = path;
-        System.out.println("🔊 SoundEffects initialized with base path: " + basePath);
+        log.info("🔊 SoundEffects initialized with base path: {}", basePath);
     }
 
     /**
@@ -65,7 +67,7 @@ public class SoundEffects {
             }
 
             if (audioStream == null) {
-                System.err.println("❌ SoundEffects: Could not find file: " + filePath);
+                log.error("❌ SoundEffects: Could not find file: {}", filePath);
                 return;
             }
 
@@ -73,10 +75,10 @@ public class SoundEffects {
             clip.open(audioStream);
 
             soundEffects.put(key, clip);
-            // System.out.println("✅ Sound loaded: " + key); // Uncomment for debug
+            log.debug("✅ Sound loaded: {}", key);
 
         } catch (Exception e) {
-            System.err.println("❌ SoundEffects: Error loading sound '" + key + "': " + e.getMessage());
+            log.error("❌ SoundEffects: Error loading sound '{}': {}", key, e.getMessage());
             // e.printStackTrace(); // Uncomment for deep debugging
         }
     }
@@ -106,7 +108,7 @@ public class SoundEffects {
     public static void playSoundLoop(String key) {
         Clip clip = soundEffects.get(key);
         if (clip == null) {
-            System.err.println("⚠️ SoundEffects: Sound not found for loop: " + key);
+            log.warn("⚠️ SoundEffects: Sound not found for loop: {}", key);
             return;
         }
 
@@ -143,6 +145,6 @@ public class SoundEffects {
             }
         }
         soundEffects.clear();
-        System.out.println("🔇 All sounds closed.");
+        log.info("🔇 All sounds closed.");
     }
 }
\ No newline at end of file
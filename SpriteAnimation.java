@@ -0,0 +1,247 @@
+package com.game;
+
+import java.awt.Image;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Table-driven sprite animation shared by the actors.
+ *
+ * A Clip is loaded from 'animations.properties' and precomputed into per-tick tables:
+ * which frame shows on tick t, and which event (if any) fires when tick t ends. Actors
+ * only keep a Cursor and advance it once per tick; picking the frame is one array lookup.
+ *
+ * Clip syntax: {@code name = frame[:ticks] frame[:ticks] ... ; duration=N ; loop ; events=2:brick,3:brick}
+ * where a frame is an image path for ResourceManager, duration is the default ticks per
+ * frame, and an event on frame N fires when frame N has been shown for its full duration.
+ */
+public class SpriteAnimation {
+
+    private static final GameLog.Channel log = GameLog.channel("animation");
+
+    private static final String FILE_PATH = "animations.properties";
+    private static Properties data;
+    private static final Map<String, Clip> clips = new HashMap<>();
+
+    // Private constructor to prevent instantiation of utility class
+    private SpriteAnimation() {}
+
+    /**
+     * Returns the named clip, loading and precomputing it on first use.
+     * Unknown clips come back as a single empty frame so drawing simply skips them.
+     */
+    public static synchronized Clip getClip(String name) {
+        Clip clip = clips.get(name);
+        if (clip == null) {
+            String spec = loadData().getProperty(name);
+            if (spec == null) log.error("❌ Animation clip not found: {}", name);
+            clip = parse(name, spec == null ? "" : spec);
+            clips.put(name, clip);
+        }
+        return clip;
+    }
+
+    private static Properties loadData() {
+        if (data != null) return data;
+
+        data = new Properties();
+        try {
+            InputStream in = null;
+            File file = new File(FILE_PATH);
+            if (file.exists()) in = new FileInputStream(file);
+            if (in == null) in = SpriteAnimation.class.getResourceAsStream("/" + FILE_PATH);
+            if (in == null) {
+                log.error("❌ " + FILE_PATH + " not found: actors will not be animated");
+                return data;
+            }
+            try (InputStream stream = in) {
+                data.load(stream);
+            }
+        } catch (IOException e) {
+            log.error("❌ Could not read " + FILE_PATH + ": {}", e.getMessage());
+        }
+        return data;
+    }
+
+    private static Clip parse(String name, String spec) {
+        String[] parts = spec.split(";");
+        int defaultTicks = 1;
+        boolean loop = false;
+        Map<Integer, String> events = new HashMap<>();
+
+        for (int i = 1; i < parts.length; i++) {
+            String option = parts[i].trim();
+            if (option.equals("loop")) {
+                loop = true;
+            } else if (option.startsWith("duration=")) {
+                defaultTicks = Math.max(1, Integer.parseInt(option.substring(9).trim()));
+            } else if (option.startsWith("events=")) {
+                for (String ev : option.substring(7).split(",")) {
+                    String[] kv = ev.trim().split(":");
+                    events.put(Integer.parseInt(kv[0].trim()), kv[1].trim());
+                }
+            }
+        }
+
+        List<Image> frames = new ArrayList<>();
+        List<Integer> ticks = new ArrayList<>();
+        for (String token : parts[0].trim().split("\\s+")) {
+            if (token.isEmpty()) continue;
+            int colon = token.lastIndexOf(':');
+            String path = colon > 0 ? token.substring(0, colon) : token;
+            frames.add(ResourceManager.get().getImage(path));
+            ticks.add(colon > 0 ? Math.max(1, Integer.parseInt(token.substring(colon + 1))) : defaultTicks);
+        }
+        if (frames.isEmpty()) {
+            frames.add(null);
+            ticks.add(1);
+        }
+
+        String[] frameEvents = new String[frames.size()];
+        events.forEach((frame, ev) -> {
+            if (frame >= 0 && frame < frameEvents.length) frameEvents[frame] = ev;
+        });
+        int[] durations = ticks.stream().mapToInt(Integer::intValue).toArray();
+        return new Clip(name, frames.toArray(new Image[0]), durations, frameEvents, loop);
+    }
+
+    /**
+     * An immutable clip with its per-tick lookup tables.
+     */
+    public static final class Clip {
+        public final String name;
+        private final Image[] frames;
+        private final boolean loop;
+        private final int[] frameAtTick;    // Frame index shown on each tick
+        private final String[] eventAtTick; // Event fired when that tick ends (frame completed)
+
+        Clip(String name, Image[] frames, int[] durations, String[] frameEvents, boolean loop) {
+            this.name = name;
+            this.frames = frames;
+            this.loop = loop;
+
+            int length = 0;
+            for (int d : durations) length += d;
+            frameAtTick = new int[length];
+            eventAtTick = new String[length];
+            int t = 0;
+            for (int f = 0; f < frames.length; f++) {
+                for (int k = 0; k < durations[f]; k++) frameAtTick[t++] = f;
+                eventAtTick[t - 1] = frameEvents[f];
+            }
+        }
+
+        /**
+         * Clip length in ticks.
+         */
+        public int length() {
+            return frameAtTick.length;
+        }
+
+        public boolean isLooping() {
+            return loop;
+        }
+
+        /**
+         * Frame index on the given tick (wraps when looping, holds the last frame otherwise).
+         */
+        public int indexAt(int tick) {
+            int t = loop ? tick % frameAtTick.length : Math.min(tick, frameAtTick.length - 1);
+            return frameAtTick[t];
+        }
+
+        public Image frameAt(int tick) {
+            return frames[indexAt(tick)];
+        }
+
+        /**
+         * All frames, for sizing (dirty regions).
+         */
+        public Image[] getFrames() {
+            return frames.clone();
+        }
+    }
+
+    /**
+     * Playback position in a clip, advanced once per tick by its owner.
+     * Frames can run slower than the game tick (ticksPerStep), e.g. for Ralph's
+     * level-dependent speed.
+     */
+    public static final class Cursor {
+        private Clip clip;
+        private int tick = 0;
+        private int subTick = 0;
+        private int ticksPerStep = 1;
+
+        public Cursor(Clip clip) {
+            this.clip = clip;
+        }
+
+        /**
+         * Starts a clip from its first frame.
+         */
+        public void play(Clip next) {
+            clip = next;
+            restart();
+        }
+
+        public void restart() {
+            tick = 0;
+            subTick = 0;
+        }
+
+        /**
+         * Game ticks per clip tick (1 = clip durations are game ticks).
+         */
+        public void setTicksPerStep(int ticks) {
+            ticksPerStep = Math.max(1, ticks);
+        }
+
+        /**
+         * Advances one game tick.
+         * @return The event of a frame that just completed, or null.
+         */
+        public String advance() {
+            if (isFinished()) return null;
+            if (++subTick < ticksPerStep) return null;
+            subTick = 0;
+
+            String event = clip.eventAtTick[tick];
+            tick = clip.loop ? (tick + 1) % clip.length() : tick + 1;
+            return event;
+        }
+
+        /**
+         * True once a non-looping clip has played to the end.
+         */
+        public boolean isFinished() {
+            return !clip.loop && tick >= clip.length();
+        }
+
+        public Clip getClip() {
+            return clip;
+        }
+
+        public int getFrameIndex() {
+            return clip.indexAt(tick);
+        }
+
+        public Image getFrame() {
+            return clip.frameAt(tick);
+        }
+
+        /**
+         * The frame of a variant clip with the same timing (e.g. the right-facing version).
+         */
+        public Image getFrame(Clip variant) {
+            return variant.frameAt(tick);
+        }
+    }
+}
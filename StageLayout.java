@@ -0,0 +1,209 @@
+package com.game;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable building layout: floors and windows as primitive coordinate arrays, plus a
+ * coarse grid that maps a hammer hitbox to the few windows it can touch.
+ *
+ * Layouts are compiled once (see LivelloCompletato) and shared by every level that uses
+ * them; the per-level state (which windows are repaired) lives in WindowSet.
+ */
+public final class StageLayout {
+
+    private static final int CELL_SHIFT = 5; // 32 px grid cells
+
+    public final String name;
+    public final int windowWidth, windowHeight; // Window hitbox size
+
+    private final int[] floorX, floorY, floorWidth, floorHeight;
+    private final int[] windowX, windowY;
+
+    // Rectangle views for the collision code. Shared: never modify them.
+    private final List<Rectangle> floorRects;
+    private final List<Rectangle> windowRects;
+
+    // Hit grid: the windows overlapping cell c are cellWindows[cellStart[c] .. cellStart[c + 1])
+    private final int gridX, gridY, gridCols, gridRows;
+    private final int[] cellStart;
+    private final int[] cellWindows;
+
+    private StageLayout(Builder b) {
+        this.name = b.name;
+        this.windowWidth = b.windowWidth;
+        this.windowHeight = b.windowHeight;
+        this.floorX = b.floors.column(0);
+        this.floorY = b.floors.column(1);
+        this.floorWidth = b.floors.column(2);
+        this.floorHeight = b.floors.column(3);
+        this.windowX = b.windows.column(0);
+        this.windowY = b.windows.column(1);
+
+        List<Rectangle> floors = new ArrayList<>();
+        for (int i = 0; i < floorX.length; i++) {
+            floors.add(new Rectangle(floorX[i], floorY[i], floorWidth[i], floorHeight[i]));
+        }
+        List<Rectangle> windows = new ArrayList<>();
+        for (int i = 0; i < windowX.length; i++) {
+            windows.add(new Rectangle(windowX[i], windowY[i], windowWidth, windowHeight));
+        }
+        this.floorRects = Collections.unmodifiableList(floors);
+        this.windowRects = Collections.unmodifiableList(windows);
+
+        // --- Hit grid over the windows' bounding box ---
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = 0, maxY = 0;
+        for (int i = 0; i < windowX.length; i++) {
+            minX = Math.min(minX, windowX[i]);
+            minY = Math.min(minY, windowY[i]);
+            maxX = Math.max(maxX, windowX[i] + windowWidth);
+            maxY = Math.max(maxY, windowY[i] + windowHeight);
+        }
+        if (windowX.length == 0) minX = minY = 0;
+        this.gridX = minX;
+        this.gridY = minY;
+        this.gridCols = ((maxX - minX) >> CELL_SHIFT) + 1;
+        this.gridRows = ((maxY - minY) >> CELL_SHIFT) + 1;
+
+        // Two passes: count the windows per cell, then store them behind prefix-sum offsets
+        int cells = gridCols * gridRows;
+        int[] start = new int[cells + 1];
+        int[] list = null;
+        int[] fill = null;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int w = 0; w < windowX.length; w++) {
+                int c0 = (windowX[w] - gridX) >> CELL_SHIFT, c1 = (windowX[w] + windowWidth - 1 - gridX) >> CELL_SHIFT;
+                int r0 = (windowY[w] - gridY) >> CELL_SHIFT, r1 = (windowY[w] + windowHeight - 1 - gridY) >> CELL_SHIFT;
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) {
+                        int cell = r * gridCols + c;
+                        if (pass == 0) start[cell + 1]++;
+                        else list[fill[cell]++] = w;
+                    }
+                }
+            }
+            if (pass == 0) {
+                for (int c = 0; c < cells; c++) start[c + 1] += start[c];
+                fill = Arrays.copyOf(start, cells);
+                list = new int[start[cells]];
+            }
+        }
+        this.cellStart = start;
+        this.cellWindows = list;
+    }
+
+    // --- Queries ---
+
+    public int getWindowCount() {
+        return windowX.length;
+    }
+
+    public int getWindowX(int i) {
+        return windowX[i];
+    }
+
+    public int getWindowY(int i) {
+        return windowY[i];
+    }
+
+    public List<Rectangle> getFloors() {
+        return floorRects;
+    }
+
+    public List<Rectangle> getWindows() {
+        return windowRects;
+    }
+
+    /**
+     * Lowest-index window whose hitbox intersects the rectangle and is not in 'skip'.
+     * Only the grid cells under the rectangle are visited.
+     * @return Window index, or -1.
+     */
+    public int findWindow(Rectangle r, BitSet skip) {
+        if (r == null || r.width <= 0 || r.height <= 0 || windowX.length == 0) return -1;
+
+        int c0 = Math.max(0, (r.x - gridX) >> CELL_SHIFT);
+        int c1 = Math.min(gridCols - 1, (r.x + r.width - 1 - gridX) >> CELL_SHIFT);
+        int r0 = Math.max(0, (r.y - gridY) >> CELL_SHIFT);
+        int r1 = Math.min(gridRows - 1, (r.y + r.height - 1 - gridY) >> CELL_SHIFT);
+
+        int best = -1;
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int cell = row * gridCols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int w = cellWindows[k];
+                    if ((best >= 0 && w >= best) || skip.get(w)) continue;
+                    if (r.x < windowX[w] + windowWidth && windowX[w] < r.x + r.width
+                            && r.y < windowY[w] + windowHeight && windowY[w] < r.y + r.height) {
+                        best = w;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Collects floors and windows, then compiles them into an immutable layout.
+     */
+    public static final class Builder {
+        private final String name;
+        private final int windowWidth, windowHeight;
+        private final IntRows floors = new IntRows(4);
+        private final IntRows windows = new IntRows(2);
+
+        /**
+         * @param windowWidth Width of every window hitbox.
+         * @param windowHeight Height of every window hitbox.
+         */
+        public Builder(String name, int windowWidth, int windowHeight) {
+            this.name = name;
+            this.windowWidth = windowWidth;
+            this.windowHeight = windowHeight;
+        }
+
+        public Builder floor(int x, int y, int width, int height) {
+            floors.add(x, y, width, height);
+            return this;
+        }
+
+        public Builder window(int x, int y) {
+            windows.add(x, y);
+            return this;
+        }
+
+        public StageLayout build() {
+            return new StageLayout(this);
+        }
+    }
+
+    /**
+     * Growable rows of ints, split into columns at build time.
+     */
+    private static final class IntRows {
+        private final int width;
+        private int[] data = new int[64];
+        private int size = 0;
+
+        IntRows(int width) {
+            this.width = width;
+        }
+
+        void add(int... row) {
+            if (size + width > data.length) data = Arrays.copyOf(data, data.length * 2);
+            System.arraycopy(row, 0, data, size, width);
+            size += width;
+        }
+
+        int[] column(int c) {
+            int[] column = new int[size / width];
+            for (int i = 0; i < column.length; i++) column[i] = data[i * width + c];
+            return column;
+        }
+    }
+}
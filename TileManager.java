@@ -40,14 +40,9 @@ public class TileManager {
     // Windows & Collision Lists
     private final List<Rectangle> collisionTiles = new ArrayList<>(); // Floors/Platforms
     private final List<Rectangle> collisionWindows = new ArrayList<>(); // Repairable windows
-    private Window[] animazioneFinestre; // Array of visual window objects
+    private WindowSet finestre = new WindowSet(); // Repaired/blinking state of the windows
+    private WindowSet finestreProssime = new WindowSet(); // Next level's windows, prepared by LevelPipeline
     private int count; // Number of broken windows remaining
-    
-    // Constants for Window Layout (Grid size)
-    private final int windowWidth = 75;
-    private final int windowHeight = 128;
-    private final int gapX = 15;
-    private final int gapY = -2;
 
     // Ralph Cutscene (Destruction sequence variables)
     private BufferedImage ralphBack1, ralphBack2;
@@ -68,6 +63,9 @@ public class TileManager {
     private boolean showBonus = false;
     private long bonusStartTime;
     private Font arcadeFont;
+    // Area covered by the floating "+100" texts, tracked for dirty-region repaints
+    private final Rectangle bonusTextArea = new Rectangle();
+    private final Rectangle bonusTextBox = new Rectangle(); // Reused for each new text
 
     // Pie System (Bonus item spawning)
     private long pieSystemStartTime = 0;
@@ -76,6 +74,7 @@ public class TileManager {
     private static final long MAX_PIE_SPAWN_INTERVAL = 35000; // 35 seconds maximum
     private static final long PIE_DURATION = 10000; // Pie stays for 10 seconds
     private long pieSpawnedAt = 0;
+    private TimerWheel.Timeout pieConsumeTimeout; // Pending "pie eaten" cleanup
 
     /**
      * Constructor. Initializes the level manager.
@@ -94,16 +93,11 @@ public class TileManager {
         initializeCollisionData();
 
         // Setup the level layout generator
-        this.livelloCompletatoManager = new LivelloCompletato(
-            gp, collisionTiles, collisionWindows,
-            windowWidth, windowHeight, gapX, gapY, livN
-        );
+        this.livelloCompletatoManager = new LivelloCompletato(collisionTiles, collisionWindows, livN,
+                BuildingStream.fromConfig());
         
         // Build the initial stage
-        this.animazioneFinestre = livelloCompletatoManager.rebuildStage();
-        if (this.animazioneFinestre != null) {
-            this.count = this.animazioneFinestre.length;
-        }
+        rebuildStage();
     }
 
     /**
@@ -133,41 +127,38 @@ public class TileManager {
      * @param martello The hitbox of Felix's hammer.
      */
     public void aggiustaFinestra(Rectangle martello) {
-        if (animazioneFinestre == null) return;
-
-        for (int i = 0; i < collisionWindows.size(); i++) {
-            Window win = animazioneFinestre[i];
-            Rectangle hit = collisionWindows.get(i);
+        // Check collision with a BROKEN window (grid lookup, only the cells under the hammer)
+        int i = finestre.findBroken(martello);
+        if (i < 0) return;
 
-            // Check collision with a BROKEN window
-            if (!win.isRiparata() && martello.intersects(hit)) {
-                
-                // Start the timer on the first repair
-                if (!timerAvviato) {
-                    startLevelTimer();
-                    timerAvviato = true;
-                    pieSystemStartTime = System.currentTimeMillis();
-                    calculateNextSpawnDelay();
-                }
+        // Start the timer on the first repair
+        if (!timerAvviato) {
+            startLevelTimer();
+            timerAvviato = true;
+            pieSystemStartTime = GameClock.now();
+            calculateNextSpawnDelay();
+        }
 
-                // Repair logic
-                win.ripara();
-                count--;
-                
-                // Show "+100" floating text
-                int textX = martello.x + martello.width / 2;
-                int textY = martello.y;
-                bonusTexts.add(new BonusText(textX, textY, 100));
-                
-                gp.scoreManager.addPoints(100);
-                
-                // Check Level Completion (0 windows left)
-                if (count <= 0) {
-                    count = 0;
-                    startDestructionCutscene();
-                }
-                return;
-            }
+        // Repair logic
+        finestre.repair(i);
+        count--;
+        gp.session.windowRepaired();
+        EventLog.record(EventLog.WINDOW_REPAIRED, i, martello.x, martello.y, count);
+        
+        // Show "+100" floating text
+        int textX = martello.x + martello.width / 2;
+        int textY = martello.y;
+        bonusTexts.add(new BonusText(textX, textY, 100));
+        bonusTextBox.setBounds(textX - 60, textY - 80, 120, 100);
+        if (bonusTextArea.isEmpty()) bonusTextArea.setBounds(bonusTextBox);
+        else bonusTextArea.add(bonusTextBox);
+        
+        gp.scoreManager.addPoints(100);
+        
+        // Check Level Completion (0 windows left)
+        if (count <= 0) {
+            count = 0;
+            startDestructionCutscene();
         }
     }
     
@@ -183,7 +174,7 @@ public class TileManager {
         // ✅ Tell Ralph to run in "Transition Mode" (No speech bubble, fast animation)
         rcs.setSkipIntro(true);
         
-        cutsceneStartTime = System.currentTimeMillis();
+        cutsceneStartTime = GameClock.now();
     }
 
     /**
@@ -196,13 +187,15 @@ public class TileManager {
             return;
         }
 
-        // 2. Update Window Animations (Blinking)
-        if (animazioneFinestre != null) {
-            for (Window window : animazioneFinestre) {
-                window.update();
-            }
+        // Reset background position for odd levels (simulating infinite climb)
+        if (isBackgroundPinned()) {
+            backgroundY = background.getHeight() - 318;
+            backgroundY1 = background.getHeight();
         }
 
+        // 2. Update Window Animations (Blinking)
+        finestre.update();
+
         // 3. Update Destruction Cutscene
         if (showCutscene) {
             handleDestructionCutscene();
@@ -213,9 +206,10 @@ public class TileManager {
             bt.update();
             return bt.isExpired();
         });
+        if (bonusTexts.isEmpty()) bonusTextArea.setBounds(0, 0, 0, 0);
         
         // 5. Hide Bonus Text after delay
-        if (showBonus && (System.currentTimeMillis() - bonusStartTime > 2000)) {
+        if (showBonus && (GameClock.now() - bonusStartTime > 2000)) {
             showBonus = false;
         }
 
@@ -231,7 +225,7 @@ public class TileManager {
     private void handleScrolling() {
         gp.player.setActive(false); // Lock player
         if (backgroundY > 70) {
-            gp.player.y += (SCROLL_SPEED * 3); // Move player down with screen
+            gp.player.moveBy(0, SCROLL_SPEED * 3); // Move player down with screen
             backgroundY -= SCROLL_SPEED;
             backgroundY1 -= SCROLL_SPEED;
         } else {
@@ -246,11 +240,12 @@ public class TileManager {
      * Logic for Ralph's destruction animation between levels.
      */
     private void handleDestructionCutscene() {
-        long elapsed = System.currentTimeMillis() - cutsceneStartTime;
+        long elapsed = GameClock.now() - cutsceneStartTime;
 
         if (elapsed < CUTSCENE_DURATION) {
             toggleImage = (elapsed % 300 < 150); // Blink effect
             ralphY -= RALPH_SPEED; // Move Ralph up
+            rcs.spawnFallingObjects();
             rcs.update(); // Update debris logic
         } else {
             // Cutscene Over
@@ -269,13 +264,15 @@ public class TileManager {
      */
     private void applyTimeBonus() {
         if (timerAvviato) {
-            long tempoTrascorso = (System.currentTimeMillis() - startTime) / 1000;
+            long tempoTrascorso = (GameClock.now() - startTime) / 1000;
+            gp.session.levelCleared(livN.getNumeroLivello(), GameClock.now() - startTime);
+            EventLog.record(EventLog.LEVEL_CLEAR, 0, 0, 0, (int) (GameClock.now() - startTime));
             int bonus = calcolaBonus((int) tempoTrascorso);
             gp.scoreManager.addPoints(bonus);
             
             bonusVisual = bonus;
             showBonus = true;
-            bonusStartTime = System.currentTimeMillis();
+            bonusStartTime = GameClock.now();
             
             int totalScore = gp.scoreManager.getScore();
             if (HighScoreManager.isHighScore(totalScore)) {
@@ -297,11 +294,10 @@ public class TileManager {
                 gp.player.startEatingAnimation();
                 pie.startEating();
                 gp.scoreManager.addPoints(50);
+                gp.session.pieEaten();
+                EventLog.record(EventLog.PIE_EATEN, 0, gp.player.getX(), gp.player.getY(), 50);
                 
-                new Thread(() -> {
-                    try { Thread.sleep(2000); } catch (Exception ignored) {}
-                    pie.consume();
-                }).start();
+                pieConsumeTimeout = gp.timers.scheduleMillis(2000, pie::consume);
             }
         }
         
@@ -314,23 +310,63 @@ public class TileManager {
      * Main render method for the map and background elements.
      */
     public void draw(Graphics2D g2) {
-        // Reset background position for odd levels (simulating infinite climb)
-        if (livN != null && livN.getNumeroLivello() % 2 != 0 && !livelloInTransizione) {
-            backgroundY = background.getHeight() - 318;
-            backgroundY1 = background.getHeight();
-        }
-        
-        // Draw Background
-        if (background != null) {
-            g2.drawImage(background, 401, 21, 1052, SCREEN_HEIGHT,
-                         0, backgroundY, 232, backgroundY1, null);
-        }
+        drawBackground(g2);
+        drawForeground(g2);
+    }
 
+    /**
+     * Draws only the building strip. This is the static layer GamePanel caches
+     * during steady gameplay.
+     */
+    public void drawBackground(Graphics2D g2) {
+        if (background == null) return;
+        drawBackground(g2, getBackgroundY());
+    }
+
+    /**
+     * Draws the building strip at a given offset. Only reads the building image, so
+     * LevelPipeline can render the next level's layer on its own thread.
+     */
+    public void drawBackground(Graphics2D g2, int srcY) {
+        if (background == null) return;
+        g2.drawImage(background, 401, 21, 1052, SCREEN_HEIGHT,
+                     0, srcY, 232, srcY + 318, null);
+    }
+
+    /**
+     * Offset of the visible building strip.
+     * Odd levels always show the bottom of the building. Computed here too (not only in
+     * update) because the cached layer can be rebuilt before the next update runs.
+     */
+    public int getBackgroundY() {
+        return isBackgroundPinned() ? background.getHeight() - 318 : backgroundY;
+    }
+
+    /**
+     * Offset the building will show once the next level has scrolled into place.
+     * Called before the scroll starts (level clear), while the current level is still shown.
+     */
+    public int getNextLevelBackgroundY() {
+        if (background == null) return 0;
+        if ((livN.getNumeroLivello() + 1) % 2 != 0) return background.getHeight() - 318;
+
+        // Same steps as handleScrolling
+        int y = getBackgroundY();
+        while (y > 70) y -= SCROLL_SPEED;
+        return y;
+    }
+    
+    private boolean isBackgroundPinned() {
+        return background != null && livN != null && livN.getNumeroLivello() % 2 != 0 && !livelloInTransizione;
+    }
+
+    /**
+     * Draws everything that sits on top of the building (windows, cutscene, pie, texts).
+     */
+    public void drawForeground(Graphics2D g2) {
         // Draw Windows
-        if (count > 0 && !livelloInTransizione && animazioneFinestre != null) {
-            for (Window window : animazioneFinestre) {
-                window.draw(g2);
-            }
+        if (count > 0 && !livelloInTransizione) {
+            finestre.draw(g2);
         }
 
         // Draw Destruction Cutscene (Ralph)
@@ -341,7 +377,6 @@ public class TileManager {
                 int scaledHeight = currentImg.getHeight() * 2;
                 g2.drawImage(currentImg, ralphX, ralphY, scaledWidth, scaledHeight, null);
             }
-            rcs.spawnFallingObjects();
             rcs.draw(g2);
         }
         
@@ -355,12 +390,16 @@ public class TileManager {
             g2.setFont(arcadeFont.deriveFont(36f));
             String text = "+" + bonusVisual + " TIME BONUS!";
             
-            // Shadow
+            // Shadow (single drop shadow when the quality governor is saving time)
             g2.setColor(Color.BLACK);
-            for (int dx = -2; dx <= 2; dx++) {
-                for (int dy = -2; dy <= 2; dy++) {
-                    if (dx != 0 || dy != 0) g2.drawString(text, 552 + dx, 102 + dy);
+            if (QualityGovernor.isShadowRingEnabled()) {
+                for (int dx = -2; dx <= 2; dx++) {
+                    for (int dy = -2; dy <= 2; dy++) {
+                        if (dx != 0 || dy != 0) g2.drawString(text, 552 + dx, 102 + dy);
+                    }
                 }
+            } else {
+                g2.drawString(text, 552 + 2, 102 + 2);
             }
             // Main Text
             g2.setColor(Color.YELLOW);
@@ -373,6 +412,28 @@ public class TileManager {
         }
     }
     
+    /**
+     * Reports the map elements that changed this tick (blinking windows, pie,
+     * floating texts, time bonus banner, timer bar).
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        finestre.markDirty(tracker);
+        
+        if (timerAvviato && pieSystemStartTime > 0) {
+            pie.markDirty(tracker);
+        }
+        
+        tracker.add(bonusTextArea);
+        
+        if (showBonus) {
+            tracker.add(540, 60, 560, 60);
+        }
+        
+        if (timerAvviato && timeBar != null) {
+            timeBar.markDirty(tracker);
+        }
+    }
+    
     public void drawTimer(Graphics2D g2) {
         if (timerAvviato && timeBar != null) {
             timeBar.draw(g2);
@@ -381,7 +442,7 @@ public class TileManager {
 
     // Logic to randomize pie spawn
     private void trySpawnPie() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.now();
         long elapsed = currentTime - pieSystemStartTime;
         
         if (pie.isActive() && currentTime - pieSpawnedAt >= PIE_DURATION) {
@@ -390,9 +451,17 @@ public class TileManager {
         }
         
         if (!pie.isActive() && elapsed >= nextPieSpawnDelay) {
-            if (!collisionWindows.isEmpty()) {
-                int idx = (int) (Math.random() * collisionWindows.size());
-                pie.spawn(collisionWindows.get(idx));
+            // Windows that started the level repaired are not spawn spots
+            int spots = collisionWindows.size() - finestre.getStartedRepairedCount();
+            if (spots > 0) {
+                int pick = (int) (Math.random() * spots);
+                for (int i = 0; i < collisionWindows.size(); i++) {
+                    if (finestre.startedRepaired(i)) continue;
+                    if (pick-- == 0) {
+                        pie.spawn(collisionWindows.get(i));
+                        break;
+                    }
+                }
                 pieSpawnedAt = currentTime;
                 calculateNextSpawnDelay();
                 pieSystemStartTime = currentTime;
@@ -412,7 +481,7 @@ public class TileManager {
     }
     
     public void startLevelTimer() {
-        startTime = System.currentTimeMillis();
+        startTime = GameClock.now();
         int maxTime = calculateMaxTime();
         timeBar = new TimeBar(maxTime);
     }
@@ -444,10 +513,12 @@ public class TileManager {
         timerAvviato = false;
         timeBar = null;
         bonusTexts.clear();
+        bonusTextArea.setBounds(0, 0, 0, 0);
         showBonus = false;
         showCutscene = false; 
         destructionFinished = false; 
         
+        gp.timers.cancel(pieConsumeTimeout);
         pie.reset();
         pieSystemStartTime = 0;
         nextPieSpawnDelay = 0;
@@ -470,17 +541,37 @@ public class TileManager {
         return collisionWindows;
     }
     
-    public Window[] getAnimazioneFinestre() {
-        return animazioneFinestre;
+    public WindowSet getFinestre() {
+        return finestre;
+    }
+    
+    /**
+     * Window set not in use by the current level, handed to LevelPipeline for the next one.
+     */
+    public WindowSet getFinestreProssime() {
+        return finestreProssime;
+    }
+    
+    /**
+     * Swaps in a level prepared by LevelPipeline: its layout's floors/windows and the
+     * window set it reset. The old window set becomes the spare for the next level.
+     */
+    public void swapStage(StageLayout layout, WindowSet prepared) {
+        livelloCompletatoManager.loadStage(layout);
+        if (prepared != finestre) {
+            finestreProssime = finestre;
+            finestre = prepared;
+        }
+        this.count = finestre.getBrokenCount();
     }
     
     /**
-     * Sets new windows when the level is rebuilt.
+     * Switches the windows and floors to the current level's layout.
      * Automatically updates the window count.
      */
-    public void setAnimazioneFinestre(Window[] windows) {
-        this.animazioneFinestre = windows;
-        this.count = (windows != null) ? windows.length : 0;
+    public void rebuildStage() {
+        livelloCompletatoManager.rebuildStage(finestre);
+        this.count = finestre.getBrokenCount();
     }
 
     public Pie getPie() {
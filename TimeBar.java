@@ -24,6 +24,7 @@ public class TimeBar {
     private final int[] soglieBonus = {30, 40, 50, 60, 70, 80, 100, 120};
     
     private Font arcadeFont;
+    private int lastMarkedSeconds = -1; // Dirty-region tracking
 
     /**
      * Creates a new TimeBar.
@@ -31,7 +32,7 @@ public class TimeBar {
      */
     public TimeBar(int tempoMassimo) {
         this.tempoMassimo = tempoMassimo;
-        this.startTime = System.currentTimeMillis();
+        this.startTime = GameClock.now();
         loadArcadeFont();
     }
     
@@ -56,12 +57,24 @@ public class TimeBar {
      * Calculates the remaining time in seconds.
      */
     public int getTempoResiduo() {
-        int tempoTrascorso = (int) ((System.currentTimeMillis() - startTime) / 1000);
+        int tempoTrascorso = (int) ((GameClock.now() - startTime) / 1000);
         return Math.max(0, tempoMassimo - tempoTrascorso);
     }
     
+    /**
+     * Reports the bar area when the displayed seconds changed since the last call.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        int tempoResiduo = getTempoResiduo();
+        if (tempoResiduo != lastMarkedSeconds) {
+            // Label sits above the bar
+            tracker.add(BAR_X - 2, BAR_Y - 24, BAR_WIDTH + 4, BAR_HEIGHT + 26);
+            lastMarkedSeconds = tempoResiduo;
+        }
+    }
+    
     public int getTempoTrascorso() {
-        return (int) ((System.currentTimeMillis() - startTime) / 1000);
+        return (int) ((GameClock.now() - startTime) / 1000);
     }
 
     /**
@@ -0,0 +1,152 @@
+package com.game;
+
+/**
+ * Hashed timer wheel for delayed game actions.
+ *
+ * The wheel is advanced once per game tick by GamePanel.update(), so every action runs
+ * on the game thread at an exact tick (and stops while the game is paused). Timeouts
+ * live in a ring of slots indexed by deadline tick; delays longer than one turn of the
+ * wheel count down in rounds. Scheduling and cancelling are O(1) and create no threads.
+ * Actions due on the same tick run in the order they were scheduled.
+ * Not thread-safe: schedule and cancel from the game thread only.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_COUNT = 64; // Power of two: slot = tick & MASK
+    private static final int MASK = SLOT_COUNT - 1;
+
+    private final Timeout[] slots = new Timeout[SLOT_COUNT]; // Head of each slot's list
+    private final Timeout[] tails = new Timeout[SLOT_COUNT]; // Tail: new timeouts are appended
+    private long currentTick = 0;
+    private int pending = 0;
+
+    /**
+     * A scheduled action. Keep it to cancel the action before it runs.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private int slot; // -1 once taken off the wheel to run
+        private long rounds;
+        private Timeout prev, next;
+        private boolean pending = true;
+
+        private Timeout(Runnable task, int slot, long rounds) {
+            this.task = task;
+            this.slot = slot;
+            this.rounds = rounds;
+        }
+
+        public boolean isPending() {
+            return pending;
+        }
+    }
+
+    /**
+     * Runs the task after the given number of ticks (at least one).
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        long delay = Math.max(1, delayTicks);
+        long deadline = currentTick + delay;
+        // The deadline slot is next visited after (delay - 1) / SLOT_COUNT full turns
+        Timeout t = new Timeout(task, (int) (deadline & MASK), (delay - 1) / SLOT_COUNT);
+
+        t.prev = tails[t.slot];
+        if (t.prev != null) t.prev.next = t;
+        else slots[t.slot] = t;
+        tails[t.slot] = t;
+        pending++;
+        return t;
+    }
+
+    /**
+     * Runs the task after the given game time, rounded up to whole ticks.
+     */
+    public Timeout scheduleMillis(long delayMs, Runnable task) {
+        // Exact tick rate rather than the rounded TICK_NANOS, so long delays do not drift
+        return schedule((delayMs * GameClock.TICKS_PER_SECOND + 999) / 1000, task);
+    }
+
+    /**
+     * Cancels the timeout if it has not run yet.
+     * @return true if it was still pending.
+     */
+    public boolean cancel(Timeout t) {
+        if (t == null || !t.pending) return false;
+        if (t.slot >= 0) {
+            unlink(t);
+        } else {
+            // Already due this tick: advance() skips it
+            t.pending = false;
+            pending--;
+        }
+        return true;
+    }
+
+    /**
+     * Cancels everything (used when the game restarts). Not meant to be called from an action.
+     */
+    public void cancelAll() {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            for (Timeout t = slots[i]; t != null; t = t.next) t.pending = false;
+            slots[i] = null;
+            tails[i] = null;
+        }
+        pending = 0;
+    }
+
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every action due on it.
+     * Actions may schedule new timeouts; those never run in the same call.
+     */
+    public void advance() {
+        currentTick++;
+
+        // Take the due timeouts off the slot first, so actions can cancel or schedule freely
+        Timeout due = null, dueTail = null;
+        Timeout t = slots[(int) (currentTick & MASK)];
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.rounds > 0) {
+                t.rounds--;
+            } else {
+                detach(t);
+                t.slot = -1;
+                if (dueTail == null) due = t;
+                else dueTail.next = t;
+                dueTail = t;
+            }
+            t = next;
+        }
+
+        while (due != null) {
+            Timeout next = due.next;
+            due.next = null;
+            if (due.pending) {
+                due.pending = false;
+                pending--;
+                due.task.run();
+            }
+            due = next;
+        }
+    }
+
+    private void unlink(Timeout t) {
+        detach(t);
+        t.pending = false;
+        pending--;
+    }
+
+    private void detach(Timeout t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else slots[t.slot] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        else tails[t.slot] = t.prev;
+
+        t.prev = null;
+        t.next = null;
+    }
+}
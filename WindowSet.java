@@ -0,0 +1,158 @@
+package com.game;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+
+/**
+ * Per-level state of the building's windows on top of an immutable StageLayout:
+ * a BitSet of repaired windows and a small table of blink counters.
+ * One instance lives as long as its TileManager; reset() reuses its storage, so moving
+ * to the next level allocates nothing.
+ */
+public class WindowSet {
+
+    private static final int BLINK_TICKS = 15; // Duration of the blink effect after a repair
+    private static final int MAX_WINDOWS = 64;
+
+    // Drawn sprite relative to the window hitbox (preserved from the original logic)
+    private static final int DRAW_OFFSET_X = -18, DRAW_OFFSET_Y = -48;
+    private static final int DRAW_WIDTH = 79, DRAW_HEIGHT = 132;
+
+    private StageLayout layout;
+    private final BitSet repaired = new BitSet(MAX_WINDOWS);
+    private final BitSet blinking = new BitSet(MAX_WINDOWS); // Repaired, blink still running
+    private final BitSet dirty = new BitSet(MAX_WINDOWS);    // Visual state changed since the last mark
+    private byte[] blinkTicks = new byte[MAX_WINDOWS];       // Ticks of blinking left
+    private long startedRepaired;                            // Windows repaired before the level began
+
+    private final BufferedImage fixedWindowImage;
+
+    public WindowSet() {
+        fixedWindowImage = ResourceManager.get().getImage("/map/aggiustata.png");
+    }
+
+    /**
+     * Starts a level on the given layout with every window broken.
+     */
+    public void reset(StageLayout next) {
+        reset(next, 0L);
+    }
+
+    /**
+     * Starts a level on the given layout with some windows already repaired (endless mode).
+     * @param repairedMask Bit i set: window i starts repaired, without blinking.
+     */
+    public void reset(StageLayout next, long repairedMask) {
+        this.layout = next;
+        this.startedRepaired = repairedMask;
+        repaired.clear();
+        blinking.clear();
+        dirty.clear();
+        if (blinkTicks.length < next.getWindowCount()) blinkTicks = new byte[next.getWindowCount()];
+        for (long bits = repairedMask; bits != 0; bits &= bits - 1) {
+            int i = Long.numberOfTrailingZeros(bits);
+            repaired.set(i);
+            blinkTicks[i] = 0;
+        }
+    }
+
+    public StageLayout getLayout() {
+        return layout;
+    }
+
+    public int size() {
+        return layout == null ? 0 : layout.getWindowCount();
+    }
+
+    /**
+     * Windows still to fix.
+     */
+    public int getBrokenCount() {
+        return size() - repaired.cardinality();
+    }
+
+    public boolean isRepaired(int i) {
+        return repaired.get(i);
+    }
+
+    /**
+     * True for windows that were already repaired when the level started (endless mode):
+     * nobody lives behind them, so no pie comes out of them.
+     */
+    public boolean startedRepaired(int i) {
+        return i < MAX_WINDOWS && (startedRepaired & (1L << i)) != 0;
+    }
+
+    public int getStartedRepairedCount() {
+        return Long.bitCount(startedRepaired);
+    }
+
+    /**
+     * Broken window hit by the hammer, looked up through the layout's grid.
+     * @return Window index, or -1.
+     */
+    public int findBroken(Rectangle hammer) {
+        return layout == null ? -1 : layout.findWindow(hammer, repaired);
+    }
+
+    /**
+     * Marks the window as fixed and starts the blinking animation.
+     */
+    public void repair(int i) {
+        repaired.set(i);
+        blinking.set(i);
+        blinkTicks[i] = BLINK_TICKS;
+        dirty.set(i);
+    }
+
+    /**
+     * Counts down the blinking windows.
+     */
+    public void update() {
+        // The quality governor may skip the blink: show the windows right away
+        boolean blinkEnabled = QualityGovernor.isWindowBlinkEnabled();
+
+        for (int i = blinking.nextSetBit(0); i >= 0; i = blinking.nextSetBit(i + 1)) {
+            boolean wasVisible = isVisible(i);
+            int left = blinkEnabled ? blinkTicks[i] - 1 : 0;
+            blinkTicks[i] = (byte) left;
+            if (left == 0) blinking.clear(i);
+            if (isVisible(i) != wasVisible) dirty.set(i);
+        }
+    }
+
+    /**
+     * Visibility during the blink: it toggles on every even tick count, as the old
+     * per-window flag did, and is always on once the blink is over.
+     */
+    private boolean isVisible(int i) {
+        int left = blinkTicks[i];
+        return left == 0 || ((BLINK_TICKS - left) / 2) % 2 == 0;
+    }
+
+    /**
+     * Draws the repaired windows.
+     */
+    public void draw(Graphics2D g2) {
+        if (layout == null || fixedWindowImage == null) return;
+        for (int i = repaired.nextSetBit(0); i >= 0; i = repaired.nextSetBit(i + 1)) {
+            if (isVisible(i)) {
+                g2.drawImage(fixedWindowImage, layout.getWindowX(i) + DRAW_OFFSET_X, layout.getWindowY(i) + DRAW_OFFSET_Y,
+                        DRAW_WIDTH, DRAW_HEIGHT, null);
+            }
+        }
+    }
+
+    /**
+     * Reports the windows whose visual state changed since the last call.
+     */
+    public void markDirty(DirtyRegionTracker tracker) {
+        if (layout == null) return;
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            tracker.add(layout.getWindowX(i) + DRAW_OFFSET_X, layout.getWindowY(i) + DRAW_OFFSET_Y, DRAW_WIDTH, DRAW_HEIGHT);
+        }
+        dirty.clear();
+    }
+}